@@ -0,0 +1,122 @@
+package com.ecommerce.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
+
+@Configuration
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+public class AwsS3Configuration {
+
+	@Value("${cloud.aws.region.static}")
+	private String awsRegion; // AWS region where the S3 bucket is located
+
+	@Value("${cloud.aws.s3.endpoint:}")
+	private String endpoint; // S3-compatible endpoint to use instead of AWS, e.g. a local MinIO (optional)
+
+	@Value("${aws.s3.access}")
+	private String awsS3AccessKey; // AWS access key for authentication
+
+	@Value("${aws.s3.secrete}")
+	private String awsS3SecreteKey; // AWS secret key for authentication
+
+	@Value("${aws.s3.client.max-connections:50}")
+	private int maxConnections; // Pooled HTTP connections to S3
+
+	@Value("${aws.s3.client.connection-timeout-ms:5000}")
+	private int connectionTimeoutMs; // Timeout for opening a connection to S3
+
+	@Value("${aws.s3.client.socket-timeout-ms:30000}")
+	private int socketTimeoutMs; // Timeout for reading from an open connection
+
+	@Value("${aws.s3.client.connection-ttl-ms:300000}")
+	private long connectionTtlMs; // Age after which a pooled connection is closed instead of reused
+
+	@Value("${aws.s3.transfer.threads:8}")
+	private int transferThreads; // Threads uploading objects and multipart parts
+
+	@Value("${aws.s3.transfer.multipart-threshold-bytes:16777216}")
+	private long multipartThreshold; // Size from which uploads are split into parts
+
+	@Value("${aws.s3.transfer.part-size-bytes:8388608}")
+	private long partSize; // Size of each part of a multipart upload
+
+	/**
+	 * The application's single S3 client. It keeps a pool of kept-alive
+	 * connections, so uploads reuse established TLS sessions instead of
+	 * building a client, and a handshake, per request. When an endpoint is
+	 * configured the client talks path-style to that S3-compatible service
+	 * instead of AWS.
+	 *
+	 * @return The shared S3 client.
+	 */
+	@Bean
+	AmazonS3 amazonS3() {
+		ClientConfiguration clientConfiguration = new ClientConfiguration()
+				.withMaxConnections(maxConnections)
+				.withConnectionTimeout(connectionTimeoutMs)
+				.withSocketTimeout(socketTimeoutMs)
+				.withConnectionTTL(connectionTtlMs)
+				.withTcpKeepAlive(true);
+
+		AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard()
+				.withCredentials(new AWSStaticCredentialsProvider(
+						new BasicAWSCredentials(awsS3AccessKey, awsS3SecreteKey)))
+				.withClientConfiguration(clientConfiguration);
+
+		if (endpoint.isBlank()) {
+			builder.withRegion(awsRegion);
+		} else {
+			builder.withEndpointConfiguration(new EndpointConfiguration(endpoint, awsRegion))
+					.withPathStyleAccessEnabled(true);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Runs uploads in the background on a fixed pool of transfer threads. Files
+	 * above the multipart threshold are split into parts uploaded in parallel.
+	 * Shutting it down also shuts down the S3 client it wraps.
+	 *
+	 * @param amazonS3 The shared S3 client.
+	 * @return The transfer manager.
+	 */
+	@Bean(destroyMethod = "shutdownNow")
+	TransferManager transferManager(AmazonS3 amazonS3) {
+		return TransferManagerBuilder.standard()
+				.withS3Client(amazonS3)
+				.withMultipartUploadThreshold(multipartThreshold)
+				.withMinimumUploadPartSize(partSize)
+				.withExecutorFactory(this::transferExecutor)
+				.withShutDownThreadPools(true)
+				.build();
+	}
+
+	private ExecutorService transferExecutor() {
+		AtomicInteger threadCount = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(transferThreads, transferThreads, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "s3-transfer-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+@Configuration
+public class ContentNegotiationConfiguration {
+
+	/**
+	 * Encodes the API model as CBOR for clients sending "Accept:
+	 * application/cbor". The mapper is built from the application's Jackson
+	 * builder, so modules, date handling and inclusion rules match the JSON
+	 * output; JSON stays the default when no binary type is requested.
+	 * 
+	 * @param builder The application's Jackson builder (a new instance per
+	 *                injection point).
+	 * @return The CBOR message converter.
+	 */
+	@Bean
+	MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+
+	/**
+	 * Encodes the API model as Smile for clients sending "Accept:
+	 * application/x-jackson-smile", configured the same way as the CBOR
+	 * converter.
+	 * 
+	 * @param builder The application's Jackson builder (a new instance per
+	 *                injection point).
+	 * @return The Smile message converter.
+	 */
+	@Bean
+	MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+	}
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks at startup that the streamed list and export queries really stream.
+ * MySQL Connector/J ignores the fetch size hint those queries set and reads
+ * the whole result set into memory, unless the JDBC URL enables server-side
+ * cursors with useCursorFetch=true, e.g.
+ * jdbc:mysql://host:3306/ecommerce?useCursorFetch=true.
+ */
+@Configuration
+@Slf4j
+public class CursorFetchConfiguration {
+
+	@Value("${spring.datasource.url:}")
+	private String datasourceUrl; // JDBC URL of the primary datasource
+
+	@Value("${streaming.require-cursor-fetch:false}")
+	private boolean requireCursorFetch; // Refuse to start instead of warning when cursors are off
+
+	@PostConstruct
+	private void checkCursorFetch() {
+		if (!datasourceUrl.startsWith("jdbc:mysql:") || datasourceUrl.toLowerCase().contains("usecursorfetch=true")) {
+			return;
+		}
+
+		String message = "spring.datasource.url does not set useCursorFetch=true; streamed list responses and "
+				+ "exports will load their whole result set into memory";
+		if (requireCursorFetch) {
+			throw new IllegalStateException(message);
+		}
+		log.warn(message);
+	}
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.config;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+public class LocalObjectStoreConfiguration {
+
+	@Value("${storage.local.directory:uploads}")
+	private String directory; // Directory the objects are stored in
+
+	@Value("${storage.local.base-url:/images/}")
+	private String baseUrl; // URL prefix the directory is served under
+
+	/**
+	 * Serves the local object store's directory under its base URL. Object keys
+	 * identify their content, so responses may be cached indefinitely.
+	 *
+	 * @return A WebMvcConfigurer registering the resource handler.
+	 */
+	@Bean
+	WebMvcConfigurer localObjectStoreResources() {
+		String location = Paths.get(directory).toAbsolutePath().normalize().toUri().toString();
+		return new WebMvcConfigurer() {
+			@Override
+			public void addResourceHandlers(ResourceHandlerRegistry registry) {
+				registry.addResourceHandler(baseUrl + "**")
+						.addResourceLocations(location.endsWith("/") ? location : location + "/")
+						.setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+			}
+		};
+	}
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UrlPathHelper;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@Configuration
+public class MultipartConfiguration {
+
+	// Endpoint that reads its multipart body itself, as a stream
+	public static final String STREAMING_UPLOAD_PATH = "/product/createProduct/stream";
+
+	/**
+	 * Resolves multipart requests as usual, except on the streaming upload
+	 * endpoint. Resolving a request makes the container read the whole body
+	 * into memory or temp files up front; skipping it there leaves the body
+	 * unread so the endpoint can parse it part by part as it arrives.
+	 *
+	 * @return The multipart resolver used by the DispatcherServlet.
+	 */
+	@Bean(name = DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+	MultipartResolver multipartResolver() {
+		UrlPathHelper urlPathHelper = new UrlPathHelper();
+		return new StandardServletMultipartResolver() {
+			@Override
+			public boolean isMultipart(HttpServletRequest request) {
+				return super.isMultipart(request)
+						&& !STREAMING_UPLOAD_PATH.equals(urlPathHelper.getPathWithinApplication(request));
+			}
+		};
+	}
+}
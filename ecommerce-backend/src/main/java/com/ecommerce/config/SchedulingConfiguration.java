@@ -0,0 +1,32 @@
+package com.ecommerce.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Runs the @Scheduled jobs on a pool instead of Spring's default single
+ * thread, so long jobs such as the nightly archive, the settlement run or the
+ * co-occurrence rebuild do not hold up the frequent ones (event relay, cart
+ * flush, revocation sync, recovery sweeps). Each job still never overlaps
+ * itself.
+ *
+ * The auto-configured scheduler is customised rather than replaced: a
+ * scheduler bean of our own would also count as an Executor and switch off
+ * the auto-configured application task executor.
+ */
+@Configuration
+public class SchedulingConfiguration {
+
+	@Value("${scheduling.pool-size:8}")
+	private int poolSize; // Scheduled jobs that can run at the same time
+
+	@Bean
+	public ThreadPoolTaskSchedulerCustomizer schedulerPoolCustomizer() {
+		return taskScheduler -> {
+			taskScheduler.setPoolSize(poolSize);
+			taskScheduler.setThreadNamePrefix("scheduled-");
+		};
+	}
+}
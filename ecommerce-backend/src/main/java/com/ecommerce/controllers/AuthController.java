@@ -1,7 +1,10 @@
 package com.ecommerce.controllers;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -9,6 +12,8 @@ import org.springframework.web.bind.annotation.RestController;
 import com.ecommerce.dto.LoginRequest;
 import com.ecommerce.dto.Response;
 import com.ecommerce.dto.UserDto;
+import com.ecommerce.security.JwtAuthFilter;
+import com.ecommerce.security.VerifiedToken;
 import com.ecommerce.services.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -21,30 +26,64 @@ public class AuthController {
 	private final UserService userService;
 
 	/**
-	 * This endpoint handles the POST request to register a new user.
+	 * This endpoint handles the POST request to register a new user. The
+	 * password is hashed asynchronously, so the request thread is released while
+	 * BCrypt runs.
 	 * 
 	 * @param registrationRequest The UserDto object containing the user details for
 	 *                            registration.
-	 * @return ResponseEntity<Response> A response entity containing the result of
-	 *         the registration operation.
+	 * @return CompletableFuture<ResponseEntity<Response>> A future response entity
+	 *         containing the result of the registration operation.
 	 */
 	@PostMapping("/register")
-	public ResponseEntity<Response> registerUser(@RequestBody UserDto registrationRequest) {
+	public CompletableFuture<ResponseEntity<Response>> registerUser(@RequestBody UserDto registrationRequest) {
 		
-		return ResponseEntity.ok(userService.registerUser(registrationRequest));
+		return userService.registerUser(registrationRequest).thenApply(ResponseEntity::ok);
 	}
 
 	/**
-	 * This endpoint handles the POST request for user login.
+	 * This endpoint handles the POST request for user login. The password check
+	 * completes asynchronously, so the request thread is released while BCrypt
+	 * runs.
 	 * 
 	 * @param loginRequest The LoginRequest object containing the user's login
 	 *                     credentials.
-	 * @return ResponseEntity<Response> A response entity containing the result of
-	 *         the login operation.
+	 * @return CompletableFuture<ResponseEntity<Response>> A future response entity
+	 *         containing the result of the login operation.
 	 */
 	@PostMapping("/login")
-	public ResponseEntity<Response> loginUser(@RequestBody LoginRequest loginRequest) {
+	public CompletableFuture<ResponseEntity<Response>> loginUser(@RequestBody LoginRequest loginRequest) {
 		
-		return ResponseEntity.ok(userService.loginUser(loginRequest));
+		return userService.loginUser(loginRequest).thenApply(ResponseEntity::ok);
+	}
+
+	/**
+	 * This endpoint handles the POST request to log out. The token the request
+	 * was made with is revoked and rejected from then on.
+	 * 
+	 * @param token The caller's verified token, set by the JWT filter.
+	 * @return ResponseEntity<Response> A response entity containing the result of
+	 *         the logout operation.
+	 */
+	@PostMapping("/logout")
+	public ResponseEntity<Response> logoutUser(
+			@RequestAttribute(name = JwtAuthFilter.VERIFIED_TOKEN_ATTRIBUTE, required = false) VerifiedToken token) {
+
+		return ResponseEntity.ok(userService.logoutUser(token));
+	}
+
+	/**
+	 * This endpoint handles the POST request to log out on every device. All
+	 * tokens issued to the caller so far are revoked.
+	 * 
+	 * @param token The caller's verified token, set by the JWT filter.
+	 * @return ResponseEntity<Response> A response entity containing the result of
+	 *         the logout operation.
+	 */
+	@PostMapping("/logoutAll")
+	public ResponseEntity<Response> logoutUserEverywhere(
+			@RequestAttribute(name = JwtAuthFilter.VERIFIED_TOKEN_ATTRIBUTE, required = false) VerifiedToken token) {
+
+		return ResponseEntity.ok(userService.logoutUserEverywhere(token));
 	}
 }
@@ -0,0 +1,82 @@
+package com.ecommerce.controllers;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.dto.OrderItemRequest;
+import com.ecommerce.dto.Response;
+import com.ecommerce.services.CartService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/cart")
+@RequiredArgsConstructor
+public class CartController {
+
+	private final CartService cartService;
+
+	/**
+     * This endpoint handles the GET request to retrieve the logged-in user's cart,
+     * priced with the current promotions.
+     * 
+     * @return ResponseEntity<Response> A response entity containing the cart.
+     */
+	@GetMapping
+	public ResponseEntity<Response> getCart() {
+		return ResponseEntity.ok(cartService.getCart());
+	}
+
+	/**
+     * This endpoint handles the POST request to add a product to the logged-in user's cart.
+     * 
+     * @param cartItem The product ID and the quantity to add.
+     * @return ResponseEntity<Response> A response entity containing the updated cart.
+     */
+	@PostMapping("/items")
+	public ResponseEntity<Response> addItem(@RequestBody OrderItemRequest cartItem) {
+		return ResponseEntity.ok(cartService.addItem(cartItem.getProductId(), cartItem.getQuantity()));
+	}
+
+	/**
+     * This endpoint handles the PUT request to change the quantity of a product in the cart.
+     * A quantity of zero removes the product.
+     * 
+     * @param productId The ID of the product to update.
+     * @param cartItem  The new quantity.
+     * @return ResponseEntity<Response> A response entity containing the updated cart.
+     */
+	@PutMapping("/items/{productId}")
+	public ResponseEntity<Response> updateItemQuantity(@PathVariable Long productId,
+			@RequestBody OrderItemRequest cartItem) {
+		return ResponseEntity.ok(cartService.updateItemQuantity(productId, cartItem.getQuantity()));
+	}
+
+	/**
+     * This endpoint handles the DELETE request to remove a product from the cart.
+     * 
+     * @param productId The ID of the product to remove.
+     * @return ResponseEntity<Response> A response entity containing the updated cart.
+     */
+	@DeleteMapping("/items/{productId}")
+	public ResponseEntity<Response> removeItem(@PathVariable Long productId) {
+		return ResponseEntity.ok(cartService.removeItem(productId));
+	}
+
+	/**
+     * This endpoint handles the DELETE request to empty the logged-in user's cart.
+     * 
+     * @return ResponseEntity<Response> A response entity containing the empty cart.
+     */
+	@DeleteMapping
+	public ResponseEntity<Response> clearCart() {
+		return ResponseEntity.ok(cartService.clearCart());
+	}
+}
@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.ecommerce.dto.CategoryDto;
@@ -40,11 +41,12 @@ public class CategoryController {
 	/**
      * This endpoint handles the GET request to retrieve all categories.
      * 
+     * @param fields The fields to return, comma separated, e.g. "id,name" (optional, all by default).
      * @return ResponseEntity<Response> A response entity containing the list of all categories.
      */
 	@GetMapping("/getAllCategories")
-	public ResponseEntity<Response> getAllCategories() {
-		return ResponseEntity.ok(categoryService.getAllCategories());
+	public ResponseEntity<Response> getAllCategories(@RequestParam(required = false) String fields) {
+		return ResponseEntity.ok(categoryService.getAllCategories(fields));
 	}
 
 	/**
@@ -1,11 +1,15 @@
 package com.ecommerce.controllers;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,15 +17,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.ecommerce.dto.OrderRequest;
 import com.ecommerce.dto.Response;
+import com.ecommerce.enums.ExportFormat;
 import com.ecommerce.enums.OrderStatus;
+import com.ecommerce.services.OrderEventService;
+import com.ecommerce.services.OrderItemExportService;
 import com.ecommerce.services.OrderItemService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -30,6 +40,8 @@ import lombok.RequiredArgsConstructor;
 public class OrderItemController {
 
 	private final OrderItemService orderItemService;
+	private final OrderItemExportService orderItemExportService;
+	private final OrderEventService orderEventService;
 
 	/**
      * This endpoint handles the POST request to place a new order.
@@ -43,6 +55,19 @@ public class OrderItemController {
 		return ResponseEntity.ok(orderItemService.placeOrder(orderRequest));
 	}
 
+	/**
+     * This endpoint handles the POST request to price an order without placing it,
+     * applying any promotions and the optional coupon code.
+     * 
+     * @param orderRequest The OrderRequest object containing the items and optional coupon code to price.
+     * @return ResponseEntity<Response> A response entity containing the price quote.
+     */
+	@PostMapping("/price")
+	public ResponseEntity<Response> priceOrder(@RequestBody OrderRequest orderRequest) {
+		
+		return ResponseEntity.ok(orderItemService.priceOrder(orderRequest));
+	}
+
 	/**
      * This endpoint handles the PUT request to update the status of a specific order item.
      * Only users with 'ADMIN' authority can access this method.
@@ -68,6 +93,7 @@ public class OrderItemController {
      * @param itemId The ID of the order item to filter by (optional).
      * @param page The page number for pagination (default: 0).
      * @param size The page size for pagination (default: 1000).
+     * @param fields The fields to return, comma separated, e.g. "id,status,product.name" (optional, all by default).
      * @return ResponseEntity<Response> A response entity containing the filtered list of order items.
      */
 	@GetMapping("/filter")
@@ -76,14 +102,66 @@ public class OrderItemController {
 			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
 			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
 			@RequestParam(required = false) String status, @RequestParam(required = false) Long itemId,
-			@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "1000") int size
+			@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "1000") int size,
+			@RequestParam(required = false) String fields
 
 	) {
 		// Creates a Pageable object for pagination with sorting by ID in descending order.
 		Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
 		OrderStatus orderStatus = status != null ? OrderStatus.valueOf(status.toUpperCase()) : null;
 
-		return ResponseEntity.ok(orderItemService.filterOrderItems(orderStatus, startDate, endDate, itemId, pageable));
+		return ResponseEntity.ok(orderItemService.filterOrderItems(orderStatus, startDate, endDate, itemId, pageable,
+				fields));
+
+	}
+
+	/**
+     * This endpoint opens a Server-Sent Events stream of order events (new orders and order item
+     * status changes) so admin screens are pushed changes instead of polling the filter endpoint.
+     * Clients that reconnect with a Last-Event-ID header are replayed the events they missed.
+     * Only users with 'ADMIN' authority can access this method.
+     * 
+     * @param lastEventId The id of the last event the client received (optional).
+     * @return SseEmitter The emitter streaming order events to the client.
+     */
+	@GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@PreAuthorize("hasAuthority('ADMIN')")
+	public SseEmitter streamOrderEvents(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+		
+		return orderEventService.subscribe(lastEventId);
+	}
+
+	/**
+     * This endpoint handles the GET request to export all order items matching the provided criteria.
+     * The rows are streamed to the client as they are read, so the export starts immediately and
+     * memory use stays flat regardless of its size.
+     * Only users with 'ADMIN' authority can access this method.
+     * 
+     * @param startDate The start date for filtering orders (optional).
+     * @param endDate The end date for filtering orders (optional).
+     * @param status The status of the order items to filter by (optional).
+     * @param itemId The ID of the order item to filter by (optional).
+     * @param format The output format, either csv or ndjson (default: csv).
+     * @param response The HTTP response the export is written to.
+     * @throws IOException If writing the export fails.
+     */
+	@GetMapping("/export")
+	@PreAuthorize("hasAuthority('ADMIN')")
+	public void exportOrderItems(
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+			@RequestParam(required = false) String status, @RequestParam(required = false) Long itemId,
+			@RequestParam(defaultValue = "csv") String format, HttpServletResponse response) throws IOException {
+
+		OrderStatus orderStatus = status != null ? OrderStatus.valueOf(status.toUpperCase()) : null;
+		ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase());
+
+		response.setContentType(exportFormat == ExportFormat.NDJSON ? "application/x-ndjson" : "text/csv");
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				"attachment; filename=\"order-items." + exportFormat.name().toLowerCase() + "\"");
 
+		orderItemExportService.exportOrderItems(orderStatus, startDate, endDate, itemId, exportFormat,
+				response.getOutputStream());
 	}
 }
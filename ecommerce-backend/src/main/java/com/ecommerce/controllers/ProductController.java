@@ -1,7 +1,10 @@
 package com.ecommerce.controllers;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -9,15 +12,22 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.ecommerce.dto.Response;
+import com.ecommerce.enums.BestsellerWindow;
+import com.ecommerce.enums.ResponseFormat;
 import com.ecommerce.exceptions.InvalidCredentialsException;
+import com.ecommerce.services.BestsellerService;
 import com.ecommerce.services.ProductService;
+import com.ecommerce.services.RecommendationService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -26,6 +36,8 @@ import lombok.RequiredArgsConstructor;
 public class ProductController {
 
 	private final ProductService productService;
+	private final BestsellerService bestsellerService;
+	private final RecommendationService recommendationService;
 
 	/**
      * This endpoint handles the POST request to create a new product.
@@ -49,6 +61,25 @@ public class ProductController {
 		return ResponseEntity.ok(productService.createProduct(categoryId, image, name, description, price));
 	}
 
+	/**
+     * This endpoint handles the POST request to create a new product, reading the multipart body as a stream.
+     * The image is sent to storage as it arrives instead of being buffered first, which suits large images.
+     * It takes the same form fields as /createProduct, which must precede the image; see MultipartConfiguration.
+     * Only users with 'ADMIN' authority can access this method.
+     * 
+     * @param request The multipart request with the fields categoryId, image, name, description and price.
+     * @return ResponseEntity<Response> A response entity containing the result of the product creation operation.
+     */
+	@PostMapping("/createProduct/stream")
+	@PreAuthorize("hasAuthority('ADMIN')")
+	public ResponseEntity<Response> createProductStreaming(HttpServletRequest request) {
+		if (!JakartaServletFileUpload.isMultipartContent(request)) {
+			throw new InvalidCredentialsException("Request must be multipart/form-data");
+		}
+
+		return ResponseEntity.ok(productService.createProductStreaming(request));
+	}
+
 	/**
      * This endpoint handles the PUT request to update an existing product.
      * Only users with 'ADMIN' authority can access this method.
@@ -100,36 +131,91 @@ public class ProductController {
 
 	/**
      * This endpoint handles the GET request to retrieve all products.
+     * The products are streamed to the client as they are read, in the usual Response shape,
+     * as JSON or as CBOR/Smile when the Accept header asks for it.
      * 
-     * @return ResponseEntity<Response> A response entity containing the list of all products.
+     * @param sortBy The sort order, "rating" for highest rated first (optional, newest first by default).
+     * @param fields The fields to return, comma separated, e.g. "id,name,price" (optional, all by default).
+     * @param accept The Accept header (optional).
+     * @param response The HTTP response the product list is written to.
+     * @throws IOException If writing the response fails.
      */
 	@GetMapping("/getAllProducts")
-	public ResponseEntity<Response> getAllProducts() {
-		
-		return ResponseEntity.ok(productService.getAllProducts());
+	public void getAllProducts(@RequestParam(required = false) String sortBy,
+			@RequestParam(required = false) String fields,
+			@RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept, HttpServletResponse response)
+			throws IOException {
+
+		ResponseFormat format = ResponseFormat.fromAcceptHeader(accept);
+		response.setContentType(format.getMediaType().toString());
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+		productService.writeAllProducts(sortBy, fields, format, response.getOutputStream());
 	}
 
 	/**
      * This endpoint handles the GET request to retrieve all products in a specific category.
      * 
      * @param categoryId The ID of the category to filter products by.
+     * @param fields The fields to return, comma separated, e.g. "id,name,price" (optional, all by default).
      * @return ResponseEntity<Response> A response entity containing the list of products in the specified category.
      */
 	@GetMapping("/getProductByCategoryId/{categoryId}")
-	public ResponseEntity<Response> getProductsByCategory(@PathVariable Long categoryId) {
+	public ResponseEntity<Response> getProductsByCategory(@PathVariable Long categoryId,
+			@RequestParam(required = false) String fields) {
 		
-		return ResponseEntity.ok(productService.getProductsByCategory(categoryId));
+		return ResponseEntity.ok(productService.getProductsByCategory(categoryId, fields));
 	}
 
 	/**
      * This endpoint handles the GET request to search for a product based on a search term.
      * 
      * @param searchValue The search term used to find matching products.
+     * @param fields The fields to return, comma separated, e.g. "id,name,price" (optional, all by default).
      * @return ResponseEntity<Response> A response entity containing the list of products that match the search term.
      */
 	@GetMapping("/searchProduct")
-	public ResponseEntity<Response> searchForProduct(@RequestParam String searchValue) {
+	public ResponseEntity<Response> searchForProduct(@RequestParam String searchValue,
+			@RequestParam(required = false) String fields) {
+		
+		return ResponseEntity.ok(productService.searchProduct(searchValue, fields));
+	}
+
+	/**
+     * This endpoint handles the GET request to retrieve the bestselling products over a sliding window,
+     * overall or within a category.
+     * 
+     * @param window     The window to rank over: HOUR, DAY or WEEK (default DAY).
+     * @param categoryId The ID of the category to rank within (optional).
+     * @param limit      The maximum number of products to return (default 10).
+     * @return ResponseEntity<Response> A response entity containing the ranked products and units sold.
+     */
+	@GetMapping("/bestsellers")
+	public ResponseEntity<Response> getBestsellers(@RequestParam(defaultValue = "DAY") String window,
+			@RequestParam(required = false) Long categoryId,
+			@RequestParam(defaultValue = "10") int limit) {
+		
+		BestsellerWindow bestsellerWindow;
+		try {
+			bestsellerWindow = BestsellerWindow.valueOf(window.toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCredentialsException("Window must be one of HOUR, DAY or WEEK");
+		}
+
+		return ResponseEntity.ok(bestsellerService.getBestsellers(bestsellerWindow, categoryId, limit));
+	}
+
+	/**
+     * This endpoint handles the GET request to retrieve the products most frequently bought
+     * together with a product.
+     * 
+     * @param productId The ID of the product.
+     * @param limit     The maximum number of products to return (default 10, at most 50).
+     * @return ResponseEntity<Response> A response entity containing the related products, most frequent first.
+     */
+	@GetMapping("/{productId}/related")
+	public ResponseEntity<Response> getRelatedProducts(@PathVariable Long productId,
+			@RequestParam(defaultValue = "10") int limit) {
 		
-		return ResponseEntity.ok(productService.searchProduct(searchValue));
+		return ResponseEntity.ok(recommendationService.getRelatedProducts(productId, Math.min(limit, 50)));
 	}
 }
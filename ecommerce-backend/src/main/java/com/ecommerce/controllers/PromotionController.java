@@ -0,0 +1,63 @@
+package com.ecommerce.controllers;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.dto.PromotionDto;
+import com.ecommerce.dto.Response;
+import com.ecommerce.services.PromotionService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/promotion")
+@RequiredArgsConstructor
+public class PromotionController {
+
+	private final PromotionService promotionService;
+
+	/**
+     * This endpoint handles the POST request to create a new promotion.
+     * Only users with 'ADMIN' authority can access this method.
+     * 
+     * @param promotionDto The PromotionDto object containing the promotion details to be created.
+     * @return ResponseEntity<Response> A response entity containing the created promotion.
+     */
+	@PostMapping("/createPromotion")
+	@PreAuthorize("hasAuthority('ADMIN')")
+	public ResponseEntity<Response> createPromotion(@RequestBody PromotionDto promotionDto) {
+		return ResponseEntity.ok(promotionService.createPromotion(promotionDto));
+	}
+
+	/**
+     * This endpoint handles the GET request to retrieve all promotions.
+     * Only users with 'ADMIN' authority can access this method.
+     * 
+     * @return ResponseEntity<Response> A response entity containing the list of all promotions.
+     */
+	@GetMapping("/getAllPromotions")
+	@PreAuthorize("hasAuthority('ADMIN')")
+	public ResponseEntity<Response> getAllPromotions() {
+		return ResponseEntity.ok(promotionService.getAllPromotions());
+	}
+
+	/**
+     * This endpoint handles the DELETE request to delete a promotion by its ID.
+     * Only users with 'ADMIN' authority can access this method.
+     * 
+     * @param promotionId The ID of the promotion to be deleted.
+     * @return ResponseEntity<Response> A response entity containing the result of the deletion operation.
+     */
+	@DeleteMapping("/delete/{promotionId}")
+	@PreAuthorize("hasAuthority('ADMIN')")
+	public ResponseEntity<Response> deletePromotion(@PathVariable Long promotionId) {
+		return ResponseEntity.ok(promotionService.deletePromotion(promotionId));
+	}
+}
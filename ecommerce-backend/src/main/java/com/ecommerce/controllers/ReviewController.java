@@ -0,0 +1,84 @@
+package com.ecommerce.controllers;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.dto.Response;
+import com.ecommerce.dto.ReviewDto;
+import com.ecommerce.services.ReviewService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/review")
+@RequiredArgsConstructor
+public class ReviewController {
+
+	private static final int MAX_PAGE_SIZE = 100;
+
+	private final ReviewService reviewService;
+
+	/**
+     * This endpoint handles the POST request to review a product as the logged-in user.
+     * 
+     * @param reviewDto The ReviewDto object containing the product ID, rating (1 to 10) and content.
+     * @return ResponseEntity<Response> A response entity containing the created review.
+     */
+	@PostMapping("/createReview")
+	public ResponseEntity<Response> createReview(@RequestBody ReviewDto reviewDto) {
+		return ResponseEntity.ok(reviewService.createReview(reviewDto));
+	}
+
+	/**
+     * This endpoint handles the PUT request to update one of the logged-in user's reviews.
+     * 
+     * @param reviewId  The ID of the review to be updated.
+     * @param reviewDto The ReviewDto object containing the new rating and/or content.
+     * @return ResponseEntity<Response> A response entity containing the updated review.
+     */
+	@PutMapping("/update/{reviewId}")
+	public ResponseEntity<Response> updateReview(@PathVariable Long reviewId, @RequestBody ReviewDto reviewDto) {
+		return ResponseEntity.ok(reviewService.updateReview(reviewId, reviewDto));
+	}
+
+	/**
+     * This endpoint handles the DELETE request to delete a review.
+     * Users can delete their own reviews and admins can delete any review.
+     * 
+     * @param reviewId The ID of the review to be deleted.
+     * @return ResponseEntity<Response> A response entity containing the result of the deletion operation.
+     */
+	@DeleteMapping("/delete/{reviewId}")
+	public ResponseEntity<Response> deleteReview(@PathVariable Long reviewId) {
+		return ResponseEntity.ok(reviewService.deleteReview(reviewId));
+	}
+
+	/**
+     * This endpoint handles the GET request to retrieve one page of a product's reviews, newest first.
+     * 
+     * @param productId The ID of the product.
+     * @param page      The page number (default 0).
+     * @param size      The page size (default 10, at most 100).
+     * @return ResponseEntity<Response> A response entity containing the page of reviews.
+     */
+	@GetMapping("/product/{productId}")
+	public ResponseEntity<Response> getReviewsForProduct(@PathVariable Long productId,
+			@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "10") int size) {
+		
+		PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+				Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")));
+
+		return ResponseEntity.ok(reviewService.getReviewsForProduct(productId, pageRequest));
+	}
+}
@@ -1,14 +1,24 @@
 package com.ecommerce.controllers;
 
+import java.io.IOException;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.ecommerce.dto.Response;
+import com.ecommerce.enums.ResponseFormat;
 import com.ecommerce.services.UserService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -20,23 +30,49 @@ public class UserController {
 
 	/**
      * This endpoint handles the GET request to retrieve all users.
+     * The users are streamed to the client as they are read, in the usual Response shape,
+     * as JSON or as CBOR/Smile when the Accept header asks for it.
      * Only users with 'ADMIN' authority can access this method.
      * 
-     * @return ResponseEntity<Response> A response entity containing the list of all users.
+     * @param accept The Accept header (optional).
+     * @param response The HTTP response the user list is written to.
+     * @throws IOException If writing the response fails.
      */
 	@GetMapping("/getAllUsers")
 	@PreAuthorize("hasAuthority('ADMIN')")
-	public ResponseEntity<Response> getAllUsers() {
-		return ResponseEntity.ok(userService.getAllUsers());
+	public void getAllUsers(@RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+			HttpServletResponse response) throws IOException {
+
+		ResponseFormat format = ResponseFormat.fromAcceptHeader(accept);
+		response.setContentType(format.getMediaType().toString());
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+		userService.writeAllUsers(format, response.getOutputStream());
 	}
 
 	/**
-     * This endpoint handles the GET request to retrieve the logged-in user's information and order history.
+     * This endpoint handles the GET request to retrieve the logged-in user's information and address.
      * 
-     * @return ResponseEntity<Response> A response entity containing the logged-in user's information and order history.
+     * @return ResponseEntity<Response> A response entity containing the logged-in user's information.
      */
 	@GetMapping("/loggedInUserInfo")
-	public ResponseEntity<Response> getUserInfoAndOrderHistory() {
-		return ResponseEntity.ok(userService.getUserInfoAndOrderHistory());
+	public ResponseEntity<Response> getUserInfo() {
+		return ResponseEntity.ok(userService.getUserInfo());
+	}
+
+	/**
+     * This endpoint handles the GET request to retrieve the logged-in user's order history, newest first.
+     * 
+     * @param page The page number for pagination (default: 0).
+     * @param size The page size for pagination (default: 20, at most 100).
+     * @return ResponseEntity<Response> A response entity containing one page of the user's order items.
+     */
+	@GetMapping("/orderHistory")
+	public ResponseEntity<Response> getOrderHistory(@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "20") int size) {
+		// Newest first, with the ID as a tie-breaker for items placed in the same order
+		Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), 100),
+				Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")));
+
+		return ResponseEntity.ok(userService.getOrderHistory(pageable));
 	}
 }
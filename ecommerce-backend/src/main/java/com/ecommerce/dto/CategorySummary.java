@@ -0,0 +1,7 @@
+package com.ecommerce.dto;
+
+/**
+ * Read-only projection of a category's own columns, used by the category list.
+ */
+public record CategorySummary(Long id, String name) {
+}
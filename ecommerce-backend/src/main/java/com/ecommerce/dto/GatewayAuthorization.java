@@ -0,0 +1,18 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The outcome of a payment gateway authorization call.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GatewayAuthorization {
+
+	private boolean approved;
+	private String authorizationCode;
+	private String declineReason;
+}
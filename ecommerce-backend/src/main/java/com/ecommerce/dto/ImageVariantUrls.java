@@ -0,0 +1,7 @@
+package com.ecommerce.dto;
+
+/**
+ * URLs of the resized variants generated for a product image.
+ */
+public record ImageVariantUrls(String thumbnailUrl, String cardUrl, String detailUrl) {
+}
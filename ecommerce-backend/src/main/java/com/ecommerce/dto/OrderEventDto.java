@@ -0,0 +1,25 @@
+package com.ecommerce.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderEventDto {
+
+	private Long id;
+	private String eventType;
+	private Long orderId;
+	private Long orderItemId;
+	private String status;
+	private LocalDateTime createdAt;
+}
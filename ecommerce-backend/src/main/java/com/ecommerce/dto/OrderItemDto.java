@@ -18,7 +18,7 @@ import lombok.NoArgsConstructor;
 public class OrderItemDto {
 
 	private Long id;
-	private int quantity;
+	private Integer quantity;
 	private BigDecimal price;
 	private String status;
 	private UserDto user;
@@ -0,0 +1,32 @@
+package com.ecommerce.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.ecommerce.enums.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Flat, read-only view of an order item used by the export endpoint. It is
+ * populated straight from a query projection, so no entities are loaded while
+ * exporting.
+ */
+@Data
+@AllArgsConstructor
+@JsonPropertyOrder({ "id", "createdAt", "status", "quantity", "price", "productId", "productName", "userId",
+		"userEmail" })
+public class OrderItemExportRow {
+
+	private Long id;
+	private LocalDateTime createdAt;
+	private OrderStatus status;
+	private Integer quantity;
+	private BigDecimal price;
+	private Long productId;
+	private String productName;
+	private Long userId;
+	private String userEmail;
+}
@@ -12,7 +12,8 @@ import lombok.Data;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class OrderRequest {
 
-	private BigDecimal totalPrice;
+	private BigDecimal totalPrice; // ignored, the total is always priced on the server
 	private List<OrderItemRequest> items;
 	private Payment paymentInfo;
+	private String couponCode;
 }
@@ -0,0 +1,25 @@
+package com.ecommerce.dto;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceQuoteLine {
+
+	private Long productId;
+	private int quantity;
+	private BigDecimal unitPrice;
+	private BigDecimal discount;
+	private BigDecimal lineTotal;
+	private Long promotionId;
+}
@@ -2,6 +2,7 @@ package com.ecommerce.dto;
 
 import java.math.BigDecimal;
 
+import com.ecommerce.enums.ImageStatus;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
@@ -21,5 +22,12 @@ public class ProductDto {
 	private String description;
 	private BigDecimal price;
 	private String imageUrl;
+	private String thumbnailUrl;
+	private String cardUrl;
+	private String detailUrl;
+	private ImageStatus imageStatus;
 	private CategoryDto category;
+	private Long reviewCount;
+	private Double averageRating;
+	private int[] ratingHistogram;
 }
@@ -0,0 +1,15 @@
+package com.ecommerce.dto;
+
+import java.math.BigDecimal;
+
+import com.ecommerce.enums.ImageStatus;
+
+/**
+ * Read-only projection of the product columns shown in product lists. Selected
+ * straight from the products table, so listing products never hydrates
+ * managed entities or touches their associations.
+ */
+public record ProductSummary(Long id, String name, String description, BigDecimal price, String imageUrl,
+		String thumbnailUrl, String cardUrl, String detailUrl, ImageStatus imageStatus, long reviewCount,
+		double averageRating) {
+}
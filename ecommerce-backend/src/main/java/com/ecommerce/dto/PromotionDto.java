@@ -0,0 +1,32 @@
+package com.ecommerce.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class PromotionDto {
+
+	private Long id;
+	private String name;
+	private String type;
+	private Long productId;
+	private Long categoryId;
+	private String couponCode;
+	private BigDecimal percentOff;
+	private Integer buyQuantity;
+	private Integer freeQuantity;
+	private Boolean active;
+	private LocalDateTime startsAt;
+	private LocalDateTime endsAt;
+}
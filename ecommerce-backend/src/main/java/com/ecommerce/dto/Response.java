@@ -40,4 +40,16 @@ public class Response {
 
 	private OrderDto order;
 	private List<OrderDto> orderList;
+
+	private CartDto cart;
+
+	private List<BestsellerDto> bestsellerList;
+
+	private ReviewDto review;
+	private List<ReviewDto> reviewList;
+
+	private PriceQuote priceQuote;
+
+	private PromotionDto promotion;
+	private List<PromotionDto> promotionList;
 }
@@ -0,0 +1,25 @@
+package com.ecommerce.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReviewDto {
+
+	private Long id;
+	private String content;
+	private Integer rating;
+	private Long productId;
+	private String userName;
+	private LocalDateTime createdAt;
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.dto;
+
+/**
+ * An image written to the object store: its content-derived key, public URL
+ * and size in bytes.
+ */
+public record StoredImage(String key, String url, long size) {
+}
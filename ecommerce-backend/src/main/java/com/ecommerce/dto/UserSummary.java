@@ -0,0 +1,10 @@
+package com.ecommerce.dto;
+
+import com.ecommerce.enums.UserRole;
+
+/**
+ * Read-only projection of the user columns shown in the admin user list;
+ * passwords and addresses are never selected.
+ */
+public record UserSummary(Long id, String email, String name, String phoneNumber, UserRole role) {
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.entities;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.ecommerce.enums.OrderStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Cold-tier copy of an OrderItem that has been delivered or cancelled and has
+ * aged past the archive retention window. Rows keep the id of the original
+ * order item and are grouped by their creation month (yyyyMM) so date range
+ * scans only touch the months they ask for.
+ */
+@Entity
+@Data
+@Table(name = "order_items_archive", indexes = {
+		@Index(name = "idx_order_items_archive_month_created_at", columnList = "archive_month, created_at"),
+		@Index(name = "idx_order_items_archive_order_id", columnList = "order_id"),
+		@Index(name = "idx_order_items_archive_user_created_at", columnList = "user_id, created_at") })
+public class ArchivedOrderItem {
+
+	@Id
+	private Long id;
+
+	private int quantity;
+	private BigDecimal price;
+	private OrderStatus status;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "user_id")
+	private User user;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "product_id")
+	private Product product;
+
+	@Column(name = "order_id")
+	private Long orderId;
+
+	@Column(name = "archive_month")
+	private int archiveMonth;
+
+	@Column(name = "created_at")
+	private LocalDateTime createdAt;
+
+	@Column(name = "archived_at")
+	private LocalDateTime archivedAt;
+}
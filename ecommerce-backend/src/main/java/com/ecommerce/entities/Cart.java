@@ -0,0 +1,30 @@
+package com.ecommerce.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Persisted copy of a user's shopping cart. The live cart is held in memory by
+ * CartServiceImpl and written here in batches; the lines are stored as a JSON
+ * array of product ID and quantity pairs.
+ */
+@Data
+@Entity
+@Table(name = "carts")
+public class Cart {
+
+	@Id
+	@Column(name = "user_id")
+	private Long userId;
+
+	@Column(columnDefinition = "TEXT")
+	private String items;
+
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.entities;
+
+import java.time.LocalDateTime;
+
+import com.ecommerce.enums.ImageJobStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * A queued upload of a product image and generation of its variants. Either
+ * the uploaded bytes are staged in the job until they reach the object store,
+ * or the image is already stored under sourceKey and only the variants are
+ * left to generate. Finished jobs are deleted.
+ */
+@Data
+@Entity
+@Table(name = "image_jobs", indexes = {
+		@Index(name = "idx_image_jobs_status_updated_at", columnList = "status, updated_at"),
+		@Index(name = "idx_image_jobs_product_id", columnList = "product_id") })
+public class ImageJob {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	// Not a foreign key, so deleting a product never waits on its image jobs
+	@Column(name = "product_id")
+	private Long productId;
+
+	private ImageJobStatus status;
+
+	@Lob
+	@Column(columnDefinition = "LONGBLOB")
+	private byte[] content;
+
+	@Column(name = "source_key")
+	private String sourceKey;
+
+	@Column(name = "file_name")
+	private String fileName;
+
+	@Column(name = "content_type")
+	private String contentType;
+
+	private int attempts;
+
+	@Column(name = "failure_reason")
+	private String failureReason;
+
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt = LocalDateTime.now();
+
+	@Column(name = "created_at")
+	private final LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.entities;
+
+import java.time.LocalDateTime;
+
+import com.ecommerce.enums.OrderEventType;
+import com.ecommerce.enums.OrderStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Outbox row describing a change to an order. Rows are written in the same
+ * transaction as the change itself and relayed to subscribers afterwards, so
+ * an event is published if and only if its change was committed.
+ */
+@Data
+@Entity
+@Table(name = "order_events", indexes = {
+		@Index(name = "idx_order_events_created_at", columnList = "created_at") })
+public class OrderEvent {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "event_type")
+	private OrderEventType eventType;
+
+	@Column(name = "order_id")
+	private Long orderId;
+
+	@Column(name = "order_item_id")
+	private Long orderItemId;
+
+	private OrderStatus status;
+
+	@Column(name = "created_at")
+	private final LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -3,12 +3,15 @@ package com.ecommerce.entities;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.ecommerce.enums.PaymentStatus;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -16,7 +19,8 @@ import lombok.Data;
 
 @Data
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+		@Index(name = "idx_payments_status_updated_at", columnList = "status, updated_at") })
 public class Payment {
 
 	@Id
@@ -27,12 +31,26 @@ public class Payment {
 
 	private String method;
 
-	private String status;
+	private PaymentStatus status;
+
+	@Column(name = "authorization_code")
+	private String authorizationCode;
+
+	@Column(name = "failure_reason")
+	private String failureReason;
+
+	private int attempts;
 
 	@OneToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "order_id")
 	private Order order;
 
+	@Column(name = "captured_at")
+	private LocalDateTime capturedAt;
+
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt = LocalDateTime.now();
+
 	@Column(name = "created_at")
 	private final LocalDateTime createdAt = LocalDateTime.now();
 }
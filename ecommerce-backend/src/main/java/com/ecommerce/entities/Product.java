@@ -3,12 +3,18 @@ package com.ecommerce.entities;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.ecommerce.enums.ImageStatus;
+
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -16,7 +22,9 @@ import lombok.Data;
 
 @Data
 @Entity
-@Table(name = "products")
+@DynamicUpdate // product edits must not overwrite the rating aggregates
+@Table(name = "products", indexes = {
+		@Index(name = "idx_products_average_rating", columnList = "average_rating") })
 public class Product {
 
 	@Id
@@ -26,12 +34,40 @@ public class Product {
 	private String name;
 	private String description;
 	private String imageUrl;
+
+	// Resized variants of the image, null until generated
+	private String thumbnailUrl;
+	private String cardUrl;
+	private String detailUrl;
+
+	// PENDING while an image job uploads the image or generates its variants, null for older products
+	@Column(name = "image_status")
+	private ImageStatus imageStatus;
+
+	// The newest image job; older jobs still running no longer touch the product
+	@Column(name = "latest_image_job_id")
+	private Long latestImageJobId;
+
 	private BigDecimal price;
 
 	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "category_id")
 	private Category category;
 
+	// Running review aggregates, maintained by ReviewServiceImpl
+	@Column(name = "review_count")
+	private long reviewCount;
+
+	@Column(name = "rating_sum")
+	private long ratingSum;
+
+	@Column(name = "average_rating")
+	private double averageRating;
+
+	@Convert(converter = RatingHistogramConverter.class)
+	@Column(name = "rating_histogram")
+	private int[] ratingHistogram = new int[RatingHistogramConverter.BUCKETS];
+
 	@Column(name = "created_at")
 	private final LocalDateTime createdAt = LocalDateTime.now();
 }
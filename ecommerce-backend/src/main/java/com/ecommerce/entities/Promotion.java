@@ -0,0 +1,62 @@
+package com.ecommerce.entities;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.ecommerce.enums.PromotionType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * A pricing rule. A promotion targets a single product, a whole category, or
+ * the whole store when neither is set, and only applies to carts carrying its
+ * coupon code when one is set.
+ */
+@Data
+@Entity
+@Table(name = "promotions")
+public class Promotion {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	private String name;
+
+	private PromotionType type;
+
+	@Column(name = "product_id")
+	private Long productId;
+
+	@Column(name = "category_id")
+	private Long categoryId;
+
+	@Column(name = "coupon_code")
+	private String couponCode;
+
+	@Column(name = "percent_off")
+	private BigDecimal percentOff; // used by PERCENTAGE_OFF, 0 to 100
+
+	@Column(name = "buy_quantity")
+	private Integer buyQuantity; // used by BUY_X_GET_Y
+
+	@Column(name = "free_quantity")
+	private Integer freeQuantity; // used by BUY_X_GET_Y
+
+	private boolean active = true;
+
+	@Column(name = "starts_at")
+	private LocalDateTime startsAt;
+
+	@Column(name = "ends_at")
+	private LocalDateTime endsAt;
+
+	@Column(name = "created_at")
+	private final LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.entities;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a product's rating histogram (review counts for ratings 1 to 10) as a
+ * comma-separated string in a single column.
+ */
+@Converter
+public class RatingHistogramConverter implements AttributeConverter<int[], String> {
+
+	public static final int BUCKETS = 10;
+
+	@Override
+	public String convertToDatabaseColumn(int[] histogram) {
+		if (histogram == null) {
+			return null;
+		}
+		return Arrays.stream(histogram).mapToObj(Integer::toString).collect(Collectors.joining(","));
+	}
+
+	@Override
+	public int[] convertToEntityAttribute(String column) {
+		int[] histogram = new int[BUCKETS];
+		if (column == null || column.isBlank()) {
+			return histogram;
+		}
+		String[] counts = column.split(",");
+		for (int i = 0; i < Math.min(counts.length, BUCKETS); i++) {
+			histogram[i] = Integer.parseInt(counts[i].trim());
+		}
+		return histogram;
+	}
+}
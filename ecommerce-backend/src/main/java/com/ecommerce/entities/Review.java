@@ -4,17 +4,22 @@ import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
 
 @Entity
 @Data
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+		@Index(name = "idx_reviews_product_created_at", columnList = "product_id, created_at") }, uniqueConstraints = {
+		@UniqueConstraint(name = "uk_reviews_product_user", columnNames = { "product_id", "user_id" }) })
 public class Review {
 
 	@Id
@@ -25,11 +30,11 @@ public class Review {
 
 	private int rating; // assuming it is in 1 to 10
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "product_id")
 	private Product product;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id")
 	private User user;
 
@@ -0,0 +1,44 @@
+package com.ecommerce.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * A revoked JWT. Either a single token, identified by its jti (tokenId), or
+ * every token of a user issued before revokedBefore (tokenId is null). Rows can
+ * be deleted once expiresAt has passed, since the tokens they cover have
+ * expired by then.
+ */
+@Data
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+		@Index(name = "idx_revoked_tokens_token_id", columnList = "token_id", unique = true),
+		@Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at") })
+public class RevokedToken {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "token_id")
+	private String tokenId;
+
+	private String subject;
+
+	@Column(name = "revoked_before")
+	private LocalDateTime revokedBefore;
+
+	@Column(name = "expires_at")
+	private LocalDateTime expiresAt;
+
+	@Column(name = "created_at")
+	private final LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -4,10 +4,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import com.ecommerce.enums.UserRole;
+import com.ecommerce.security.PrincipalCacheInvalidator;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -24,6 +26,7 @@ import lombok.NoArgsConstructor;
 @Data
 @Entity
 @Table(name = "users")
+@EntityListeners(PrincipalCacheInvalidator.class)
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -0,0 +1,6 @@
+package com.ecommerce.enums;
+
+public enum ImageJobStatus {
+
+	PENDING, PROCESSING, FAILED
+}
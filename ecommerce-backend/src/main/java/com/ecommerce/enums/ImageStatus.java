@@ -0,0 +1,6 @@
+package com.ecommerce.enums;
+
+public enum ImageStatus {
+
+	PENDING, READY, FAILED
+}
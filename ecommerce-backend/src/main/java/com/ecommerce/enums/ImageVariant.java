@@ -0,0 +1,20 @@
+package com.ecommerce.enums;
+
+public enum ImageVariant {
+
+	THUMBNAIL(200), CARD(600), DETAIL(1200);
+
+	private final int maxDimension;
+
+	ImageVariant(int maxDimension) {
+		this.maxDimension = maxDimension;
+	}
+
+	/**
+	 * The longest side of the variant in pixels. Images already smaller than
+	 * this are re-encoded at their own size, never enlarged.
+	 */
+	public int getMaxDimension() {
+		return maxDimension;
+	}
+}
@@ -0,0 +1,6 @@
+package com.ecommerce.enums;
+
+public enum OrderEventType {
+
+	ORDER_PLACED, ORDER_ITEM_STATUS_CHANGED
+}
@@ -0,0 +1,6 @@
+package com.ecommerce.enums;
+
+public enum PaymentStatus {
+
+	PENDING, AUTHORIZING, AUTHORIZED, CAPTURED, FAILED
+}
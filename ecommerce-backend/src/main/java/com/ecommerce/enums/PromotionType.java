@@ -0,0 +1,6 @@
+package com.ecommerce.enums;
+
+public enum PromotionType {
+
+	PERCENTAGE_OFF, BUY_X_GET_Y
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.enums;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+
+public enum ResponseFormat {
+
+	JSON(MediaType.APPLICATION_JSON), CBOR(MediaType.APPLICATION_CBOR),
+	SMILE(new MediaType("application", "x-jackson-smile"));
+
+	private final MediaType mediaType;
+
+	ResponseFormat(MediaType mediaType) {
+		this.mediaType = mediaType;
+	}
+
+	public MediaType getMediaType() {
+		return mediaType;
+	}
+
+	/**
+	 * Picks the format for an Accept header: the binary format with the highest
+	 * quality value when one is listed explicitly, otherwise JSON.
+	 */
+	public static ResponseFormat fromAcceptHeader(String accept) {
+		if (!StringUtils.hasText(accept)) {
+			return JSON;
+		}
+
+		ResponseFormat best = JSON;
+		double bestQuality = -1;
+		try {
+			for (MediaType requested : MediaType.parseMediaTypes(accept)) {
+				ResponseFormat candidate = null;
+				for (ResponseFormat format : values()) {
+					if (format.mediaType.equalsTypeAndSubtype(requested)) {
+						candidate = format;
+					}
+				}
+				if (candidate == null && requested.isWildcardSubtype()) {
+					candidate = JSON;
+				}
+				if (candidate != null && requested.getQualityValue() > bestQuality) {
+					best = candidate;
+					bestQuality = requested.getQualityValue();
+				}
+			}
+		} catch (IllegalArgumentException e) {
+			return JSON;
+		}
+		return best;
+	}
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -66,4 +67,25 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
 	}
 
+	/**
+	 * Handles ServiceBusyException, which is thrown when a bounded worker pool is
+	 * saturated and the request was rejected instead of queued. Returns a 503
+	 * Service Unavailable response with a Retry-After header.
+	 *
+	 * @param exception The ServiceBusyException that occurred.
+	 * @param request   The WebRequest object providing details about the request.
+	 * @return A ResponseEntity containing the error details with HTTP status 503.
+	 */
+	@ExceptionHandler(ServiceBusyException.class)
+	public ResponseEntity<Response> handleServiceBusyException(ServiceBusyException exception, WebRequest request) {
+		Response errorResponse = Response.builder()
+				.status(HttpStatus.SERVICE_UNAVAILABLE.value())
+				.message(exception.getMessage())
+				.build();
+		
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, "1")
+				.body(errorResponse);
+	}
+
 }
@@ -0,0 +1,8 @@
+package com.ecommerce.exceptions;
+
+public class PaymentGatewayException extends RuntimeException {
+
+	public PaymentGatewayException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.exceptions;
+
+public class ServiceBusyException extends RuntimeException {
+
+	public ServiceBusyException(String message) {
+		super(message);
+	}
+}
@@ -1,22 +1,42 @@
 package com.ecommerce.mappers;
 
-import java.util.stream.Collectors;
-
-import org.springframework.stereotype.Component;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.InheritConfiguration;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.Named;
 
 import com.ecommerce.dto.AddressDto;
 import com.ecommerce.dto.CategoryDto;
+import com.ecommerce.dto.CategorySummary;
+import com.ecommerce.dto.OrderEventDto;
 import com.ecommerce.dto.OrderItemDto;
 import com.ecommerce.dto.ProductDto;
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.dto.PromotionDto;
+import com.ecommerce.dto.ReviewDto;
 import com.ecommerce.dto.UserDto;
+import com.ecommerce.dto.UserSummary;
 import com.ecommerce.entities.Address;
+import com.ecommerce.entities.ArchivedOrderItem;
 import com.ecommerce.entities.Category;
+import com.ecommerce.entities.OrderEvent;
 import com.ecommerce.entities.OrderItem;
 import com.ecommerce.entities.Product;
+import com.ecommerce.entities.Promotion;
+import com.ecommerce.entities.Review;
 import com.ecommerce.entities.User;
 
-@Component
-public class EntityDtoMapper {
+/**
+ * Entity and projection to DTO mappings. The implementation is generated by
+ * MapStruct at build time as plain getter/setter code. Every mapping starts
+ * from nothing ({@code ignoreByDefault}) and lists the properties it copies,
+ * so an association is only read, and lazily loaded, where a method asks for
+ * it by name.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public abstract class EntityDtoMapper {
 
 	/**
 	 * Maps a User entity to a UserDto with basic fields.
@@ -24,16 +44,28 @@ public class EntityDtoMapper {
 	 * @param user The User entity to map.
 	 * @return The mapped UserDto.
 	 */
-	public UserDto mapUserToDtoBasic(User user) {
-		UserDto userDto = new UserDto();
-		userDto.setId(user.getId());
-		userDto.setPhoneNumber(user.getPhoneNumber());
-		userDto.setEmail(user.getEmail());
-		userDto.setRole(user.getRole().name());
-		userDto.setName(user.getName());
+	@Named("userBasic")
+	@BeanMapping(ignoreByDefault = true)
+	@Mapping(target = "id")
+	@Mapping(target = "phoneNumber")
+	@Mapping(target = "email")
+	@Mapping(target = "role")
+	@Mapping(target = "name")
+	public abstract UserDto mapUserToDtoBasic(User user);
 
-		return userDto;
-	}
+	/**
+	 * Maps a UserSummary projection to a UserDto with basic fields.
+	 *
+	 * @param user The UserSummary projection to map.
+	 * @return The mapped UserDto.
+	 */
+	@BeanMapping(ignoreByDefault = true)
+	@Mapping(target = "id")
+	@Mapping(target = "phoneNumber")
+	@Mapping(target = "email")
+	@Mapping(target = "role")
+	@Mapping(target = "name")
+	public abstract UserDto mapUserSummaryToDto(UserSummary user);
 
 	/**
 	 * Maps an Address entity to an AddressDto with basic fields.
@@ -41,17 +73,15 @@ public class EntityDtoMapper {
 	 * @param address The Address entity to map.
 	 * @return The mapped AddressDto.
 	 */
-	public AddressDto mapAddressToDtoBasic(Address address) {
-		AddressDto addressDto = new AddressDto();
-		addressDto.setId(address.getId());
-		addressDto.setCity(address.getCity());
-		addressDto.setStreet(address.getStreet());
-		addressDto.setState(address.getState());
-		addressDto.setCountry(address.getCountry());
-		addressDto.setZipCode(address.getZipCode());
-
-		return addressDto;
-	}
+	@Named("addressBasic")
+	@BeanMapping(ignoreByDefault = true)
+	@Mapping(target = "id")
+	@Mapping(target = "city")
+	@Mapping(target = "street")
+	@Mapping(target = "state")
+	@Mapping(target = "country")
+	@Mapping(target = "zipCode")
+	public abstract AddressDto mapAddressToDtoBasic(Address address);
 
 	/**
 	 * Maps a Category entity to a CategoryDto with basic fields.
@@ -59,13 +89,21 @@ public class EntityDtoMapper {
 	 * @param category The Category entity to map.
 	 * @return The mapped CategoryDto.
 	 */
-	public CategoryDto mapCategoryToDtoBasic(Category category) {
-		CategoryDto categoryDto = new CategoryDto();
-		categoryDto.setId(category.getId());
-		categoryDto.setName(category.getName());
+	@BeanMapping(ignoreByDefault = true)
+	@Mapping(target = "id")
+	@Mapping(target = "name")
+	public abstract CategoryDto mapCategoryToDtoBasic(Category category);
 
-		return categoryDto;
-	}
+	/**
+	 * Maps a CategorySummary projection to a CategoryDto.
+	 *
+	 * @param category The CategorySummary projection to map.
+	 * @return The mapped CategoryDto.
+	 */
+	@BeanMapping(ignoreByDefault = true)
+	@Mapping(target = "id")
+	@Mapping(target = "name")
+	public abstract CategoryDto mapCategorySummaryToDto(CategorySummary category);
 
 	/**
 	 * Maps an OrderItem entity to an OrderItemDto with basic fields.
@@ -73,16 +111,13 @@ public class EntityDtoMapper {
 	 * @param orderItem The OrderItem entity to map.
 	 * @return The mapped OrderItemDto.
 	 */
-	public OrderItemDto mapOrderItemToDtoBasic(OrderItem orderItem) {
-		OrderItemDto orderItemDto = new OrderItemDto();
-		orderItemDto.setId(orderItem.getId());
-		orderItemDto.setQuantity(orderItem.getQuantity());
-		orderItemDto.setPrice(orderItem.getPrice());
-		orderItemDto.setStatus(orderItem.getStatus().name());
-		orderItemDto.setCreatedAt(orderItem.getCreatedAt());
-
-		return orderItemDto;
-	}
+	@BeanMapping(ignoreByDefault = true)
+	@Mapping(target = "id")
+	@Mapping(target = "quantity")
+	@Mapping(target = "price")
+	@Mapping(target = "status")
+	@Mapping(target = "createdAt")
+	public abstract OrderItemDto mapOrderItemToDtoBasic(OrderItem orderItem);
 
 	/**
 	 * Maps a Product entity to a ProductDto with basic fields.
@@ -90,16 +125,52 @@ public class EntityDtoMapper {
 	 * @param product The Product entity to map.
 	 * @return The mapped ProductDto.
 	 */
-	public ProductDto mapProductToDtoBasic(Product product) {
-		ProductDto productDto = new ProductDto();
-		productDto.setId(product.getId());
-		productDto.setName(product.getName());
-		productDto.setDescription(product.getDescription());
-		productDto.setPrice(product.getPrice());
-		productDto.setImageUrl(product.getImageUrl());
+	@Named("productBasic")
+	@BeanMapping(ignoreByDefault = true)
+	@Mapping(target = "id")
+	@Mapping(target = "name")
+	@Mapping(target = "description")
+	@Mapping(target = "price")
+	@Mapping(target = "imageUrl")
+	@Mapping(target = "thumbnailUrl")
+	@Mapping(target = "cardUrl")
+	@Mapping(target = "detailUrl")
+	@Mapping(target = "imageStatus")
+	@Mapping(target = "reviewCount")
+	@Mapping(target = "averageRating")
+	public abstract ProductDto mapProductToDtoBasic(Product product);
 
-		return productDto;
-	}
+	/**
+	 * Maps a Product entity to a ProductDto, including basic fields and the
+	 * rating histogram.
+	 *
+	 * @param product The Product entity to map.
+	 * @return The mapped ProductDto with its rating histogram.
+	 */
+	@BeanMapping(ignoreByDefault = true)
+	@InheritConfiguration(name = "mapProductToDtoBasic")
+	@Mapping(target = "ratingHistogram")
+	public abstract ProductDto mapProductToDtoPlusRatingHistogram(Product product);
+
+	/**
+	 * Maps a ProductSummary projection to a ProductDto with basic fields.
+	 *
+	 * @param product The ProductSummary projection to map.
+	 * @return The mapped ProductDto.
+	 */
+	@BeanMapping(ignoreByDefault = true)
+	@Mapping(target = "id")
+	@Mapping(target = "name")
+	@Mapping(target = "description")
+	@Mapping(target = "price")
+	@Mapping(target = "imageUrl")
+	@Mapping(target = "thumbnailUrl")
+	@Mapping(target = "cardUrl")
+	@Mapping(target = "detailUrl")
+	@Mapping(target = "imageStatus")
+	@Mapping(target = "reviewCount")
+	@Mapping(target = "averageRating")
+	public abstract ProductDto mapProductSummaryToDto(ProductSummary product);
 
 	/**
 	 * Maps a User entity to a UserDto, including basic fields and address.
@@ -107,16 +178,11 @@ public class EntityDtoMapper {
 	 * @param user The User entity to map.
 	 * @return The mapped UserDto with address.
 	 */
-	public UserDto mapUserToDtoPlusAddress(User user) {
-
-		UserDto userDto = mapUserToDtoBasic(user);
-		if (user.getAddress() != null) {
-			AddressDto addressDto = mapAddressToDtoBasic(user.getAddress());
-			userDto.setAddress(addressDto);
-		}
-
-		return userDto;
-	}
+	@Named("userPlusAddress")
+	@BeanMapping(ignoreByDefault = true)
+	@InheritConfiguration(name = "mapUserToDtoBasic")
+	@Mapping(target = "address", qualifiedByName = "addressBasic")
+	public abstract UserDto mapUserToDtoPlusAddress(User user);
 
 	/**
 	 * Maps an OrderItem entity to an OrderItemDto, including basic fields and
@@ -125,15 +191,10 @@ public class EntityDtoMapper {
 	 * @param orderItem The OrderItem entity to map.
 	 * @return The mapped OrderItemDto with product details.
 	 */
-	public OrderItemDto mapOrderItemToDtoPlusProduct(OrderItem orderItem) {
-		OrderItemDto orderItemDto = mapOrderItemToDtoBasic(orderItem);
-		if (orderItem.getProduct() != null) {
-			ProductDto productDto = mapProductToDtoBasic(orderItem.getProduct());
-			orderItemDto.setProduct(productDto);
-		}
-
-		return orderItemDto;
-	}
+	@BeanMapping(ignoreByDefault = true)
+	@InheritConfiguration(name = "mapOrderItemToDtoBasic")
+	@Mapping(target = "product", qualifiedByName = "productBasic")
+	public abstract OrderItemDto mapOrderItemToDtoPlusProduct(OrderItem orderItem);
 
 	/**
 	 * Maps an OrderItem entity to an OrderItemDto, including product and user
@@ -142,31 +203,88 @@ public class EntityDtoMapper {
 	 * @param orderItem The OrderItem entity to map.
 	 * @return The mapped OrderItemDto with product and user details.
 	 */
-	public OrderItemDto mapOrderItemToDtoPlusProductAndUser(OrderItem orderItem) {
-		OrderItemDto orderItemDto = mapOrderItemToDtoPlusProduct(orderItem);
-		if (orderItem.getUser() != null) {
-			UserDto userDto = mapUserToDtoPlusAddress(orderItem.getUser());
-			orderItemDto.setUser(userDto);
-		}
+	@BeanMapping(ignoreByDefault = true)
+	@InheritConfiguration(name = "mapOrderItemToDtoPlusProduct")
+	@Mapping(target = "user", qualifiedByName = "userPlusAddress")
+	public abstract OrderItemDto mapOrderItemToDtoPlusProductAndUser(OrderItem orderItem);
 
-		return orderItemDto;
-	}
+	/**
+	 * Maps a Review entity to a ReviewDto, including the reviewer's name.
+	 *
+	 * @param review The Review entity to map.
+	 * @return The mapped ReviewDto.
+	 */
+	@BeanMapping(ignoreByDefault = true)
+	@Mapping(target = "id")
+	@Mapping(target = "content")
+	@Mapping(target = "rating")
+	@Mapping(target = "productId", source = "product.id")
+	@Mapping(target = "userName", source = "user.name")
+	@Mapping(target = "createdAt")
+	public abstract ReviewDto mapReviewToDto(Review review);
 
 	/**
-	 * Maps a User entity to a UserDto, including address and order item history.
-	 * 
-	 * @param user The User entity to map.
-	 * @return The mapped UserDto with address and order history.
-	 */
-	public UserDto mapUserToDtoPlusAddressAndOrderHistory(User user) {
-		UserDto userDto = mapUserToDtoPlusAddress(user);
-		if (user.getOrderItemList() != null && !user.getOrderItemList().isEmpty()) {
-			userDto.setOrderItemList(user.getOrderItemList().stream()
-					.map(this::mapOrderItemToDtoPlusProduct)
-					.collect(Collectors.toList()));
-		}
-
-		return userDto;
-	}
+	 * Maps a Promotion entity to a PromotionDto.
+	 *
+	 * @param promotion The Promotion entity to map.
+	 * @return The mapped PromotionDto.
+	 */
+	@BeanMapping(ignoreByDefault = true)
+	@Mapping(target = "id")
+	@Mapping(target = "name")
+	@Mapping(target = "type")
+	@Mapping(target = "productId")
+	@Mapping(target = "categoryId")
+	@Mapping(target = "couponCode")
+	@Mapping(target = "percentOff")
+	@Mapping(target = "buyQuantity")
+	@Mapping(target = "freeQuantity")
+	@Mapping(target = "active")
+	@Mapping(target = "startsAt")
+	@Mapping(target = "endsAt")
+	public abstract PromotionDto mapPromotionToDto(Promotion promotion);
+
+	/**
+	 * Maps an OrderEvent entity to an OrderEventDto.
+	 *
+	 * @param orderEvent The OrderEvent entity to map.
+	 * @return The mapped OrderEventDto.
+	 */
+	@BeanMapping(ignoreByDefault = true)
+	@Mapping(target = "id")
+	@Mapping(target = "eventType")
+	@Mapping(target = "orderId")
+	@Mapping(target = "orderItemId")
+	@Mapping(target = "status")
+	@Mapping(target = "createdAt")
+	public abstract OrderEventDto mapOrderEventToDto(OrderEvent orderEvent);
+
+	/**
+	 * Maps an ArchivedOrderItem entity to an OrderItemDto, including product
+	 * details, so archived rows look the same as live ones to API clients.
+	 *
+	 * @param archivedOrderItem The ArchivedOrderItem entity to map.
+	 * @return The mapped OrderItemDto with product details.
+	 */
+	@BeanMapping(ignoreByDefault = true)
+	@Mapping(target = "id")
+	@Mapping(target = "quantity")
+	@Mapping(target = "price")
+	@Mapping(target = "status")
+	@Mapping(target = "createdAt")
+	@Mapping(target = "product", qualifiedByName = "productBasic")
+	public abstract OrderItemDto mapArchivedOrderItemToDtoPlusProduct(ArchivedOrderItem archivedOrderItem);
+
+	/**
+	 * Maps an ArchivedOrderItem entity to an OrderItemDto, including product and
+	 * user details.
+	 *
+	 * @param archivedOrderItem The ArchivedOrderItem entity to map.
+	 * @return The mapped OrderItemDto with product and user details.
+	 */
+	@BeanMapping(ignoreByDefault = true)
+	@InheritConfiguration(name = "mapArchivedOrderItemToDtoPlusProduct")
+	@Mapping(target = "user", qualifiedByName = "userPlusAddress")
+	public abstract OrderItemDto mapArchivedOrderItemToDtoPlusProductAndUser(ArchivedOrderItem archivedOrderItem);
 
 }
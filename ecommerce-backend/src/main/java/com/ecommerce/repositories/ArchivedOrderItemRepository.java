@@ -0,0 +1,46 @@
+package com.ecommerce.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.entities.ArchivedOrderItem;
+
+@Repository
+public interface ArchivedOrderItemRepository
+		extends JpaRepository<ArchivedOrderItem, Long>, JpaSpecificationExecutor<ArchivedOrderItem> {
+
+	// Filtered pages are mapped with their product, user and address, so those are fetched in the page query
+	@Override
+	@EntityGraph(attributePaths = { "product", "user", "user.address" })
+	Page<ArchivedOrderItem> findAll(Specification<ArchivedOrderItem> spec, Pageable pageable);
+
+	@Query(value = "SELECT a FROM ArchivedOrderItem a LEFT JOIN FETCH a.product WHERE a.user.id = :userId",
+			countQuery = "SELECT COUNT(a) FROM ArchivedOrderItem a WHERE a.user.id = :userId")
+	Page<ArchivedOrderItem> findOrderHistoryByUserId(Long userId, Pageable pageable);
+
+	@Query("SELECT a.orderId, a.product.id FROM ArchivedOrderItem a "
+			+ "WHERE a.orderId BETWEEN :fromOrderId AND :toOrderId")
+	List<Object[]> findOrderProductPairs(Long fromOrderId, Long toOrderId);
+
+	/**
+	 * Copies the given order items into the archive in a single set-based
+	 * statement, deriving the yyyyMM archive month from their creation date.
+	 */
+	@Modifying
+	@Query(value = "INSERT INTO order_items_archive "
+			+ "(id, quantity, price, status, user_id, product_id, order_id, created_at, archive_month, archived_at) "
+			+ "SELECT id, quantity, price, status, user_id, product_id, order_id, created_at, "
+			+ "YEAR(created_at) * 100 + MONTH(created_at), :archivedAt "
+			+ "FROM order_items WHERE id IN (:ids)", nativeQuery = true)
+	int copyFromOrderItems(List<Long> ids, LocalDateTime archivedAt);
+}
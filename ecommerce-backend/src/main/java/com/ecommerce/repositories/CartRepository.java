@@ -0,0 +1,11 @@
+package com.ecommerce.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.entities.Cart;
+
+@Repository
+public interface CartRepository extends JpaRepository<Cart, Long> {
+
+}
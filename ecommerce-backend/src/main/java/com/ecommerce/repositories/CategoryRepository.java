@@ -1,11 +1,17 @@
 package com.ecommerce.repositories;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.ecommerce.dto.CategorySummary;
 import com.ecommerce.entities.Category;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+	@Query("SELECT new com.ecommerce.dto.CategorySummary(c.id, c.name) FROM Category c")
+	List<CategorySummary> findAllSummaries();
 }
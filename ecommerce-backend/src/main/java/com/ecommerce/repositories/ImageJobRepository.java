@@ -0,0 +1,30 @@
+package com.ecommerce.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.entities.ImageJob;
+import com.ecommerce.enums.ImageJobStatus;
+
+@Repository
+public interface ImageJobRepository extends JpaRepository<ImageJob, Long> {
+
+	@Query("SELECT j.id FROM ImageJob j WHERE j.status = :status AND j.updatedAt < :before ORDER BY j.id")
+	List<Long> findIdsByStatusUpdatedBefore(ImageJobStatus status, LocalDateTime before, Pageable pageable);
+
+	@Modifying
+	@Query("UPDATE ImageJob j SET j.status = :to, j.attempts = j.attempts + 1, j.updatedAt = :now "
+			+ "WHERE j.id = :jobId AND j.status = :from")
+	int claim(Long jobId, ImageJobStatus from, ImageJobStatus to, LocalDateTime now);
+
+	@Modifying
+	@Query("UPDATE ImageJob j SET j.status = :to, j.updatedAt = :now WHERE j.id IN :jobIds AND j.status = :from")
+	int transitionAll(Collection<Long> jobIds, ImageJobStatus from, ImageJobStatus to, LocalDateTime now);
+}
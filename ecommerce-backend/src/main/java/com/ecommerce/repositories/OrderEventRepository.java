@@ -0,0 +1,30 @@
+package com.ecommerce.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.entities.OrderEvent;
+
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+
+	List<OrderEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+	List<OrderEvent> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+	List<OrderEvent> findByIdBetweenOrderByIdAsc(Long fromId, Long toId, Pageable pageable);
+
+	@Query("SELECT COALESCE(MAX(e.id), 0) FROM OrderEvent e")
+	Long findMaxId();
+
+	@Modifying
+	@Query("DELETE FROM OrderEvent e WHERE e.createdAt < :cutoff")
+	int deleteCreatedBefore(LocalDateTime cutoff);
+}
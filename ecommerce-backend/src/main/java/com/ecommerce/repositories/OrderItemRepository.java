@@ -1,12 +1,43 @@
 package com.ecommerce.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.ecommerce.entities.OrderItem;
+import com.ecommerce.enums.OrderStatus;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long>, JpaSpecificationExecutor<OrderItem> {
 
+	// Filtered pages are mapped with their product, user and address, so those are fetched in the page query
+	@Override
+	@EntityGraph(attributePaths = { "product", "user", "user.address" })
+	Page<OrderItem> findAll(Specification<OrderItem> spec, Pageable pageable);
+
+	@Query(value = "SELECT oi FROM OrderItem oi LEFT JOIN FETCH oi.product WHERE oi.user.id = :userId",
+			countQuery = "SELECT COUNT(oi) FROM OrderItem oi WHERE oi.user.id = :userId")
+	Page<OrderItem> findOrderHistoryByUserId(Long userId, Pageable pageable);
+
+	// Outer joins, so sales of products without a category (or of deleted products) are still read
+	@Query("SELECT p.id, c.id, oi.createdAt, oi.quantity FROM OrderItem oi "
+			+ "LEFT JOIN oi.product p LEFT JOIN p.category c WHERE oi.createdAt >= :since")
+	Stream<Object[]> streamSalesSince(LocalDateTime since);
+
+	@Query("SELECT oi.order.id, oi.product.id FROM OrderItem oi "
+			+ "WHERE oi.order.id BETWEEN :fromOrderId AND :toOrderId")
+	List<Object[]> findOrderProductPairs(Long fromOrderId, Long toOrderId);
+
+	@Query("SELECT oi.id FROM OrderItem oi WHERE oi.status IN :statuses AND oi.createdAt < :cutoff ORDER BY oi.id")
+	List<Long> findArchivableIds(Collection<OrderStatus> statuses, LocalDateTime cutoff, Pageable pageable);
 }
@@ -1,6 +1,7 @@
 package com.ecommerce.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.ecommerce.entities.Order;
@@ -8,4 +9,6 @@ import com.ecommerce.entities.Order;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+	@Query("SELECT COALESCE(MAX(o.id), 0) FROM Order o")
+	Long findMaxId();
 }
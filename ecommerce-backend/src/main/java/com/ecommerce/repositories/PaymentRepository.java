@@ -0,0 +1,41 @@
+package com.ecommerce.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.entities.Payment;
+import com.ecommerce.enums.PaymentStatus;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+	@Query("SELECT p FROM Payment p JOIN FETCH p.order WHERE p.id = :paymentId")
+	Optional<Payment> findWithOrderById(Long paymentId);
+
+	@Query("SELECT p.id FROM Payment p WHERE p.status = :status AND p.updatedAt < :before ORDER BY p.id")
+	List<Long> findIdsByStatusUpdatedBefore(PaymentStatus status, LocalDateTime before, Pageable pageable);
+
+	List<Payment> findByStatusOrderByIdAsc(PaymentStatus status, Pageable pageable);
+
+	@Modifying
+	@Query("UPDATE Payment p SET p.status = :to, p.attempts = p.attempts + 1, p.updatedAt = :now "
+			+ "WHERE p.id = :paymentId AND p.status = :from")
+	int claim(Long paymentId, PaymentStatus from, PaymentStatus to, LocalDateTime now);
+
+	@Modifying
+	@Query("UPDATE Payment p SET p.status = :to, p.updatedAt = :now WHERE p.id IN :paymentIds AND p.status = :from")
+	int transitionAll(Collection<Long> paymentIds, PaymentStatus from, PaymentStatus to, LocalDateTime now);
+
+	@Modifying
+	@Query("UPDATE Payment p SET p.status = com.ecommerce.enums.PaymentStatus.CAPTURED, p.capturedAt = :now, "
+			+ "p.updatedAt = :now WHERE p.id IN :paymentIds AND p.status = com.ecommerce.enums.PaymentStatus.AUTHORIZED")
+	int markCaptured(Collection<Long> paymentIds, LocalDateTime now);
+}
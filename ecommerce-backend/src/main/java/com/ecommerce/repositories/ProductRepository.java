@@ -1,16 +1,42 @@
 package com.ecommerce.repositories;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.ecommerce.dto.ProductSummary;
 import com.ecommerce.entities.Product;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-	List<Product> findByCategoryId(Long categoryId);
+	String PRODUCT_SUMMARY = "SELECT new com.ecommerce.dto.ProductSummary(p.id, p.name, p.description, p.price, "
+			+ "p.imageUrl, p.thumbnailUrl, p.cardUrl, p.detailUrl, p.imageStatus, p.reviewCount, p.averageRating) "
+			+ "FROM Product p";
+
+	@Query(PRODUCT_SUMMARY)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	Stream<ProductSummary> streamAllSummaries(Sort sort);
+
+	@Query(PRODUCT_SUMMARY + " WHERE p.category.id = :categoryId")
+	List<ProductSummary> findSummariesByCategoryId(Long categoryId);
+
+	// The pattern comes from ProductSpecification.containsPattern, so both search paths match the same products
+	@Query(PRODUCT_SUMMARY + " WHERE p.name LIKE :pattern ESCAPE '\\' OR p.description LIKE :pattern ESCAPE '\\'")
+	List<ProductSummary> searchSummaries(String pattern);
 
-	List<Product> findByNameContainingOrDescriptionContaining(String name, String description);
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT p FROM Product p WHERE p.id = :productId")
+	Optional<Product> findByIdForUpdate(Long productId);
 }
@@ -0,0 +1,14 @@
+package com.ecommerce.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.entities.Promotion;
+
+@Repository
+public interface PromotionRepository extends JpaRepository<Promotion, Long> {
+
+	List<Promotion> findByActiveTrue();
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.entities.Review;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+	@Query(value = "SELECT r FROM Review r JOIN FETCH r.user WHERE r.product.id = :productId",
+			countQuery = "SELECT COUNT(r) FROM Review r WHERE r.product.id = :productId")
+	Page<Review> findByProductId(Long productId, Pageable pageable);
+
+	boolean existsByProductIdAndUserId(Long productId, Long userId);
+
+	@Query("SELECT r.product.id FROM Review r WHERE r.id = :reviewId")
+	Optional<Long> findProductIdById(Long reviewId);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT r FROM Review r WHERE r.id = :reviewId")
+	Optional<Review> findByIdForUpdate(Long reviewId);
+}
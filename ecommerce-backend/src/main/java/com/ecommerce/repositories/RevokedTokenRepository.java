@@ -0,0 +1,28 @@
+package com.ecommerce.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ecommerce.entities.RevokedToken;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+	boolean existsByTokenId(String tokenId);
+
+	List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+	List<RevokedToken> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+	int deleteExpiredBefore(LocalDateTime now);
+}
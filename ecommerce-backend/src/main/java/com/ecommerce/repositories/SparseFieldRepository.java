@@ -0,0 +1,133 @@
+package com.ecommerce.repositories;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.specification.SparseFieldset.Field;
+import com.ecommerce.specification.SparseFieldset.FieldSelection;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Runs sparse fieldset queries: tuple queries that select only the columns
+ * behind the requested fields, joining an association only when one of its
+ * fields was requested. Works for any entity, filtered by a Specification.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SparseFieldRepository {
+
+	// JDBC fetch size for streamed results
+	private static final int STREAM_FETCH_SIZE = 500;
+
+	private final EntityManager entityManager;
+
+	public <E, D> List<D> findAll(Class<E> entityType, Specification<E> spec, Sort sort,
+			FieldSelection<D> selection) {
+
+		return createQuery(entityType, spec, sort, selection).getResultList().stream().map(selection::toDto).toList();
+	}
+
+	/**
+	 * Streams the selected fields; must be called inside a transaction and the
+	 * stream closed by the caller.
+	 */
+	public <E, D> Stream<D> streamAll(Class<E> entityType, Specification<E> spec, Sort sort,
+			FieldSelection<D> selection) {
+
+		return createQuery(entityType, spec, sort, selection)
+				.setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+				.getResultStream()
+				.map(selection::toDto);
+	}
+
+	public <E, D> Page<D> findPage(Class<E> entityType, Specification<E> spec, Pageable pageable,
+			FieldSelection<D> selection) {
+
+		List<D> content = createQuery(entityType, spec, pageable.getSort(), selection)
+				.setFirstResult((int) pageable.getOffset())
+				.setMaxResults(pageable.getPageSize())
+				.getResultList()
+				.stream()
+				.map(selection::toDto)
+				.toList();
+
+		return new PageImpl<>(content, pageable, count(entityType, spec));
+	}
+
+	private <E, D> TypedQuery<Tuple> createQuery(Class<E> entityType, Specification<E> spec, Sort sort,
+			FieldSelection<D> selection) {
+
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+		Root<E> root = query.from(entityType);
+
+		Map<String, From<?, ?>> joins = new HashMap<>();
+		List<Selection<?>> selections = selection.getFields().stream()
+				.<Selection<?>>map(field -> pathOf(root, joins, field).alias(field.name()))
+				.toList();
+		query.multiselect(selections);
+
+		Predicate predicate = spec == null ? null : spec.toPredicate(root, query, criteriaBuilder);
+		if (predicate != null) {
+			query.where(predicate);
+		}
+		if (sort != null && sort.isSorted()) {
+			query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+		}
+
+		return entityManager.createQuery(query).setHint(HibernateHints.HINT_READ_ONLY, true);
+	}
+
+	private <E> long count(Class<E> entityType, Specification<E> spec) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+		Root<E> root = query.from(entityType);
+		query.select(criteriaBuilder.count(root));
+
+		Predicate predicate = spec == null ? null : spec.toPredicate(root, query, criteriaBuilder);
+		if (predicate != null) {
+			query.where(predicate);
+		}
+		return entityManager.createQuery(query).getSingleResult();
+	}
+
+	/**
+	 * Resolves a dotted attribute path, left joining each association on the way
+	 * once per query.
+	 */
+	private static Path<?> pathOf(Root<?> root, Map<String, From<?, ?>> joins, Field<?> field) {
+		String[] segments = field.path().split("\\.");
+		From<?, ?> from = root;
+		StringBuilder joinPath = new StringBuilder();
+		for (int i = 0; i < segments.length - 1; i++) {
+			joinPath.append(segments[i]).append('.');
+			From<?, ?> parent = from;
+			String attribute = segments[i];
+			from = joins.computeIfAbsent(joinPath.toString(), key -> parent.join(attribute, JoinType.LEFT));
+		}
+		return from.get(segments[segments.length - 1]);
+	}
+}
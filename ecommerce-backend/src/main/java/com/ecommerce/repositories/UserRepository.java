@@ -1,14 +1,32 @@
 package com.ecommerce.repositories;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.ecommerce.dto.UserSummary;
 import com.ecommerce.entities.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
 	Optional<User> findByEmail(String email);
+
+	@Query("SELECT new com.ecommerce.dto.UserSummary(u.id, u.email, u.name, u.phoneNumber, u.role) FROM User u")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	Stream<UserSummary> streamAllSummaries();
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE User u SET u.password = :password WHERE u.id = :userId")
+	int updatePassword(Long userId, String password);
 }
@@ -1,6 +1,10 @@
 package com.ecommerce.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Collection;
+import java.util.HexFormat;
 import java.util.List;
 
 import org.springframework.security.core.GrantedAuthority;
@@ -8,15 +12,70 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.ecommerce.entities.User;
+import com.ecommerce.enums.UserRole;
 
 import lombok.Builder;
 import lombok.Data;
 
+/**
+ * Slim, immutable-by-convention snapshot of the authenticated user. It holds
+ * only what authentication and authorization need, so it can be cached and
+ * shared between requests without dragging a managed entity along.
+ */
 @Data
 @Builder
 public class AuthUser implements UserDetails {
 
-	private User user;
+	private Long id;
+	private String email;
+	private UserRole role;
+	private String passwordVersion; // fingerprint of the password hash, tells principals apart across a change
+
+	/**
+	 * Creates a principal snapshot from a user entity.
+	 *
+	 * @param user The user entity.
+	 * @return The principal.
+	 */
+	public static AuthUser from(User user) {
+		return AuthUser.builder()
+				.id(user.getId())
+				.email(user.getEmail())
+				.role(user.getRole())
+				.passwordVersion(passwordVersion(user.getPassword()))
+				.build();
+	}
+
+	/**
+	 * Returns a short fingerprint of a password hash, the first 8 bytes of its
+	 * SHA-256 in hex, so the cached principal changes with the password without
+	 * holding the hash itself.
+	 *
+	 * @param passwordHash The stored password hash.
+	 * @return The fingerprint, or null when there is no hash.
+	 */
+	static String passwordVersion(String passwordHash) {
+		if (passwordHash == null) {
+			return null;
+		}
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(passwordHash.getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest, 0, 8);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	/**
+	 * The principal carries no credential: logins check the password against the
+	 * user row in UserServiceImpl, never against this cached snapshot.
+	 *
+	 * @return Always null.
+	 */
+	@Override
+	public String getPassword() {
+		return null;
+	}
 
 	/**
 	 * Returns the authorities granted to the user for authentication and
@@ -32,17 +91,12 @@ public class AuthUser implements UserDetails {
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities() {
 
-		return List.of(new SimpleGrantedAuthority(user.getRole().name()));
-	}
-
-	@Override
-	public String getPassword() {
-		return user.getPassword();
+		return List.of(new SimpleGrantedAuthority(role.name()));
 	}
 
 	@Override
 	public String getUsername() {
-		return user.getEmail();
+		return email;
 	}
 
 	@Override
@@ -6,7 +6,6 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import com.ecommerce.entities.User;
-import com.ecommerce.exceptions.NotFoundException;
 import com.ecommerce.repositories.UserRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -16,12 +15,18 @@ import lombok.RequiredArgsConstructor;
 public class CustomUserDetailsService implements UserDetailsService {
 
 	private final UserRepository userRepository;
+	private final PrincipalCache principalCache;
 
 	/**
 	 * Loads user details based on the provided username (email) for authentication.
 	 * 
-	 * This method queries the database for a user with the given email and maps the
-	 * user entity to a Spring Security compatible `UserDetails` object.
+	 * The user is read from the principal cache and only queried from the database
+	 * on a miss, then mapped to a slim Spring Security compatible `UserDetails`
+	 * snapshot.
+	 *
+	 * A missing user is reported as a UsernameNotFoundException, as the
+	 * UserDetailsService contract requires, so the JWT filter can leave the
+	 * request unauthenticated instead of failing it.
 	 * 
 	 * @param username The email of the user trying to authenticate.
 	 * @return A `UserDetails` object for authentication.
@@ -30,10 +35,12 @@ public class CustomUserDetailsService implements UserDetailsService {
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
-		User user = userRepository.findByEmail(username)
-				.orElseThrow(() -> new NotFoundException("User not found with Email: " + username));
+		return principalCache.get(username, email -> {
+			User user = userRepository.findByEmail(email)
+					.orElseThrow(() -> new UsernameNotFoundException("User not found with Email: " + email));
 
-		return AuthUser.builder().user(user).build();
+			return AuthUser.from(user);
+		});
 	}
 
 }
@@ -2,14 +2,23 @@ package com.ecommerce.security;
 
 import java.io.IOException;
 
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,13 +31,28 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+	// Request attribute holding the caller's VerifiedToken, e.g. for logout
+	public static final String VERIFIED_TOKEN_ATTRIBUTE = "com.ecommerce.security.JwtAuthFilter.verifiedToken";
+
+	// Catalog reads open to everyone; the caller is only resolved if something asks for it
+	static final RequestMatcher PUBLIC_READ_ROUTES = new OrRequestMatcher(
+			new AntPathRequestMatcher("/product/**", HttpMethod.GET.name()),
+			new AntPathRequestMatcher("/category/**", HttpMethod.GET.name()),
+			new AntPathRequestMatcher("/review/product/**", HttpMethod.GET.name()));
+
 	private final CustomUserDetailsService customUserDetailsService;
 	private final JwtUtils jwtUtils;
+	private final TokenRevocationService tokenRevocationService;
 
 	/**
 	 * Filters incoming requests to validate the JWT token in the Authorization
-	 * header. If the token is valid, the user is authenticated and their details
-	 * are added to the Spring Security context.
+	 * header. If the token is valid and not revoked, the user is authenticated and
+	 * their details are added to the Spring Security context.
+	 *
+	 * On public read routes the security context is deferred instead: the token
+	 * is only verified and the user only loaded when a controller, a
+	 * {@code @PreAuthorize} check or another filter first reads the context, so
+	 * anonymous-capable reads carry no authentication cost.
 	 *
 	 * @param request     The HTTP request object.
 	 * @param response    The HTTP response object.
@@ -44,30 +68,68 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 		String token = getTokenFromRequest(request);
 
 		if (token != null) {
-
-			// Extract the username from the token
-			String username = jwtUtils.getUsernameFromToken(token);
-
-			// Load user details using the username
-			UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
-
-			// Validate the token and authenticate the user
-			if (StringUtils.hasText(username) && jwtUtils.isTokenValid(token, userDetails)) {
-				log.info("VALID JWT FOR {}", username);
-
-				// Create an authentication token and set it in the security context
-				UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-						userDetails, null, userDetails.getAuthorities());
-				authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-				SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+			SecurityContextHolderStrategy strategy = SecurityContextHolder.getContextHolderStrategy();
+
+			if (PUBLIC_READ_ROUTES.matches(request)) {
+				// Resolved at most once, on first access
+				strategy.setDeferredContext(SingletonSupplier.of(() -> {
+					SecurityContext securityContext = strategy.createEmptyContext();
+					securityContext.setAuthentication(authenticate(token, request));
+					return securityContext;
+				}));
+			} else {
+				UsernamePasswordAuthenticationToken authenticationToken = authenticate(token, request);
+				if (authenticationToken != null) {
+					strategy.getContext().setAuthentication(authenticationToken);
+				}
 			}
-
 		}
 		// Continue with the filter chain
 		filterChain.doFilter(request, response);
 	}
 
+	/**
+	 * Verifies a token and loads its user.
+	 *
+	 * @param token   The JWT token.
+	 * @param request The HTTP request object.
+	 * @return The authentication for the token's user, or null if the token is
+	 *         invalid, revoked or its user no longer exists.
+	 */
+	private UsernamePasswordAuthenticationToken authenticate(String token, HttpServletRequest request) {
+
+		// Verify the token once; expired or tampered tokens leave the request unauthenticated
+		VerifiedToken verified;
+		try {
+			verified = jwtUtils.verifyToken(token);
+		} catch (JwtException e) {
+			log.debug("Rejected JWT: {}", e.getMessage());
+			return null;
+		}
+
+		// Revoked tokens are treated like invalid ones
+		if (!StringUtils.hasText(verified.subject()) || tokenRevocationService.isRevoked(verified)) {
+			log.debug("Rejected revoked JWT of {}", verified.subject());
+			return null;
+		}
+
+		// Load user details using the username
+		UserDetails userDetails;
+		try {
+			userDetails = customUserDetailsService.loadUserByUsername(verified.subject());
+		} catch (UsernameNotFoundException e) {
+			log.debug("Rejected JWT of unknown user {}", verified.subject());
+			return null;
+		}
+		request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, verified);
+
+		// Create an authentication token for the security context
+		UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+				userDetails, null, userDetails.getAuthorities());
+		authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+		return authenticationToken;
+	}
+
 	/**
 	 * Extracts the JWT token from the Authorization header of the HTTP request.
 	 *
@@ -1,19 +1,24 @@
 package com.ecommerce.security;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.UUID;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.ecommerce.entities.User;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
@@ -28,14 +33,23 @@ import lombok.extern.slf4j.Slf4j;
 public class JwtUtils {
 
 	// Token expiration time set to 6 months
-	private static final long EXPIRATION_TIME_IN_MILLISEC = 1000L * 60L * 60L * 24L * 30L * 6L; // expires 6 months
+	static final long EXPIRATION_TIME_IN_MILLISEC = 1000L * 60L * 60L * 24L * 30L * 6L; // expires 6 months
 
 	// Secret key used for signing the JWT
 	private SecretKey key;
 
+	// Parser bound to the key, built once and shared by all requests
+	private JwtParser jwtParser;
+
+	// Already verified tokens by hash, least recently used evicted beyond verifiedCacheSize
+	private LruCache<TokenHash, VerifiedToken> verifiedTokens;
+
 	@Value("${secreteJwtString}")
 	private String secreteJwtString; // Secret string (must be at least 32 characters)
 
+	@Value("${jwt.verified-cache.max-size:10000}")
+	private int verifiedCacheSize; // Maximum number of verified tokens kept
+
 	/**
 	 * Initializes the secret key for signing JWT tokens using the configured secret
 	 * string.
@@ -44,6 +58,8 @@ public class JwtUtils {
 	private void init() {
 		byte[] keyBytes = secreteJwtString.getBytes(StandardCharsets.UTF_8);
 		this.key = new SecretKeySpec(keyBytes, "HmacSHA256");
+		this.jwtParser = Jwts.parser().verifyWith(key).build(); // immutable and thread-safe
+		this.verifiedTokens = new LruCache<>(verifiedCacheSize);
 	}
 
 	/**
@@ -61,10 +77,11 @@ public class JwtUtils {
 	 * Generates a JWT token for a given username.
 	 *
 	 * @param username The username to include in the token's subject.
-	 * @return A signed JWT token.
+	 * @return A signed JWT token with a unique ID (jti) so it can be revoked.
 	 */
 	public String generateToken(String username) {
 		return Jwts.builder()
+				.id(UUID.randomUUID().toString())
 				.subject(username)
 				.issuedAt(new Date(System.currentTimeMillis()))
 				.expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME_IN_MILLISEC))
@@ -73,54 +90,74 @@ public class JwtUtils {
 	}
 
 	/**
-	 * Extracts the username (subject) from a JWT token.
+	 * Extracts the username (subject) from a verified JWT token.
 	 *
 	 * @param token The JWT token.
 	 * @return The username extracted from the token.
+	 * @throws JwtException If the token is malformed, tampered with or expired.
 	 */
 	public String getUsernameFromToken(String token) {
-		return extractClaims(token, Claims::getSubject);
+		return verifyToken(token).subject();
 	}
 
 	/**
-	 * Extracts specific claims from a JWT token using a claims resolver function.
+	 * Verifies a JWT token once and returns its claims. Tokens that were already
+	 * verified are answered from a bounded cache keyed by the token's SHA-256
+	 * hash, so repeat requests skip the signature check and JSON parsing; a cached
+	 * entry is only used until the token's own expiration. When the cache is full
+	 * the least recently used token makes room.
 	 *
-	 * @param token           The JWT token.
-	 * @param claimsTFunction The function to extract specific claims.
-	 * @param <T>             The type of the extracted claim.
-	 * @return The extracted claim.
+	 * @param token The JWT token.
+	 * @return The verified token's subject, ID, issue and expiration times.
+	 * @throws JwtException If the token is malformed, tampered with or expired.
 	 */
-	private <T> T extractClaims(String token, Function<Claims, T> claimsTFunction) {
-		return claimsTFunction.apply(
-				Jwts.parser()
-				.verifyWith(key)
-				.build()
-				.parseSignedClaims(token)
-				.getPayload()
-		);
+	public VerifiedToken verifyToken(String token) {
+		TokenHash tokenHash = TokenHash.of(token);
+		long now = System.currentTimeMillis();
+
+		VerifiedToken cached = verifiedTokens.get(tokenHash);
+		if (cached != null) {
+			if (cached.expiresAt() > now) {
+				return cached;
+			}
+			verifiedTokens.remove(tokenHash, cached);
+		}
+
+		Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+		VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.getId(),
+				claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L, claims.getExpiration().getTime());
+
+		verifiedTokens.put(tokenHash, verified);
+		return verified;
 	}
 
 	/**
-	 * Validates a JWT token against the user details.
-	 *
-	 * @param token       The JWT token.
-	 * @param userDetails The user details to validate the token against.
-	 * @return True if the token is valid and matches the user details, false
-	 *         otherwise.
+	 * Drops expired entries from the verified token cache.
 	 */
-	public boolean isTokenValid(String token, UserDetails userDetails) {
-		final String username = getUsernameFromToken(token);
-		return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+	@Scheduled(fixedDelayString = "${jwt.verified-cache.purge-interval-ms:60000}")
+	public void evictExpiredTokens() {
+		long now = System.currentTimeMillis();
+		verifiedTokens.removeValuesIf(verified -> verified.expiresAt() <= now);
 	}
 
 	/**
-	 * Checks if a JWT token has expired.
-	 *
-	 * @param token The JWT token.
-	 * @return True if the token has expired, false otherwise.
+	 * Cache key: the first 128 bits of the token's SHA-256 hash, so raw tokens
+	 * are never held in memory beyond the request.
 	 */
-	private boolean isTokenExpired(String token) {
-		return extractClaims(token, Claims::getExpiration).before(new Date());
+	private record TokenHash(long high, long low) {
+
+		private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+			try {
+				return MessageDigest.getInstance("SHA-256");
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+
+		private static TokenHash of(String token) {
+			byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+			ByteBuffer buffer = ByteBuffer.wrap(digest);
+			return new TokenHash(buffer.getLong(), buffer.getLong());
+		}
 	}
-
 }
@@ -0,0 +1,105 @@
+package com.ecommerce.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded map that evicts its least recently used entry when full. It is
+ * split into independently locked segments, each an access-ordered
+ * LinkedHashMap, so concurrent requests rarely wait on each other and every
+ * operation is O(1).
+ */
+final class LruCache<K, V> {
+
+	// Caches smaller than this are kept in a single segment, so the bound is exact
+	private static final int MIN_SIZE_PER_SEGMENT = 64;
+	private static final int MAX_SEGMENTS = 16;
+
+	private final Segment<K, V>[] segments;
+
+	@SuppressWarnings("unchecked")
+	LruCache(int maxSize) {
+		int segmentCount = 1;
+		while (segmentCount < MAX_SEGMENTS && (long) maxSize / (segmentCount * 2) >= MIN_SIZE_PER_SEGMENT) {
+			segmentCount *= 2;
+		}
+
+		segments = new Segment[segmentCount];
+		int capacity = Math.max(1, maxSize / segmentCount);
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = new Segment<>(capacity);
+		}
+	}
+
+	V get(K key) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			return segment.get(key);
+		}
+	}
+
+	void put(K key, V value) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			segment.put(key, value);
+		}
+	}
+
+	void remove(K key) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			segment.remove(key);
+		}
+	}
+
+	void remove(K key, V value) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			segment.remove(key, value);
+		}
+	}
+
+	/**
+	 * Removes every entry whose value matches, one segment at a time.
+	 */
+	void removeValuesIf(Predicate<? super V> filter) {
+		for (Segment<K, V> segment : segments) {
+			synchronized (segment) {
+				segment.values().removeIf(filter);
+			}
+		}
+	}
+
+	int size() {
+		int size = 0;
+		for (Segment<K, V> segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	private Segment<K, V> segmentFor(K key) {
+		int hash = key.hashCode();
+		return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+	}
+
+	private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int capacity;
+
+		Segment(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+			return size() > capacity;
+		}
+	}
+}
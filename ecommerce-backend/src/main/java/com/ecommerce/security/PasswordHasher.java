@@ -0,0 +1,115 @@
+package com.ecommerce.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.exceptions.ServiceBusyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Runs BCrypt hashing and verification on a small dedicated pool so a login
+ * storm cannot occupy the Tomcat workers that serve the rest of the API. The
+ * pool has a bounded queue; when it is full, work is rejected immediately with
+ * a ServiceBusyException (503) instead of piling up.
+ *
+ * Publishes auth.password.hash (latency per operation), auth.password.queue
+ * (queued tasks) and auth.password.rejected (rejections).
+ */
+@Component
+@RequiredArgsConstructor
+public class PasswordHasher {
+
+	private final PasswordEncoder passwordEncoder;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${security.password.threads:2}")
+	private int threads; // Threads doing BCrypt work, each keeps one core busy
+
+	@Value("${security.password.queue-capacity:200}")
+	private int queueCapacity; // Hash operations allowed to wait before new ones are rejected
+
+	private ThreadPoolExecutor executor;
+	private Timer matchesTimer;
+	private Timer encodeTimer;
+	private Counter rejectedCounter;
+
+	@PostConstruct
+	private void init() {
+		AtomicInteger threadCount = new AtomicInteger();
+		executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+
+		matchesTimer = Timer.builder("auth.password.hash").tag("operation", "matches").register(meterRegistry);
+		encodeTimer = Timer.builder("auth.password.hash").tag("operation", "encode").register(meterRegistry);
+		rejectedCounter = Counter.builder("auth.password.rejected").register(meterRegistry);
+		Gauge.builder("auth.password.queue", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+	}
+
+	@PreDestroy
+	private void shutdown() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Verifies a raw password against a stored hash on the hashing pool.
+	 *
+	 * @param rawPassword     The password supplied by the user.
+	 * @param encodedPassword The stored hash.
+	 * @return A future completing with whether the password matches.
+	 * @throws ServiceBusyException If the hashing pool is saturated.
+	 */
+	public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+		return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+	}
+
+	/**
+	 * Hashes a raw password on the hashing pool with the configured cost.
+	 *
+	 * @param rawPassword The password to hash.
+	 * @return A future completing with the hash.
+	 * @throws ServiceBusyException If the hashing pool is saturated.
+	 */
+	public CompletableFuture<String> encode(String rawPassword) {
+		return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+	}
+
+	/**
+	 * Tells whether a stored hash was made with a lower cost than the configured
+	 * one and should be replaced after the next successful login.
+	 *
+	 * @param encodedPassword The stored hash.
+	 * @return True if the hash should be upgraded.
+	 */
+	public boolean needsRehash(String encodedPassword) {
+		return passwordEncoder.upgradeEncoding(encodedPassword);
+	}
+
+	private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> work) {
+		try {
+			return CompletableFuture.supplyAsync(() -> timer.record(work), executor);
+		} catch (RejectedExecutionException e) {
+			rejectedCounter.increment();
+			throw new ServiceBusyException("Too many login attempts in progress, please retry shortly");
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.ecommerce.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Bounded cache of authenticated principals by email, so resolving the caller
+ * of a request does not query the users table every time. Entries live for a
+ * short TTL and are dropped explicitly whenever the user's credentials or role
+ * change. Once the cache is full, the least recently used principal makes
+ * room for a new one.
+ */
+@Component
+public class PrincipalCache {
+
+	@Value("${security.principal-cache.max-size:10000}")
+	private int maxSize; // Maximum number of cached principals
+
+	@Value("${security.principal-cache.ttl-seconds:300}")
+	private long ttlSeconds; // How long a principal is trusted before it is reloaded
+
+	private LruCache<String, CachedPrincipal> principals;
+
+	@PostConstruct
+	private void init() {
+		principals = new LruCache<>(maxSize);
+	}
+
+	/**
+	 * Returns the cached principal for an email, loading and caching it on a miss
+	 * or after its TTL.
+	 *
+	 * @param email  The user's email.
+	 * @param loader Loads the principal when it is not cached.
+	 * @return The principal.
+	 */
+	public AuthUser get(String email, Function<String, AuthUser> loader) {
+		long now = System.nanoTime();
+
+		CachedPrincipal cached = principals.get(email);
+		if (cached != null && cached.expiresAt - now > 0) {
+			return cached.principal;
+		}
+
+		AuthUser principal = loader.apply(email);
+		principals.put(email, new CachedPrincipal(principal, now + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+		return principal;
+	}
+
+	/**
+	 * Drops the cached principal of a user, e.g. after their password or role
+	 * changed.
+	 *
+	 * @param email The user's email.
+	 */
+	public void invalidate(String email) {
+		if (email != null) {
+			principals.remove(email);
+		}
+	}
+
+	/**
+	 * Drops the cached principal of a user by ID, whatever email it was cached
+	 * under, e.g. after the user's row was updated or deleted. This scans the
+	 * cache, which is fine for the rare account changes it serves.
+	 *
+	 * @param userId The user's ID.
+	 */
+	public void invalidateUser(Long userId) {
+		if (userId != null) {
+			principals.removeValuesIf(cached -> userId.equals(cached.principal.getId()));
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${security.principal-cache.purge-interval-ms:60000}")
+	public void evictExpired() {
+		long now = System.nanoTime();
+		principals.removeValuesIf(cached -> cached.expiresAt - now <= 0);
+	}
+
+	private record CachedPrincipal(AuthUser principal, long expiresAt) {
+	}
+}
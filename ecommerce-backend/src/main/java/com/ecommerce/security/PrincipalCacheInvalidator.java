@@ -0,0 +1,41 @@
+package com.ecommerce.security;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ecommerce.entities.User;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Entity listener dropping a user's cached principal whenever their row is
+ * updated or deleted, so a role, email or password change made anywhere takes
+ * effect on the next request rather than after the cache TTL. The entry is
+ * dropped again once the transaction commits, in case a concurrent request
+ * cached the old row in between.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalCacheInvalidator {
+
+	private final PrincipalCache principalCache;
+
+	@PostUpdate
+	@PostRemove
+	public void userChanged(User user) {
+		Long userId = user.getId();
+		principalCache.invalidateUser(userId);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					principalCache.invalidateUser(userId);
+				}
+			});
+		}
+	}
+}
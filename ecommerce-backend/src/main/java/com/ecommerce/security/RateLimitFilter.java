@@ -0,0 +1,201 @@
+package com.ecommerce.security;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.ecommerce.dto.Response;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-client rate limiting. Each client (user ID when authenticated, remote IP
+ * otherwise) gets a token bucket per route rule, implemented with the generic
+ * cell rate algorithm: a bucket is a single AtomicLong holding the theoretical
+ * arrival time, updated with one CAS, so the check takes no locks and
+ * allocates only the map key.
+ *
+ * Rules are configured centrally in rate-limit.rules as a comma-separated list
+ * of path=requestsPerMinute:burst entries. A path ending in /** matches the
+ * prefix and the first matching rule wins. Buckets that have refilled
+ * completely carry no state and are swept periodically. The map is bounded by
+ * rate-limit.max-clients; past that, new clients share one overflow bucket per
+ * rule until a sweep frees room, so a flood of new addresses is throttled as a
+ * whole instead of getting through unlimited.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+	private final ObjectMapper objectMapper;
+
+	private final Map<BucketKey, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+	@Value("${rate-limit.enabled:true}")
+	private boolean enabled; // Switch to turn rate limiting off entirely
+
+	@Value("${rate-limit.rules:/auth/login=10:5,/auth/register=10:5,/product/searchProduct=60:20,/**=600:100}")
+	private List<String> ruleSpecs; // Route limits as path=requestsPerMinute:burst
+
+	@Value("${rate-limit.max-clients:100000}")
+	private int maxClients; // Upper bound on tracked client buckets
+
+	private Rule[] rules;
+
+	@PostConstruct
+	private void init() {
+		List<Rule> parsed = new ArrayList<>();
+		for (String spec : ruleSpecs) {
+			String[] pathAndLimit = spec.trim().split("=");
+			String[] limitAndBurst = pathAndLimit[1].split(":");
+			parsed.add(new Rule(pathAndLimit[0].trim(), Integer.parseInt(limitAndBurst[0].trim()),
+					Integer.parseInt(limitAndBurst[1].trim())));
+		}
+		rules = parsed.toArray(new Rule[0]);
+		log.info("Rate limit rules: {}", ruleSpecs);
+	}
+
+	/**
+	 * Admits the request if the client's bucket for the matching rule has a
+	 * token, otherwise answers 429 with a Retry-After header.
+	 *
+	 * @param request     The HTTP request object.
+	 * @param response    The HTTP response object.
+	 * @param filterChain The filter chain to continue processing the request.
+	 * @throws ServletException In case of servlet-related errors.
+	 * @throws IOException      In case of I/O errors during request processing.
+	 */
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+
+		Rule rule = enabled ? matchRule(request.getRequestURI()) : null;
+		if (rule != null) {
+			long waitNanos = acquire(new BucketKey(rule, clientOf(request)), rule);
+			if (waitNanos > 0) {
+				reject(response, waitNanos);
+				return;
+			}
+		}
+
+		filterChain.doFilter(request, response);
+	}
+
+	/**
+	 * Takes a token from a bucket.
+	 *
+	 * @return 0 if the request is admitted, otherwise the nanoseconds until it
+	 *         would be.
+	 */
+	private long acquire(BucketKey key, Rule rule) {
+		long now = System.nanoTime();
+
+		AtomicLong bucket = buckets.get(key);
+		if (bucket == null) {
+			bucket = buckets.size() >= maxClients ? rule.overflowBucket
+					: buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+		}
+
+		while (true) {
+			long arrival = bucket.get();
+			long next = Math.max(arrival, now) + rule.emissionNanos;
+			long excess = next - now - rule.toleranceNanos;
+			if (excess > 0) {
+				return excess;
+			}
+			if (bucket.compareAndSet(arrival, next)) {
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * Drops buckets that have refilled completely; they are indistinguishable
+	 * from a new bucket.
+	 */
+	@Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:10000}")
+	public void evictIdleBuckets() {
+		long now = System.nanoTime();
+		buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+	}
+
+	private Rule matchRule(String path) {
+		for (Rule rule : rules) {
+			if (rule.prefix ? path.startsWith(rule.path) : path.equals(rule.path)) {
+				return rule;
+			}
+		}
+		return null;
+	}
+
+	private static Object clientOf(HttpServletRequest request) {
+		// Reading the context would resolve the deferred principal of a public read
+		if (JwtAuthFilter.PUBLIC_READ_ROUTES.matches(request)) {
+			return request.getRemoteAddr();
+		}
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.getPrincipal() instanceof AuthUser authUser) {
+			return authUser.getId();
+		}
+		return request.getRemoteAddr();
+	}
+
+	private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+		long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+
+		response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		objectMapper.writeValue(response.getOutputStream(), Response.builder()
+				.status(HttpStatus.TOO_MANY_REQUESTS.value())
+				.message("Too many requests, retry in " + retryAfterSeconds + " seconds")
+				.build());
+	}
+
+	/**
+	 * A route limit: requestsPerMinute sustained, with bursts of up to burst
+	 * requests.
+	 */
+	private static final class Rule {
+
+		private final String path;
+		private final boolean prefix;
+		private final long emissionNanos;
+		private final long toleranceNanos;
+
+		// Shared by the clients that arrive while the bucket map is full
+		private final AtomicLong overflowBucket = new AtomicLong(System.nanoTime());
+
+		private Rule(String pattern, int requestsPerMinute, int burst) {
+			this.prefix = pattern.endsWith("/**");
+			this.path = prefix ? pattern.substring(0, pattern.length() - 2) : pattern;
+			this.emissionNanos = TimeUnit.MINUTES.toNanos(1) / requestsPerMinute;
+			this.toleranceNanos = emissionNanos * Math.max(burst, 1);
+		}
+	}
+
+	private record BucketKey(Rule rule, Object client) {
+	}
+}
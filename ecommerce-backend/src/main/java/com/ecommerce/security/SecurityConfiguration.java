@@ -1,7 +1,9 @@
 package com.ecommerce.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -26,6 +28,9 @@ public class SecurityConfiguration {
 	// Custom filter for processing JWT authentication
 	private final JwtAuthFilter jwtAuthFilter;
 
+	// Per-client token bucket rate limiting
+	private final RateLimitFilter rateLimitFilter;
+
 	/**
 	 * Configures the security filter chain for HTTP requests.
 	 * 
@@ -43,24 +48,30 @@ public class SecurityConfiguration {
 			// Configure request authorization rules
 			.authorizeHttpRequests(
 					request -> request.requestMatchers("/auth/**", "/category/**", "/product/**", "/order/**")
+							.permitAll()
+							.requestMatchers(HttpMethod.GET, "/review/product/**", "/images/**")
 							.permitAll()
 							.anyRequest()
 							.authenticated())
 			// Set session management to stateless for JWT-based authentication
 			.sessionManagement(manager -> manager.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 			// Add the custom JWT filter before the default authentication filter
-			.addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+			.addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+			// Rate limit after authentication so signed-in clients are limited by user id
+			.addFilterAfter(rateLimitFilter, JwtAuthFilter.class);
 		return httpSecurity.build();
 	}
 
 	/**
 	 * Provides a password encoder for securely hashing passwords using BCrypt.
+	 * Hashes made with a lower cost are upgraded on the user's next login.
 	 * 
+	 * @param strength The BCrypt cost factor (log rounds).
 	 * @return A PasswordEncoder instance.
 	 */
 	@Bean
-	PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength) {
+		return new BCryptPasswordEncoder(strength);
 	}
 
 	/**
@@ -0,0 +1,227 @@
+package com.ecommerce.security;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ecommerce.entities.RevokedToken;
+import com.ecommerce.repositories.RevokedTokenRepository;
+import com.ecommerce.utils.BloomFilter;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Revocation of issued JWTs. Revoked token IDs are stored in the
+ * revoked_tokens table and mirrored into an in-memory Bloom filter, so the
+ * common case of a token that was never revoked is answered with one memory
+ * probe; only a filter hit is confirmed against the database. User-wide
+ * revocations (log out everywhere) are few and kept exactly, as a cutoff per
+ * user.
+ *
+ * The filter is rebuilt periodically from the table, which also drops expired
+ * revocations and resizes it, and new rows written by other nodes are picked
+ * up by a short sync poll in between.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+	private final RevokedTokenRepository revokedTokenRepo;
+	private final ApplicationEventPublisher eventPublisher;
+
+	@Value("${jwt.revocation.expected-entries:100000}")
+	private long expectedEntries; // Minimum number of revoked tokens the filter is sized for
+
+	@Value("${jwt.revocation.false-positive-rate:0.001}")
+	private double falsePositiveRate; // Share of valid tokens that need a database check
+
+	@Value("${jwt.revocation.sync-batch-size:1000}")
+	private int syncBatchSize; // Rows read per query when syncing new revocations
+
+	private volatile RevocationSnapshot snapshot;
+
+	// Highest revocation row applied to the current snapshot, guarded by this
+	private long lastSeenId;
+
+	@PostConstruct
+	private void init() {
+		rebuild();
+	}
+
+	/**
+	 * Checks whether a verified token has been revoked.
+	 *
+	 * @param token The verified token.
+	 * @return true if the token, or all of its user's tokens, were revoked.
+	 */
+	public boolean isRevoked(VerifiedToken token) {
+		RevocationSnapshot current = snapshot;
+
+		Long cutoff = current.userCutoffs.get(token.subject());
+		if (cutoff != null && token.issuedAt() < cutoff) {
+			return true;
+		}
+
+		String tokenId = token.tokenId();
+		if (tokenId == null || !current.tokenIds.mightContain(tokenId)) {
+			return false;
+		}
+		return revokedTokenRepo.existsByTokenId(tokenId);
+	}
+
+	/**
+	 * Revokes a single token. Tokens issued before token IDs existed cannot be
+	 * told apart, so revoking one of them revokes all of its user's tokens.
+	 *
+	 * @param token The verified token to revoke.
+	 */
+	@Transactional
+	public void revokeToken(VerifiedToken token) {
+		if (token.tokenId() == null) {
+			revokeAllTokens(token.subject());
+			return;
+		}
+		if (revokedTokenRepo.existsByTokenId(token.tokenId())) {
+			return;
+		}
+
+		RevokedToken revokedToken = new RevokedToken();
+		revokedToken.setTokenId(token.tokenId());
+		revokedToken.setSubject(token.subject());
+		revokedToken.setExpiresAt(toLocalDateTime(token.expiresAt()));
+		try {
+			revokedTokenRepo.saveAndFlush(revokedToken);
+		} catch (DataIntegrityViolationException e) {
+			return; // revoked concurrently
+		}
+
+		eventPublisher.publishEvent(new TokenRevokedEvent(token.tokenId(), token.subject(), 0L));
+		log.info("Revoked token {} of {}", token.tokenId(), token.subject());
+	}
+
+	/**
+	 * Revokes every token issued to a user so far, e.g. on log out everywhere or
+	 * a password change. JWT issue times have second precision, so the cutoff is
+	 * the start of the current second.
+	 *
+	 * @param subject The username (email) whose tokens are revoked.
+	 */
+	@Transactional
+	public void revokeAllTokens(String subject) {
+		long now = System.currentTimeMillis();
+		long revokedBefore = now - now % 1000;
+
+		RevokedToken revokedToken = new RevokedToken();
+		revokedToken.setSubject(subject);
+		revokedToken.setRevokedBefore(toLocalDateTime(revokedBefore));
+		revokedToken.setExpiresAt(toLocalDateTime(now + JwtUtils.EXPIRATION_TIME_IN_MILLISEC));
+		revokedTokenRepo.save(revokedToken);
+
+		eventPublisher.publishEvent(new TokenRevokedEvent(null, subject, revokedBefore));
+		log.info("Revoked all tokens of {}", subject);
+	}
+
+	/**
+	 * Local broadcast hook: applies a revocation to this node's filter once the
+	 * revoking transaction has committed. Synchronised with rebuild(), so a
+	 * revocation made while the filter is rebuilt is applied to the new filter
+	 * rather than to the one being replaced.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onTokenRevoked(TokenRevokedEvent event) {
+		snapshot.apply(event.tokenId(), event.subject(), event.revokedBefore());
+	}
+
+	/**
+	 * Applies revocations written since the last sync, including those made on
+	 * other nodes.
+	 */
+	@Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+	public synchronized void syncRevocations() {
+		RevocationSnapshot current = snapshot;
+		List<RevokedToken> batch;
+		do {
+			batch = revokedTokenRepo.findByIdGreaterThanOrderByIdAsc(lastSeenId, PageRequest.of(0, syncBatchSize));
+			for (RevokedToken revokedToken : batch) {
+				current.apply(revokedToken);
+				lastSeenId = revokedToken.getId();
+			}
+		} while (batch.size() == syncBatchSize);
+	}
+
+	/**
+	 * Rebuilds the filter from the unexpired revocations and deletes expired
+	 * ones. Also catches rows whose IDs were committed out of order and so were
+	 * skipped by the sync.
+	 */
+	@Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval-ms:900000}",
+			initialDelayString = "${jwt.revocation.rebuild-interval-ms:900000}")
+	public synchronized void rebuild() {
+		LocalDateTime now = LocalDateTime.now();
+		int deleted = revokedTokenRepo.deleteExpiredBefore(now);
+		List<RevokedToken> active = revokedTokenRepo.findByExpiresAtAfter(now);
+
+		RevocationSnapshot rebuilt = new RevocationSnapshot(
+				new BloomFilter(Math.max(expectedEntries, active.size() * 2L), falsePositiveRate));
+		long maxId = 0;
+		for (RevokedToken revokedToken : active) {
+			rebuilt.apply(revokedToken);
+			maxId = Math.max(maxId, revokedToken.getId());
+		}
+
+		snapshot = rebuilt;
+		lastSeenId = Math.max(lastSeenId, maxId);
+		log.debug("Rebuilt token revocation filter with {} entries, {} expired removed", active.size(), deleted);
+	}
+
+	private static LocalDateTime toLocalDateTime(long epochMillis) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+	}
+
+	private static long toEpochMillis(LocalDateTime dateTime) {
+		return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+	/**
+	 * The revocations known to this node: a Bloom filter of revoked token IDs and
+	 * the user-wide cutoffs. Both accept concurrent additions; the snapshot as a
+	 * whole is replaced on rebuild.
+	 */
+	private static final class RevocationSnapshot {
+
+		private final BloomFilter tokenIds;
+		private final Map<String, Long> userCutoffs = new ConcurrentHashMap<>();
+
+		private RevocationSnapshot(BloomFilter tokenIds) {
+			this.tokenIds = tokenIds;
+		}
+
+		private void apply(RevokedToken revokedToken) {
+			apply(revokedToken.getTokenId(), revokedToken.getSubject(),
+					revokedToken.getRevokedBefore() != null ? toEpochMillis(revokedToken.getRevokedBefore()) : 0L);
+		}
+
+		private void apply(String tokenId, String subject, long revokedBefore) {
+			if (tokenId != null) {
+				tokenIds.add(tokenId);
+			} else if (subject != null) {
+				userCutoffs.merge(subject, revokedBefore, Math::max);
+			}
+		}
+	}
+}
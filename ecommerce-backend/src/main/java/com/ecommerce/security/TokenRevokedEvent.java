@@ -0,0 +1,16 @@
+package com.ecommerce.security;
+
+/**
+ * Published after a token, or every token of a user, has been revoked. The
+ * revoking node applies it to its own revocation filter straight away; a
+ * listener bridging to a message broker can relay it to other nodes, which
+ * otherwise pick the revocation up on their next sync.
+ *
+ * @param tokenId       The revoked token's ID, or null when all of the
+ *                      subject's tokens were revoked.
+ * @param subject       The username (email) the token(s) belong to.
+ * @param revokedBefore For user-wide revocations, tokens issued before this
+ *                      epoch millisecond are revoked.
+ */
+public record TokenRevokedEvent(String tokenId, String subject, long revokedBefore) {
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.security;
+
+/**
+ * The parts of a verified JWT the application uses.
+ *
+ * @param subject   The username (email) the token was issued to.
+ * @param tokenId   The token's unique ID (jti claim); null for tokens issued
+ *                  before IDs were added.
+ * @param issuedAt  The issue time in epoch milliseconds.
+ * @param expiresAt The expiration time in epoch milliseconds.
+ */
+public record VerifiedToken(String subject, String tokenId, long issuedAt, long expiresAt) {
+}
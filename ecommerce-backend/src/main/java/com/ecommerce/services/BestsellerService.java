@@ -0,0 +1,12 @@
+package com.ecommerce.services;
+
+import com.ecommerce.dto.Response;
+import com.ecommerce.entities.Order;
+import com.ecommerce.enums.BestsellerWindow;
+
+public interface BestsellerService {
+
+	void recordOrder(Order order);
+
+	Response getBestsellers(BestsellerWindow window, Long categoryId, int limit);
+}
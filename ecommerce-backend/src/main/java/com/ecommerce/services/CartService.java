@@ -0,0 +1,16 @@
+package com.ecommerce.services;
+
+import com.ecommerce.dto.Response;
+
+public interface CartService {
+
+	Response getCart();
+
+	Response addItem(Long productId, int quantity);
+
+	Response updateItemQuantity(Long productId, int quantity);
+
+	Response removeItem(Long productId);
+
+	Response clearCart();
+}
@@ -9,7 +9,7 @@ public interface CategoryService {
 
 	Response updateCategory(Long categoryId, CategoryDto categoryRequest);
 
-	Response getAllCategories();
+	Response getAllCategories(String fields);
 
 	Response getCategoryById(Long categoryId);
 
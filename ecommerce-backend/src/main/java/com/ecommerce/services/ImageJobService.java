@@ -0,0 +1,15 @@
+package com.ecommerce.services;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ecommerce.dto.StoredImage;
+import com.ecommerce.entities.Product;
+
+public interface ImageJobService {
+
+	void enqueueUpload(Product product, MultipartFile image);
+
+	void enqueueVariants(Product product, StoredImage storedImage);
+
+	void recoverPendingJobs();
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Storage for uploaded objects such as product images. Keys are chosen by the
+ * caller and are expected to identify the content, so writing an existing key
+ * again stores the same bytes and needs no coordination. putAsync must not
+ * block the caller on the transfer, and the content file must stay in place
+ * until the returned future completes. putStream writes a stream of unknown
+ * length as it is read, holding at most a part's worth of it in memory, and
+ * rename moves an object written under a temporary key to its final key.
+ */
+public interface ObjectStore {
+
+	boolean exists(String key);
+
+	CompletableFuture<Void> putAsync(String key, Path content, String contentType);
+
+	void putStream(String key, InputStream content, String contentType) throws IOException;
+
+	void rename(String fromKey, String toKey) throws IOException;
+
+	void delete(String key) throws IOException;
+
+	InputStream open(String key) throws IOException;
+
+	String urlOf(String key);
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.services;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ecommerce.entities.Order;
+import com.ecommerce.entities.OrderItem;
+
+public interface OrderEventService {
+
+	void recordOrderPlaced(Order order);
+
+	void recordOrderItemStatusChanged(OrderItem orderItem);
+
+	SseEmitter subscribe(Long lastEventId);
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.services;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.ecommerce.dto.OrderItemDto;
+import com.ecommerce.enums.OrderStatus;
+import com.ecommerce.specification.SparseFieldset.FieldSelection;
+
+public interface OrderItemArchiveService {
+
+	int archiveOrderItems();
+
+	boolean reachesArchive(OrderStatus status, LocalDateTime startDate);
+
+	Page<OrderItemDto> filterAcrossTiers(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate,
+			Long itemId, Pageable pageable, FieldSelection<OrderItemDto> selection);
+
+	Page<OrderItemDto> orderHistoryAcrossTiers(Long userId, Pageable pageable);
+}
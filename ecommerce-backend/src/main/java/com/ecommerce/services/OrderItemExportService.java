@@ -0,0 +1,14 @@
+package com.ecommerce.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+import com.ecommerce.enums.ExportFormat;
+import com.ecommerce.enums.OrderStatus;
+
+public interface OrderItemExportService {
+
+	long exportOrderItems(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate, Long itemId,
+			ExportFormat format, OutputStream outputStream) throws IOException;
+}
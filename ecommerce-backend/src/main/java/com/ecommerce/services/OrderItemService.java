@@ -12,8 +12,10 @@ public interface OrderItemService {
 
 	Response placeOrder(OrderRequest orderRequest);
 
+	Response priceOrder(OrderRequest orderRequest);
+
 	Response updateOrderItemStatus(Long orderItemId, String status);
 
 	Response filterOrderItems(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate, Long itemId,
-			Pageable pageable);
+			Pageable pageable, String fields);
 }
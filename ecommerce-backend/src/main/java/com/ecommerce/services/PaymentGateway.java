@@ -0,0 +1,22 @@
+package com.ecommerce.services;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import com.ecommerce.dto.GatewayAuthorization;
+
+/**
+ * Client for an external payment provider. Implementations must honour the
+ * given timeout and throw PaymentGatewayException when it elapses or the
+ * provider cannot be reached; a declined payment is a normal result, not an
+ * exception. The reference is stable across retries so the provider can
+ * deduplicate repeated authorizations.
+ */
+public interface PaymentGateway {
+
+	GatewayAuthorization authorize(String reference, BigDecimal amount, String method, Duration timeout);
+
+	Set<String> capture(List<String> authorizationCodes, Duration timeout);
+}
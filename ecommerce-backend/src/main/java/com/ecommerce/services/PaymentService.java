@@ -0,0 +1,11 @@
+package com.ecommerce.services;
+
+import com.ecommerce.entities.Order;
+import com.ecommerce.entities.Payment;
+
+public interface PaymentService {
+
+	Payment createPayment(Order order, Payment paymentInfo);
+
+	void settleAuthorizedPayments();
+}
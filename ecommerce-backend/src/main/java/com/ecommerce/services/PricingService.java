@@ -0,0 +1,13 @@
+package com.ecommerce.services;
+
+import java.util.List;
+
+import com.ecommerce.dto.OrderItemRequest;
+import com.ecommerce.dto.PriceQuote;
+
+public interface PricingService {
+
+	PriceQuote priceCart(List<OrderItemRequest> items, String couponCode);
+
+	void reloadPromotions();
+}
@@ -1,15 +1,22 @@
 package com.ecommerce.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 
 import org.springframework.web.multipart.MultipartFile;
 
 import com.ecommerce.dto.Response;
+import com.ecommerce.enums.ResponseFormat;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 public interface ProductService {
 
 	Response createProduct(Long categoryId, MultipartFile image, String name, String description, BigDecimal price);
 
+	Response createProductStreaming(HttpServletRequest request);
+
 	Response updateProduct(Long productId, Long categoryId, MultipartFile image, String name, String description,
 			BigDecimal price);
 
@@ -17,9 +24,10 @@ public interface ProductService {
 
 	Response getProductById(Long productId);
 
-	Response getAllProducts();
+	long writeAllProducts(String sortBy, String fields, ResponseFormat format, OutputStream outputStream)
+			throws IOException;
 
-	Response getProductsByCategory(Long categoryId);
+	Response getProductsByCategory(Long categoryId, String fields);
 
-	Response searchProduct(String searchValue);
+	Response searchProduct(String searchValue, String fields);
 }
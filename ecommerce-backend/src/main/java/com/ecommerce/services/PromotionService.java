@@ -0,0 +1,13 @@
+package com.ecommerce.services;
+
+import com.ecommerce.dto.PromotionDto;
+import com.ecommerce.dto.Response;
+
+public interface PromotionService {
+
+	Response createPromotion(PromotionDto promotionDto);
+
+	Response getAllPromotions();
+
+	Response deletePromotion(Long promotionId);
+}
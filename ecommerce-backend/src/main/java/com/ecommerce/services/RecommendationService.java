@@ -0,0 +1,13 @@
+package com.ecommerce.services;
+
+import com.ecommerce.dto.Response;
+import com.ecommerce.entities.Order;
+
+public interface RecommendationService {
+
+	void recordOrder(Order order);
+
+	Response getRelatedProducts(Long productId, int limit);
+
+	void rebuild();
+}
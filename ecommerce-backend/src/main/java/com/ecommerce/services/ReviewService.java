@@ -0,0 +1,17 @@
+package com.ecommerce.services;
+
+import org.springframework.data.domain.Pageable;
+
+import com.ecommerce.dto.Response;
+import com.ecommerce.dto.ReviewDto;
+
+public interface ReviewService {
+
+	Response createReview(ReviewDto reviewDto);
+
+	Response updateReview(Long reviewId, ReviewDto reviewDto);
+
+	Response deleteReview(Long reviewId);
+
+	Response getReviewsForProduct(Long productId, Pageable pageable);
+}
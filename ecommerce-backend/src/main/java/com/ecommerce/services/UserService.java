@@ -1,19 +1,40 @@
 package com.ecommerce.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.data.domain.Pageable;
+
 import com.ecommerce.dto.LoginRequest;
 import com.ecommerce.dto.Response;
 import com.ecommerce.dto.UserDto;
 import com.ecommerce.entities.User;
+import com.ecommerce.enums.UserRole;
+import com.ecommerce.enums.ResponseFormat;
+import com.ecommerce.security.VerifiedToken;
 
 public interface UserService {
 
-	Response registerUser(UserDto registrationRequest);
+	CompletableFuture<Response> registerUser(UserDto registrationRequest);
+
+	CompletableFuture<Response> loginUser(LoginRequest loginRequest);
+
+	Response logoutUser(VerifiedToken token);
 
-	Response loginUser(LoginRequest loginRequest);
+	Response logoutUserEverywhere(VerifiedToken token);
 
-	Response getAllUsers();
+	long writeAllUsers(ResponseFormat format, OutputStream outputStream) throws IOException;
 
 	User getLoginUser();
 
-	Response getUserInfoAndOrderHistory();
+	User getLoginUserReference();
+
+	Long getLoginUserId();
+
+	UserRole getLoginUserRole();
+
+	Response getUserInfo();
+
+	Response getOrderHistory(Pageable pageable);
 }
@@ -0,0 +1,332 @@
+package com.ecommerce.services.impl;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.dto.BestsellerDto;
+import com.ecommerce.dto.ProductDto;
+import com.ecommerce.dto.Response;
+import com.ecommerce.entities.Order;
+import com.ecommerce.entities.OrderItem;
+import com.ecommerce.entities.Product;
+import com.ecommerce.enums.BestsellerWindow;
+import com.ecommerce.mappers.EntityDtoMapper;
+import com.ecommerce.repositories.OrderItemRepository;
+import com.ecommerce.repositories.ProductRepository;
+import com.ecommerce.services.BestsellerService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bestseller leaderboards over sliding windows, kept in memory. Units sold are
+ * counted into time buckets (one-minute buckets for the last hour, one-hour
+ * buckets for the last day and week); old buckets are overwritten as the
+ * windows slide, so counts decay without any cleanup pass. A scheduled refresh
+ * sums the live buckets, picks the top products overall and per category with
+ * a bounded min-heap, and publishes an immutable snapshot. Reads only slice
+ * that snapshot, so their cost depends on the list size, not on order volume.
+ *
+ * Counts are per instance and rebuilt from the last week of order items at
+ * startup.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BestsellerServiceImpl implements BestsellerService {
+
+	private static final long MINUTE_MILLIS = 60_000L;
+	private static final long HOUR_MILLIS = 3_600_000L;
+	private static final int HOURS_PER_WEEK = 168;
+
+	// Ascending by units sold, ties broken towards the lower product id
+	private static final Comparator<Map.Entry<Long, Long>> BY_UNITS = Map.Entry.<Long, Long>comparingByValue()
+			.thenComparing(Map.Entry.<Long, Long>comparingByKey().reversed());
+
+	private final ProductRepository productRepo;
+	private final OrderItemRepository orderItemRepo;
+	private final EntityDtoMapper entityDtoMapper;
+	private final TransactionTemplate transactionTemplate;
+
+	private final BucketRing minuteBuckets = new BucketRing(60, MINUTE_MILLIS);
+	private final BucketRing hourBuckets = new BucketRing(HOURS_PER_WEEK, HOUR_MILLIS);
+	private final Map<Long, Long> categoryByProduct = new ConcurrentHashMap<>();
+
+	private volatile Leaderboards leaderboards = Leaderboards.EMPTY;
+
+	@Value("${bestseller.top-size:20}")
+	private int topSize; // Products kept per leaderboard
+
+	/**
+	 * Counts the items of a newly placed order once its transaction commits.
+	 *
+	 * @param order The order that was placed.
+	 */
+	@Override
+	public void recordOrder(Order order) {
+		List<long[]> sales = new ArrayList<>(order.getOrderItemList().size());
+		for (OrderItem orderItem : order.getOrderItemList()) {
+			Product product = orderItem.getProduct();
+			long categoryId = product.getCategory() != null ? product.getCategory().getId() : -1;
+			sales.add(new long[] { product.getId(), categoryId, orderItem.getQuantity() });
+		}
+
+		Runnable record = () -> {
+			long now = System.currentTimeMillis();
+			sales.forEach(sale -> count(sale[0], sale[1] < 0 ? null : sale[1], sale[2], now));
+		};
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					record.run();
+				}
+			});
+		} else {
+			record.run();
+		}
+	}
+
+	/**
+	 * Returns the current bestsellers for a window, overall or within a category.
+	 *
+	 * @param window     The sliding window to rank over.
+	 * @param categoryId The category to rank within (optional).
+	 * @param limit      The maximum number of products to return.
+	 * @return A Response containing the ranked products with units sold.
+	 */
+	@Override
+	public Response getBestsellers(BestsellerWindow window, Long categoryId, int limit) {
+		Leaderboards current = leaderboards;
+		List<BestsellerDto> ranking = categoryId == null
+				? current.overall.getOrDefault(window, List.of())
+				: current.byCategory.getOrDefault(window, Map.of()).getOrDefault(categoryId, List.of());
+
+		return Response
+				.builder()
+				.status(200)
+				.bestsellerList(ranking.subList(0, Math.min(Math.max(limit, 0), ranking.size())))
+				.build();
+	}
+
+	/**
+	 * Rebuilds the counters from the last week of order items.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void seedFromOrderHistory() {
+		long since = System.currentTimeMillis() - HOURS_PER_WEEK * HOUR_MILLIS;
+		ZoneId zone = ZoneId.systemDefault();
+
+		TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+		readOnlyTransaction.setReadOnly(true);
+		Long seeded = readOnlyTransaction.execute(status -> {
+			long rows = 0;
+			try (Stream<Object[]> sales = orderItemRepo
+					.streamSalesSince(Instant.ofEpochMilli(since).atZone(zone).toLocalDateTime())) {
+				for (Object[] sale : (Iterable<Object[]>) sales::iterator) {
+					long soldAt = ((LocalDateTime) sale[2]).atZone(zone).toInstant().toEpochMilli();
+					count((Long) sale[0], (Long) sale[1], ((Number) sale[3]).longValue(), soldAt);
+					rows++;
+				}
+			}
+			return rows;
+		});
+
+		log.info("Seeded bestseller counters from {} order items", seeded);
+		refreshLeaderboards();
+	}
+
+	/**
+	 * Recomputes and publishes the leaderboards from the live buckets.
+	 */
+	@Scheduled(fixedDelayString = "${bestseller.refresh-interval-ms:10000}")
+	public void refreshLeaderboards() {
+		long now = System.currentTimeMillis();
+
+		Map<BestsellerWindow, List<Map.Entry<Long, Long>>> overallTop = new EnumMap<>(BestsellerWindow.class);
+		Map<BestsellerWindow, Map<Long, List<Map.Entry<Long, Long>>>> categoryTop = new EnumMap<>(
+				BestsellerWindow.class);
+		Set<Long> rankedProductIds = new HashSet<>();
+
+		for (BestsellerWindow window : BestsellerWindow.values()) {
+			Map<Long, Long> totals = switch (window) {
+			case HOUR -> minuteBuckets.sum(now, 60);
+			case DAY -> hourBuckets.sum(now, 24);
+			case WEEK -> hourBuckets.sum(now, HOURS_PER_WEEK);
+			};
+
+			PriorityQueue<Map.Entry<Long, Long>> overallHeap = new PriorityQueue<>(topSize + 1, BY_UNITS);
+			Map<Long, PriorityQueue<Map.Entry<Long, Long>>> categoryHeaps = new HashMap<>();
+			for (Map.Entry<Long, Long> total : totals.entrySet()) {
+				offer(overallHeap, total);
+				Long categoryId = categoryByProduct.get(total.getKey());
+				if (categoryId != null) {
+					offer(categoryHeaps.computeIfAbsent(categoryId,
+							id -> new PriorityQueue<>(topSize + 1, BY_UNITS)), total);
+				}
+			}
+
+			List<Map.Entry<Long, Long>> overall = drain(overallHeap);
+			overall.forEach(entry -> rankedProductIds.add(entry.getKey()));
+			overallTop.put(window, overall);
+
+			Map<Long, List<Map.Entry<Long, Long>>> byCategory = new HashMap<>();
+			categoryHeaps.forEach((categoryId, heap) -> {
+				List<Map.Entry<Long, Long>> ranking = drain(heap);
+				ranking.forEach(entry -> rankedProductIds.add(entry.getKey()));
+				byCategory.put(categoryId, ranking);
+			});
+			categoryTop.put(window, byCategory);
+		}
+
+		Map<Long, ProductDto> products = productRepo.findAllById(rankedProductIds).stream()
+				.map(entityDtoMapper::mapProductToDtoBasic)
+				.collect(Collectors.toMap(ProductDto::getId, Function.identity()));
+
+		Map<BestsellerWindow, List<BestsellerDto>> overall = new EnumMap<>(BestsellerWindow.class);
+		Map<BestsellerWindow, Map<Long, List<BestsellerDto>>> byCategory = new EnumMap<>(BestsellerWindow.class);
+		overallTop.forEach((window, ranking) -> overall.put(window, toDtos(ranking, products)));
+		categoryTop.forEach((window, rankings) -> byCategory.put(window, rankings.entrySet().stream()
+				.collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> toDtos(e.getValue(), products)))));
+
+		leaderboards = new Leaderboards(overall, byCategory);
+	}
+
+	private void count(Long productId, Long categoryId, long quantity, long soldAt) {
+		if (productId == null) {
+			return;
+		}
+		minuteBuckets.add(productId, quantity, soldAt);
+		hourBuckets.add(productId, quantity, soldAt);
+		if (categoryId != null) {
+			categoryByProduct.put(productId, categoryId);
+		}
+	}
+
+	private void offer(PriorityQueue<Map.Entry<Long, Long>> heap, Map.Entry<Long, Long> total) {
+		if (heap.size() < topSize) {
+			heap.offer(total);
+		} else if (BY_UNITS.compare(total, heap.peek()) > 0) {
+			heap.poll();
+			heap.offer(total);
+		}
+	}
+
+	private static List<Map.Entry<Long, Long>> drain(PriorityQueue<Map.Entry<Long, Long>> heap) {
+		List<Map.Entry<Long, Long>> ranking = new ArrayList<>(heap);
+		ranking.sort(BY_UNITS.reversed());
+		return ranking;
+	}
+
+	private static List<BestsellerDto> toDtos(List<Map.Entry<Long, Long>> ranking, Map<Long, ProductDto> products) {
+		return ranking.stream()
+				.filter(entry -> products.containsKey(entry.getKey())) // deleted products drop out
+				.map(entry -> new BestsellerDto(products.get(entry.getKey()), entry.getValue()))
+				.toList();
+	}
+
+	/**
+	 * Units sold per product during one time bucket.
+	 */
+	private static final class Bucket {
+
+		private final long epoch;
+		private final ConcurrentHashMap<Long, LongAdder> counts = new ConcurrentHashMap<>();
+
+		private Bucket(long epoch) {
+			this.epoch = epoch;
+		}
+	}
+
+	/**
+	 * A fixed ring of time buckets. A slot is replaced with a fresh bucket the
+	 * first time it is written in a new period, which expires the counts of the
+	 * period it held before.
+	 */
+	private static final class BucketRing {
+
+		private final AtomicReferenceArray<Bucket> slots;
+		private final long bucketMillis;
+
+		private BucketRing(int size, long bucketMillis) {
+			this.slots = new AtomicReferenceArray<>(size);
+			this.bucketMillis = bucketMillis;
+		}
+
+		private void add(long productId, long quantity, long timeMillis) {
+			long epoch = timeMillis / bucketMillis;
+			if (epoch <= System.currentTimeMillis() / bucketMillis - slots.length()) {
+				return; // older than the ring covers
+			}
+
+			int index = (int) Math.floorMod(epoch, (long) slots.length());
+			Bucket bucket = slots.get(index);
+			while (bucket == null || bucket.epoch < epoch) {
+				Bucket fresh = new Bucket(epoch);
+				if (slots.compareAndSet(index, bucket, fresh)) {
+					bucket = fresh;
+					break;
+				}
+				bucket = slots.get(index);
+			}
+			if (bucket.epoch == epoch) {
+				bucket.counts.computeIfAbsent(productId, id -> new LongAdder()).add(quantity);
+			}
+		}
+
+		private Map<Long, Long> sum(long nowMillis, int bucketCount) {
+			long current = nowMillis / bucketMillis;
+			Map<Long, Long> totals = new HashMap<>();
+			for (int i = 0; i < slots.length(); i++) {
+				Bucket bucket = slots.get(i);
+				if (bucket != null && bucket.epoch > current - bucketCount && bucket.epoch <= current) {
+					bucket.counts.forEach((productId, units) -> totals.merge(productId, units.sum(), Long::sum));
+				}
+			}
+			return totals;
+		}
+	}
+
+	/**
+	 * Immutable snapshot of every leaderboard, swapped atomically on refresh.
+	 */
+	private static final class Leaderboards {
+
+		private static final Leaderboards EMPTY = new Leaderboards(Map.of(), Map.of());
+
+		private final Map<BestsellerWindow, List<BestsellerDto>> overall;
+		private final Map<BestsellerWindow, Map<Long, List<BestsellerDto>>> byCategory;
+
+		private Leaderboards(Map<BestsellerWindow, List<BestsellerDto>> overall,
+				Map<BestsellerWindow, Map<Long, List<BestsellerDto>>> byCategory) {
+			this.overall = overall;
+			this.byCategory = byCategory;
+		}
+	}
+}
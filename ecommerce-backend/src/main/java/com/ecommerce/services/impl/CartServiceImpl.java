@@ -0,0 +1,349 @@
+package com.ecommerce.services.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.dto.CartDto;
+import com.ecommerce.dto.OrderItemRequest;
+import com.ecommerce.dto.PriceQuote;
+import com.ecommerce.dto.Response;
+import com.ecommerce.entities.Cart;
+import com.ecommerce.entities.Product;
+import com.ecommerce.exceptions.InvalidCredentialsException;
+import com.ecommerce.exceptions.NotFoundException;
+import com.ecommerce.repositories.CartRepository;
+import com.ecommerce.repositories.ProductRepository;
+import com.ecommerce.services.CartService;
+import com.ecommerce.services.PricingService;
+import com.ecommerce.services.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shopping carts held in memory, keyed by user ID. Mutations only touch the
+ * in-memory entry and mark it dirty; a scheduled flush writes dirty carts to
+ * the carts table in one batch, and idle clean carts are evicted after a TTL
+ * and reloaded from the table on next access.
+ *
+ * Every mutation, the eviction check and the flush's clearing of the dirty mark
+ * run inside ConcurrentHashMap.compute for the user's key, so a cart cannot be
+ * evicted halfway through a change or before its last change is written.
+ * The store is per instance; deployments with several nodes need sticky
+ * sessions for carts to stay consistent between requests.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CartServiceImpl implements CartService {
+
+	private static final TypeReference<List<OrderItemRequest>> ITEMS_TYPE = new TypeReference<>() {
+	};
+
+	private final CartRepository cartRepo;
+	private final ProductRepository productRepo;
+	private final PricingService pricingService;
+	private final UserService userService;
+	private final ObjectMapper objectMapper;
+	private final TransactionTemplate transactionTemplate;
+
+	private final Map<Long, CartEntry> carts = new ConcurrentHashMap<>();
+	private final Set<Long> dirtyUserIds = ConcurrentHashMap.newKeySet();
+
+	@Value("${cart.max-quantity:99}")
+	private int maxQuantity; // Largest quantity allowed on a single cart line
+
+	@Value("${cart.idle-ttl-minutes:30}")
+	private long idleTtlMinutes; // Idle time after which a flushed cart is dropped from memory
+
+	/**
+	 * Returns the logged-in user's cart, priced with the current promotions.
+	 *
+	 * @return A Response containing the cart.
+	 */
+	@Override
+	public Response getCart() {
+		Long userId = userService.getLoginUserId();
+		List<OrderItemRequest> items = cartEntry(userId).snapshot();
+
+		PriceQuote quote = null;
+		if (!items.isEmpty()) {
+			try {
+				quote = pricingService.priceCart(items, null);
+			} catch (NotFoundException e) {
+				items = dropMissingProducts(userId, items);
+				quote = items.isEmpty() ? null : pricingService.priceCart(items, null);
+			}
+		}
+		CartDto cartDto = new CartDto(items, quote);
+
+		return Response.builder().status(200).cart(cartDto).build();
+	}
+
+	/**
+	 * Adds a quantity of a product to the logged-in user's cart. The product is
+	 * not looked up, so a click costs no query; a line whose product does not
+	 * exist is dropped when the cart is priced, and rejected at checkout.
+	 *
+	 * @param productId The ID of the product to add.
+	 * @param quantity  The quantity to add.
+	 * @return A Response containing the updated cart lines.
+	 */
+	@Override
+	public Response addItem(Long productId, int quantity) {
+		if (quantity <= 0 || quantity > maxQuantity) {
+			throw new InvalidCredentialsException("Quantity must be between 1 and " + maxQuantity);
+		}
+
+		return mutate(items -> items.merge(productId, quantity, (current, added) -> Math.min(current + added,
+				maxQuantity)));
+	}
+
+	/**
+	 * Sets the quantity of a product already in the logged-in user's cart. A
+	 * quantity of zero removes the line.
+	 *
+	 * @param productId The ID of the product to update.
+	 * @param quantity  The new quantity.
+	 * @return A Response containing the updated cart lines.
+	 */
+	@Override
+	public Response updateItemQuantity(Long productId, int quantity) {
+		if (quantity < 0 || quantity > maxQuantity) {
+			throw new InvalidCredentialsException("Quantity must be between 0 and " + maxQuantity);
+		}
+
+		return mutate(items -> {
+			if (!items.containsKey(productId)) {
+				throw new NotFoundException("Product is not in the cart");
+			}
+			if (quantity == 0) {
+				items.remove(productId);
+			} else {
+				items.put(productId, quantity);
+			}
+		});
+	}
+
+	/**
+	 * Removes a product from the logged-in user's cart.
+	 *
+	 * @param productId The ID of the product to remove.
+	 * @return A Response containing the updated cart lines.
+	 */
+	@Override
+	public Response removeItem(Long productId) {
+		return mutate(items -> items.remove(productId));
+	}
+
+	/**
+	 * Empties the logged-in user's cart.
+	 *
+	 * @return A Response containing the (empty) cart.
+	 */
+	@Override
+	public Response clearCart() {
+		return mutate(Map::clear);
+	}
+
+	private Response mutate(Consumer<Map<Long, Integer>> change) {
+		CartEntry entry = change(userService.getLoginUserId(), change);
+
+		return Response
+				.builder()
+				.status(200)
+				.cart(new CartDto(entry.snapshot(), null))
+				.build();
+	}
+
+	/**
+	 * Applies a change to a user's cart and marks it dirty, both under the map's
+	 * lock for the user's key.
+	 */
+	private CartEntry change(Long userId, Consumer<Map<Long, Integer>> change) {
+		CartEntry loaded = cartEntry(userId);
+
+		return carts.compute(userId, (id, current) -> {
+			CartEntry target = current != null ? current : loaded;
+			synchronized (target) {
+				change.accept(target.items);
+				target.version++;
+			}
+			target.touch();
+			dirtyUserIds.add(id);
+			return target;
+		});
+	}
+
+	/**
+	 * Removes the lines of products that no longer exist from a user's cart, e.g.
+	 * products deleted since they were added.
+	 */
+	private List<OrderItemRequest> dropMissingProducts(Long userId, List<OrderItemRequest> items) {
+		Set<Long> existing = productRepo
+				.findAllById(items.stream().map(OrderItemRequest::getProductId).toList())
+				.stream()
+				.map(Product::getId)
+				.collect(Collectors.toSet());
+
+		return change(userId, lines -> lines.keySet().retainAll(existing)).snapshot();
+	}
+
+	/**
+	 * Returns the in-memory cart for a user, loading it from the carts table on a
+	 * miss. The load happens outside the map so no bin lock is held during I/O.
+	 */
+	private CartEntry cartEntry(Long userId) {
+		CartEntry entry = carts.get(userId);
+		if (entry != null) {
+			entry.touch();
+			return entry;
+		}
+
+		CartEntry loaded = new CartEntry(cartRepo.findById(userId).map(this::readItems).orElseGet(List::of));
+		CartEntry existing = carts.putIfAbsent(userId, loaded);
+		return existing != null ? existing : loaded;
+	}
+
+	/**
+	 * Writes every dirty cart to the carts table in a single transaction. A cart
+	 * stays marked dirty, and so cannot be evicted, until its snapshot is
+	 * committed; it is only unmarked then if it has not changed since the
+	 * snapshot, so a change racing with the flush is written by the next run.
+	 */
+	@Scheduled(fixedDelayString = "${cart.flush-interval-ms:5000}")
+	public void flushDirtyCarts() {
+		if (dirtyUserIds.isEmpty()) {
+			return;
+		}
+
+		Map<Long, Long> flushedVersions = new HashMap<>();
+		List<Cart> toSave = new ArrayList<>();
+		List<Long> toDelete = new ArrayList<>();
+		LocalDateTime now = LocalDateTime.now();
+
+		for (Long userId : new ArrayList<>(dirtyUserIds)) {
+			CartEntry entry = carts.get(userId);
+			if (entry == null) {
+				continue;
+			}
+			List<OrderItemRequest> items;
+			synchronized (entry) {
+				items = entry.snapshot();
+				flushedVersions.put(userId, entry.version);
+			}
+			if (items.isEmpty()) {
+				toDelete.add(userId);
+				continue;
+			}
+			Cart cart = new Cart();
+			cart.setUserId(userId);
+			cart.setItems(writeItems(items));
+			cart.setUpdatedAt(now);
+			toSave.add(cart);
+		}
+
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				cartRepo.saveAll(toSave);
+				cartRepo.deleteAllByIdInBatch(toDelete);
+			});
+		} catch (RuntimeException e) {
+			log.warn("Cart flush failed, will retry: {}", e.getMessage());
+			return;
+		}
+
+		flushedVersions.forEach((userId, version) -> carts.computeIfPresent(userId, (id, entry) -> {
+			synchronized (entry) {
+				if (entry.version == version) {
+					dirtyUserIds.remove(id);
+				}
+			}
+			return entry;
+		}));
+		log.debug("Flushed {} carts", flushedVersions.size());
+	}
+
+	/**
+	 * Drops carts that have been idle longer than the TTL and have no unflushed
+	 * changes.
+	 */
+	@Scheduled(fixedDelayString = "${cart.eviction-interval-ms:60000}")
+	public void evictIdleCarts() {
+		long cutoff = System.nanoTime() - Duration.ofMinutes(idleTtlMinutes).toNanos();
+
+		for (Long userId : carts.keySet()) {
+			carts.computeIfPresent(userId, (id, entry) -> entry.lastAccess - cutoff < 0
+					&& !dirtyUserIds.contains(id) ? null : entry);
+		}
+	}
+
+	@PreDestroy
+	private void flushOnShutdown() {
+		flushDirtyCarts();
+	}
+
+	private List<OrderItemRequest> readItems(Cart cart) {
+		try {
+			return objectMapper.readValue(cart.getItems(), ITEMS_TYPE);
+		} catch (JsonProcessingException e) {
+			log.warn("Discarding unreadable cart of user {}", cart.getUserId());
+			return List.of();
+		}
+	}
+
+	private String writeItems(List<OrderItemRequest> items) {
+		try {
+			return objectMapper.writeValueAsString(items);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * One user's cart lines in insertion order, guarded by the entry's monitor.
+	 */
+	private static final class CartEntry {
+
+		private final Map<Long, Integer> items = new LinkedHashMap<>();
+		private long version; // Number of changes applied, to tell whether a flushed snapshot is current
+		private volatile long lastAccess = System.nanoTime();
+
+		private CartEntry(List<OrderItemRequest> lines) {
+			lines.forEach(line -> items.put(line.getProductId(), line.getQuantity()));
+		}
+
+		private void touch() {
+			lastAccess = System.nanoTime();
+		}
+
+		private synchronized List<OrderItemRequest> snapshot() {
+			List<OrderItemRequest> lines = new ArrayList<>(items.size());
+			items.forEach((productId, quantity) -> {
+				OrderItemRequest line = new OrderItemRequest();
+				line.setProductId(productId);
+				line.setQuantity(quantity);
+				lines.add(line);
+			});
+			return lines;
+		}
+	}
+}
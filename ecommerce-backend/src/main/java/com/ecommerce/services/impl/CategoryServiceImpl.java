@@ -3,6 +3,7 @@ package com.ecommerce.services.impl;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import com.ecommerce.dto.CategoryDto;
@@ -11,7 +12,10 @@ import com.ecommerce.entities.Category;
 import com.ecommerce.exceptions.NotFoundException;
 import com.ecommerce.mappers.EntityDtoMapper;
 import com.ecommerce.repositories.CategoryRepository;
+import com.ecommerce.repositories.SparseFieldRepository;
 import com.ecommerce.services.CategoryService;
+import com.ecommerce.specification.SparseFieldset;
+import com.ecommerce.specification.SparseFieldset.FieldSelection;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,7 +25,14 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CategoryServiceImpl implements CategoryService {
 
+	// Fields clients can request through fields= on the category list
+	private static final SparseFieldset<CategoryDto> CATEGORY_FIELDS = SparseFieldset.<CategoryDto>builder(CategoryDto::new)
+			.id("id", Long.class, CategoryDto::setId)
+			.field("name", String.class, CategoryDto::setName)
+			.build();
+
 	private final CategoryRepository categoryRepo;
+	private final SparseFieldRepository sparseFieldRepo;
 	private final EntityDtoMapper entityDtoMapper;
 
 	/**
@@ -60,15 +71,20 @@ public class CategoryServiceImpl implements CategoryService {
 	/**
 	 * Fetches all categories.
 	 *
+	 * @param fields The fields to return, comma separated (optional, all by
+	 *               default).
 	 * @return A Response containing a list of all categories.
 	 */
 	@Override
-	public Response getAllCategories() {
-		List<Category> categories = categoryRepo.findAll();
-		List<CategoryDto> categoryDtoList = categories
-				.stream()
-				.map(entityDtoMapper::mapCategoryToDtoBasic)
-				.collect(Collectors.toList());
+	public Response getAllCategories(String fields) {
+		FieldSelection<CategoryDto> selection = CATEGORY_FIELDS.select(fields);
+		List<CategoryDto> categoryDtoList = selection != null
+				? sparseFieldRepo.findAll(Category.class, null, Sort.unsorted(), selection)
+				: categoryRepo
+						.findAllSummaries()
+						.stream()
+						.map(entityDtoMapper::mapCategorySummaryToDto)
+						.collect(Collectors.toList());
 
 		return Response.builder().status(200).categoryList(categoryDtoList).build();
 	}
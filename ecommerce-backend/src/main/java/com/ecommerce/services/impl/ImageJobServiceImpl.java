@@ -0,0 +1,295 @@
+package com.ecommerce.services.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ecommerce.dto.ImageVariantUrls;
+import com.ecommerce.dto.StoredImage;
+import com.ecommerce.entities.ImageJob;
+import com.ecommerce.entities.Product;
+import com.ecommerce.enums.ImageJobStatus;
+import com.ecommerce.enums.ImageStatus;
+import com.ecommerce.exceptions.InvalidCredentialsException;
+import com.ecommerce.repositories.ImageJobRepository;
+import com.ecommerce.repositories.ProductRepository;
+import com.ecommerce.services.ImageJobService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Uploads product images and generates their variants off the request thread.
+ * Creating or updating a product only stages the image in an image job, in the
+ * same transaction as the product, and marks the product's image PENDING; once
+ * that commits the job is handed to a small bounded pool, so the request never
+ * waits on the object store.
+ *
+ * Jobs are claimed with a conditional status update, so a job never runs twice
+ * concurrently. Jobs left PENDING (queue full, upload error) or stuck
+ * PROCESSING (node crash) are picked up again by the recovery sweep; a job
+ * that keeps failing marks the product's image FAILED. The product records its
+ * latest job, and only that job may update it, so an older job finishing late
+ * never overwrites a newer image.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageJobServiceImpl implements ImageJobService {
+
+	private static final int MAX_FAILURE_REASON_LENGTH = 255;
+
+	private final ImageJobRepository imageJobRepo;
+	private final ProductRepository productRepo;
+	private final ImageStorageServiceImpl imageStorageService;
+	private final ImageVariantServiceImpl imageVariantService;
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${image.jobs.concurrency:4}")
+	private int concurrency; // Image jobs processed at once
+
+	@Value("${image.jobs.queue-capacity:200}")
+	private int queueCapacity; // Jobs waiting for a worker before new ones are left to the recovery sweep
+
+	@Value("${image.jobs.max-attempts:5}")
+	private int maxAttempts; // Attempts before a job is failed
+
+	@Value("${image.jobs.retry-delay-ms:30000}")
+	private long retryDelayMs; // Delay before a deferred or errored job is retried
+
+	@Value("${image.jobs.stuck-after-ms:600000}")
+	private long stuckAfterMs; // Age after which a PROCESSING job is assumed abandoned
+
+	@Value("${storage.upload.max-bytes:20971520}")
+	private long maxUploadBytes; // Largest image accepted for upload
+
+	private ThreadPoolExecutor jobExecutor;
+
+	@PostConstruct
+	private void init() {
+		AtomicInteger threadCount = new AtomicInteger();
+		jobExecutor = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "image-job-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		jobExecutor.allowCoreThreadTimeOut(true);
+	}
+
+	@PreDestroy
+	private void shutdown() {
+		jobExecutor.shutdown();
+	}
+
+	/**
+	 * Stages an uploaded image for a saved product and marks its image PENDING.
+	 * Must be called in the transaction saving the product; the job starts once
+	 * it commits.
+	 *
+	 * @param product The saved product the image belongs to.
+	 * @param image   The uploaded image.
+	 */
+	@Override
+	public void enqueueUpload(Product product, MultipartFile image) {
+		if (image.getSize() > maxUploadBytes) {
+			throw new InvalidCredentialsException("Image exceeds the maximum size of " + maxUploadBytes + " bytes");
+		}
+
+		ImageJob imageJob = new ImageJob();
+		try {
+			imageJob.setContent(image.getBytes());
+		} catch (IOException e) {
+			throw new InvalidCredentialsException("Unable to read image: " + e.getMessage());
+		}
+		imageJob.setFileName(image.getOriginalFilename());
+		imageJob.setContentType(image.getContentType());
+		enqueue(product, imageJob);
+	}
+
+	/**
+	 * Queues variant generation for a product whose image is already stored and
+	 * marks its image PENDING until the variants are ready. Must be called in
+	 * the transaction saving the product.
+	 *
+	 * @param product     The saved product the image belongs to.
+	 * @param storedImage The stored original image.
+	 */
+	@Override
+	public void enqueueVariants(Product product, StoredImage storedImage) {
+		ImageJob imageJob = new ImageJob();
+		imageJob.setSourceKey(storedImage.key());
+		enqueue(product, imageJob);
+	}
+
+	private void enqueue(Product product, ImageJob imageJob) {
+		imageJob.setProductId(product.getId());
+		imageJob.setStatus(ImageJobStatus.PENDING);
+		Long jobId = imageJobRepo.save(imageJob).getId();
+
+		product.setImageStatus(ImageStatus.PENDING);
+		product.setLatestImageJobId(jobId);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					submit(jobId);
+				}
+			});
+		} else {
+			submit(jobId);
+		}
+	}
+
+	/**
+	 * Hands a job to the worker pool. When the pool is saturated the job stays
+	 * PENDING and the recovery sweep retries it later.
+	 */
+	private void submit(Long jobId) {
+		try {
+			jobExecutor.execute(() -> process(jobId));
+		} catch (RejectedExecutionException e) {
+			log.warn("Image job queue full, deferring job {}", jobId);
+		}
+	}
+
+	private void process(Long jobId) {
+		ImageJob imageJob = transactionTemplate.execute(status -> {
+			if (imageJobRepo.claim(jobId, ImageJobStatus.PENDING, ImageJobStatus.PROCESSING,
+					LocalDateTime.now()) == 0) {
+				return null;
+			}
+			return imageJobRepo.findById(jobId).orElse(null);
+		});
+		if (imageJob == null) {
+			return; // already claimed elsewhere
+		}
+
+		String imageUrl = null;
+		ImageVariantUrls variants;
+		try {
+			InputStreamSource source;
+			if (imageJob.getContent() != null) {
+				String extension = Objects.requireNonNullElse(
+						StringUtils.getFilenameExtension(imageJob.getFileName()), "");
+				imageUrl = imageStorageService.awaitUpload(imageStorageService.saveImageAsync(imageJob.getContent(),
+						extension, imageJob.getContentType()));
+				source = new ByteArrayResource(imageJob.getContent());
+			} else {
+				source = imageStorageService.storedImage(imageJob.getSourceKey());
+			}
+
+			CompletableFuture<ImageVariantUrls> pendingVariants = imageVariantService.createVariantsAsync(source);
+			variants = imageVariantService.awaitVariants(pendingVariants);
+
+		} catch (RuntimeException e) {
+			log.warn("Image job {} failed on attempt {}: {}", jobId, imageJob.getAttempts(), e.getMessage());
+			if (imageJob.getAttempts() >= maxAttempts) {
+				failJob(imageJob, e.getMessage());
+			} else {
+				transactionTemplate.executeWithoutResult(status -> imageJobRepo.transitionAll(List.of(jobId),
+						ImageJobStatus.PROCESSING, ImageJobStatus.PENDING, LocalDateTime.now()));
+			}
+			return;
+		}
+
+		completeJob(imageJob, imageUrl, variants);
+	}
+
+	/**
+	 * Applies the stored image to the product, unless a newer job superseded
+	 * this one, and deletes the job.
+	 */
+	private void completeJob(ImageJob imageJob, String imageUrl, ImageVariantUrls variants) {
+		transactionTemplate.executeWithoutResult(status -> {
+			imageJobRepo.deleteById(imageJob.getId());
+
+			latestJobProduct(imageJob).ifPresent(product -> {
+				if (imageUrl != null) {
+					product.setImageUrl(imageUrl);
+				}
+				// Cleared when the image cannot be decoded, so they never show an earlier image
+				product.setThumbnailUrl(variants != null ? variants.thumbnailUrl() : null);
+				product.setCardUrl(variants != null ? variants.cardUrl() : null);
+				product.setDetailUrl(variants != null ? variants.detailUrl() : null);
+				product.setImageStatus(ImageStatus.READY);
+			});
+		});
+	}
+
+	/**
+	 * Gives up on a job: it is kept as FAILED, without its staged bytes, and the
+	 * product's image is marked FAILED unless a newer job superseded it.
+	 */
+	private void failJob(ImageJob imageJob, String reason) {
+		transactionTemplate.executeWithoutResult(status -> {
+			imageJobRepo.findById(imageJob.getId()).ifPresent(job -> {
+				job.setStatus(ImageJobStatus.FAILED);
+				job.setFailureReason(reason != null && reason.length() > MAX_FAILURE_REASON_LENGTH
+						? reason.substring(0, MAX_FAILURE_REASON_LENGTH)
+						: reason);
+				job.setContent(null);
+				job.setUpdatedAt(LocalDateTime.now());
+			});
+			latestJobProduct(imageJob).ifPresent(product -> product.setImageStatus(ImageStatus.FAILED));
+		});
+	}
+
+	/**
+	 * Locks the job's product and returns it if the job is still its latest
+	 * one. The lock orders this with a concurrent update enqueuing a newer job.
+	 */
+	private Optional<Product> latestJobProduct(ImageJob imageJob) {
+		return productRepo.findByIdForUpdate(imageJob.getProductId())
+				.filter(product -> imageJob.getId().equals(product.getLatestImageJobId()));
+	}
+
+	/**
+	 * Re-queues jobs that were deferred or errored and releases jobs whose
+	 * processing node went away.
+	 */
+	@Override
+	@Scheduled(fixedDelayString = "${image.jobs.recovery-interval-ms:15000}")
+	public void recoverPendingJobs() {
+		LocalDateTime now = LocalDateTime.now();
+
+		List<Long> stuckIds = imageJobRepo.findIdsByStatusUpdatedBefore(ImageJobStatus.PROCESSING,
+				now.minus(Duration.ofMillis(stuckAfterMs)), PageRequest.of(0, queueCapacity));
+		if (!stuckIds.isEmpty()) {
+			transactionTemplate.executeWithoutResult(status -> imageJobRepo.transitionAll(stuckIds,
+					ImageJobStatus.PROCESSING, ImageJobStatus.PENDING, now));
+			log.warn("Released {} image jobs stuck in processing", stuckIds.size());
+		}
+
+		int capacity = jobExecutor.getQueue().remainingCapacity();
+		if (capacity == 0) {
+			return;
+		}
+		imageJobRepo.findIdsByStatusUpdatedBefore(ImageJobStatus.PENDING, now.minus(Duration.ofMillis(retryDelayMs)),
+				PageRequest.of(0, capacity)).forEach(this::submit);
+	}
+}
@@ -0,0 +1,417 @@
+package com.ecommerce.services.impl;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.dto.StoredImage;
+import com.ecommerce.exceptions.InvalidCredentialsException;
+import com.ecommerce.exceptions.ServiceBusyException;
+import com.ecommerce.services.ObjectStore;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores uploaded images in the configured object store under a key derived
+ * from their content: the SHA-256 of the bytes plus the original extension.
+ * The hash is computed while the upload is spooled to disk, so an image that
+ * is already stored, or is being stored by a concurrent request, is never
+ * transferred again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageStorageServiceImpl {
+
+	private static final int MAX_EXTENSION_LENGTH = 10;
+
+	// Image types accepted by the streaming upload, with the extension stored for each
+	private static final Map<String, String> STREAMED_IMAGE_EXTENSIONS = Map.of("image/jpeg", ".jpg",
+			"image/png", ".png", "image/gif", ".gif", "image/webp", ".webp");
+
+	// Leading bytes read to check that a streamed image is of its declared type
+	private static final int SIGNATURE_LENGTH = 12;
+
+	private final ObjectStore objectStore;
+
+	@Value("${storage.upload.max-in-flight:16}")
+	private int maxInFlightUploads; // Transfers running at once before new ones are refused
+
+	@Value("${storage.upload.timeout-ms:60000}")
+	private long uploadTimeoutMs; // How long a caller waits for its upload to finish
+
+	@Value("${storage.upload.max-bytes:20971520}")
+	private long maxUploadBytes; // Largest image accepted by the streaming upload
+
+	private final Map<String, CompletableFuture<String>> inFlightUploads = new ConcurrentHashMap<>();
+
+	private Semaphore uploadPermits;
+
+	@PostConstruct
+	private void init() {
+		uploadPermits = new Semaphore(maxInFlightUploads);
+	}
+
+	/**
+	 * Stores an image held in memory, such as a staged upload or a resized
+	 * variant, without waiting for the transfer. If its key already exists the
+	 * returned future is complete at once, and if the same image is being
+	 * transferred for another caller that transfer is shared. A transfer is not
+	 * tied to the caller that started it: one that is abandoned still completes
+	 * and serves later saves of the same image.
+	 *
+	 * @param content     The encoded image.
+	 * @param extension   The file extension of its format, without the dot.
+	 * @param contentType The MIME type of its format.
+	 * @return A future completing with the public URL of the stored image.
+	 * @throws ServiceBusyException If too many transfers are already in flight.
+	 */
+	public CompletableFuture<String> saveImageAsync(byte[] content, String extension, String contentType) {
+		Path spooledFile = null;
+		try {
+			spooledFile = Files.createTempFile("image-upload-", ".tmp");
+			Files.write(spooledFile, content);
+			String key = HexFormat.of().formatHex(sha256().digest(content)) + extensionOf("." + extension);
+			return store(key, spooledFile, contentType);
+
+		} catch (IOException | RuntimeException e) {
+			throw uploadFailure(spooledFile, e);
+		}
+	}
+
+	/**
+	 * Streams an image from the request straight into the object store, without
+	 * spooling it first. The declared type must be an accepted image type and
+	 * match the image's leading bytes, and the size limit is enforced as bytes
+	 * arrive. The SHA-256 and length are computed in the same pass; the image is
+	 * written under a temporary key and then renamed to its content key, or
+	 * dropped if that key is already stored.
+	 *
+	 * @param content     The image bytes as they arrive.
+	 * @param contentType The declared MIME type of the image.
+	 * @return The stored image.
+	 * @throws InvalidCredentialsException If the type is not accepted or does not
+	 *                                     match, or the image is too large.
+	 * @throws ServiceBusyException        If too many transfers are already in
+	 *                                     flight.
+	 */
+	public StoredImage saveImageStream(InputStream content, String contentType) {
+		String mediaType = contentType != null ? contentType.split(";")[0].trim().toLowerCase(Locale.ROOT) : "";
+		String extension = STREAMED_IMAGE_EXTENSIONS.get(mediaType);
+		if (extension == null) {
+			throw new InvalidCredentialsException("Unsupported image type: " + contentType);
+		}
+		if (!uploadPermits.tryAcquire()) {
+			throw new ServiceBusyException("Too many image uploads in progress, please try again shortly");
+		}
+
+		String temporaryKey = "incoming-" + UUID.randomUUID();
+		boolean temporaryStored = false;
+		try {
+			BufferedInputStream buffered = new BufferedInputStream(content);
+			checkSignature(buffered, mediaType);
+
+			MessageDigest digest = sha256();
+			LimitedInputStream limited = new LimitedInputStream(new DigestInputStream(buffered, digest),
+					maxUploadBytes);
+			objectStore.putStream(temporaryKey, limited, mediaType);
+			temporaryStored = true;
+
+			String key = HexFormat.of().formatHex(digest.digest()) + extension;
+			if (objectStore.exists(key)) {
+				objectStore.delete(temporaryKey);
+				log.debug("Image {} already stored, dropping streamed copy", key);
+			} else {
+				objectStore.rename(temporaryKey, key);
+			}
+			temporaryStored = false;
+
+			return new StoredImage(key, objectStore.urlOf(key), limited.getCount());
+
+		} catch (ImageTooLargeException e) {
+			throw new InvalidCredentialsException("Image exceeds the maximum size of " + maxUploadBytes + " bytes");
+		} catch (IOException | RuntimeException e) {
+			if (e instanceof InvalidCredentialsException invalid) {
+				throw invalid;
+			}
+			log.error("Error uploading image: {}", e.getMessage(), e);
+			throw new RuntimeException("Unable to upload image: " + e.getMessage());
+		} finally {
+			uploadPermits.release();
+			if (temporaryStored) {
+				deleteStoredQuietly(temporaryKey);
+			}
+		}
+	}
+
+	/**
+	 * Returns a source reading an image back from the object store, e.g. to
+	 * generate its variants.
+	 *
+	 * @param key The key of the stored image.
+	 * @return A source opening a new stream on the image for each read.
+	 */
+	public InputStreamSource storedImage(String key) {
+		return () -> objectStore.open(key);
+	}
+
+	/**
+	 * Returns the URL of a spooled image that is already stored, joins its
+	 * transfer when one is in flight, or starts one.
+	 */
+	private CompletableFuture<String> store(String key, Path spooledFile, String contentType) {
+		CompletableFuture<String> inFlight = inFlightUploads.get(key);
+		if (inFlight != null) {
+			deleteQuietly(spooledFile);
+			return inFlight.copy();
+		}
+		if (objectStore.exists(key)) {
+			deleteQuietly(spooledFile);
+			log.debug("Image {} already stored, skipping upload", key);
+			return CompletableFuture.completedFuture(objectStore.urlOf(key));
+		}
+
+		return startUpload(key, spooledFile, contentType).copy();
+	}
+
+	private RuntimeException uploadFailure(Path spooledFile, Exception e) {
+		deleteQuietly(spooledFile);
+		if (e instanceof ServiceBusyException busy) {
+			return busy;
+		}
+		log.error("Error uploading image: {}", e.getMessage(), e);
+		return new RuntimeException("Unable to upload image: " + e.getMessage());
+	}
+
+	/**
+	 * Waits for an upload started with {@link #saveImageAsync}, up to the
+	 * configured timeout.
+	 *
+	 * @param pendingUpload The upload to wait for.
+	 * @return The public URL of the stored image.
+	 * @throws RuntimeException If the upload failed or timed out.
+	 */
+	public String awaitUpload(CompletableFuture<String> pendingUpload) {
+		try {
+			return pendingUpload.get(uploadTimeoutMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			log.error("Timed out uploading image after {} ms", uploadTimeoutMs);
+			throw new RuntimeException("Timed out uploading image");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while uploading image");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			log.error("Error uploading image: {}", cause.getMessage(), cause);
+			throw new RuntimeException("Unable to upload image: " + cause.getMessage());
+		}
+	}
+
+	/**
+	 * Starts the transfer of a spooled image, or joins one that another request
+	 * started for the same key in the meantime.
+	 */
+	private CompletableFuture<String> startUpload(String key, Path spooledFile, String contentType) {
+		CompletableFuture<String> upload = new CompletableFuture<>();
+		CompletableFuture<String> existing = inFlightUploads.putIfAbsent(key, upload);
+		if (existing != null) {
+			deleteQuietly(spooledFile);
+			return existing;
+		}
+
+		if (!uploadPermits.tryAcquire()) {
+			inFlightUploads.remove(key, upload);
+			upload.completeExceptionally(new ServiceBusyException("Too many image uploads in progress"));
+			throw new ServiceBusyException("Too many image uploads in progress, please try again shortly");
+		}
+
+		try {
+			objectStore.putAsync(key, spooledFile, contentType).whenComplete((done, error) -> {
+				if (error != null) {
+					upload.completeExceptionally(error);
+				} else {
+					upload.complete(objectStore.urlOf(key));
+				}
+			});
+		} catch (RuntimeException e) {
+			upload.completeExceptionally(e);
+		}
+
+		upload.whenComplete((url, error) -> {
+			inFlightUploads.remove(key, upload);
+			uploadPermits.release();
+			deleteQuietly(spooledFile);
+		});
+		return upload;
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	/**
+	 * Checks the leading bytes of a streamed image against its declared type,
+	 * leaving the stream positioned at its start.
+	 */
+	private static void checkSignature(BufferedInputStream content, String mediaType) throws IOException {
+		content.mark(SIGNATURE_LENGTH);
+		byte[] signature = content.readNBytes(SIGNATURE_LENGTH);
+		content.reset();
+
+		boolean matches = switch (mediaType) {
+			case "image/jpeg" -> startsWith(signature, 0, 0xFF, 0xD8, 0xFF);
+			case "image/png" -> startsWith(signature, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A);
+			case "image/gif" -> startsWith(signature, 0, 'G', 'I', 'F', '8');
+			case "image/webp" -> startsWith(signature, 0, 'R', 'I', 'F', 'F')
+					&& startsWith(signature, 8, 'W', 'E', 'B', 'P');
+			default -> false;
+		};
+		if (!matches) {
+			throw new InvalidCredentialsException("Image content does not match its type " + mediaType);
+		}
+	}
+
+	private static boolean startsWith(byte[] bytes, int offset, int... expected) {
+		if (bytes.length < offset + expected.length) {
+			return false;
+		}
+		for (int i = 0; i < expected.length; i++) {
+			if ((bytes[offset + i] & 0xFF) != expected[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the lower-cased extension of a file name, including the dot, or an
+	 * empty string when it has none or it is not alphanumeric.
+	 */
+	private static String extensionOf(String originalFilename) {
+		if (originalFilename == null) {
+			return "";
+		}
+		int dot = originalFilename.lastIndexOf('.');
+		if (dot < 0 || originalFilename.length() - dot - 1 > MAX_EXTENSION_LENGTH) {
+			return "";
+		}
+		String extension = originalFilename.substring(dot + 1).toLowerCase(Locale.ROOT);
+		if (extension.isEmpty() || !extension.chars().allMatch(c -> (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))) {
+			return "";
+		}
+		return "." + extension;
+	}
+
+	private void deleteStoredQuietly(String key) {
+		try {
+			objectStore.delete(key);
+		} catch (IOException | RuntimeException e) {
+			log.warn("Unable to delete stored object {}: {}", key, e.getMessage());
+		}
+	}
+
+	private static void deleteQuietly(Path path) {
+		if (path == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			log.warn("Unable to delete {}: {}", path, e.getMessage());
+		}
+	}
+
+	/**
+	 * Thrown by LimitedInputStream once more bytes arrive than allowed.
+	 */
+	private static final class ImageTooLargeException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		ImageTooLargeException() {
+			super("Image too large");
+		}
+	}
+
+	/**
+	 * Counts the bytes read through it and fails as soon as the count passes the
+	 * limit, so an oversized upload is cut off instead of stored.
+	 */
+	private static final class LimitedInputStream extends FilterInputStream {
+
+		private final long limit;
+		private long count;
+
+		LimitedInputStream(InputStream in, long limit) {
+			super(in);
+			this.limit = limit;
+		}
+
+		long getCount() {
+			return count;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) {
+				advance(1);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int read = super.read(b, off, len);
+			if (read > 0) {
+				advance(read);
+			}
+			return read;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			advance(skipped);
+			return skipped;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		private void advance(long bytes) throws ImageTooLargeException {
+			count += bytes;
+			if (count > limit) {
+				throw new ImageTooLargeException();
+			}
+		}
+	}
+}
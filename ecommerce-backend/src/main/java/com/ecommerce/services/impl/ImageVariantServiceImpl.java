@@ -0,0 +1,260 @@
+package com.ecommerce.services.impl;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.dto.ImageVariantUrls;
+import com.ecommerce.enums.ImageVariant;
+import com.ecommerce.exceptions.ServiceBusyException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates the resized variants of a product image. The upload is decoded
+ * once, at a reduced resolution when it is far larger than the largest
+ * variant, and every variant is then scaled and encoded in parallel on a
+ * bounded worker pool and stored through ImageStorageServiceImpl.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageVariantServiceImpl {
+
+	private static final int LARGEST_VARIANT = Arrays.stream(ImageVariant.values())
+			.mapToInt(ImageVariant::getMaxDimension)
+			.max()
+			.orElseThrow();
+
+	private final ImageStorageServiceImpl imageStorageService;
+
+	@Value("${image.variants.workers:0}")
+	private int workers; // Threads decoding and scaling images, 0 for one per CPU core
+
+	@Value("${image.variants.max-in-flight:32}")
+	private int maxInFlightImages; // Images processed at once before new uploads are refused
+
+	@Value("${image.variants.max-pixels:40000000}")
+	private long maxPixels; // Largest source image, in pixels, that variants are generated for
+
+	@Value("${image.variants.jpeg-quality:0.82}")
+	private float jpegQuality; // Compression quality of JPEG variants, 0 to 1
+
+	@Value("${image.variants.timeout-ms:60000}")
+	private long variantsTimeoutMs; // How long a request waits for its variants
+
+	private Semaphore imagePermits;
+	private ThreadPoolExecutor workerPool;
+
+	@PostConstruct
+	private void init() {
+		int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+		imagePermits = new Semaphore(maxInFlightImages);
+
+		// The permits bound the work queued here to a few tasks per image
+		AtomicInteger threadCount = new AtomicInteger();
+		workerPool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				runnable -> {
+					Thread thread = new Thread(runnable, "image-variants-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		workerPool.allowCoreThreadTimeOut(true);
+	}
+
+	@PreDestroy
+	private void shutdown() {
+		workerPool.shutdown();
+	}
+
+	/**
+	 * Starts generating and storing the variants of an uploaded image without
+	 * waiting for them.
+	 *
+	 * @param photo The image, staged in memory or read back from the object
+	 *              store. It must stay readable until the variants complete.
+	 * @return A future completing with the URLs of the stored variants.
+	 * @throws ServiceBusyException If too many images are already being processed.
+	 */
+	public CompletableFuture<ImageVariantUrls> createVariantsAsync(InputStreamSource photo) {
+		if (!imagePermits.tryAcquire()) {
+			throw new ServiceBusyException("Too many images being processed, please try again shortly");
+		}
+
+		CompletableFuture<BufferedImage> source = CompletableFuture.supplyAsync(() -> decode(photo), workerPool);
+
+		Map<ImageVariant, CompletableFuture<String>> urls = new EnumMap<>(ImageVariant.class);
+		for (ImageVariant variant : ImageVariant.values()) {
+			urls.put(variant, source
+					.thenApplyAsync(image -> encode(scale(image, variant)), workerPool)
+					.thenCompose(encoded -> imageStorageService.saveImageAsync(encoded.content(),
+							encoded.extension(), encoded.contentType())));
+		}
+
+		CompletableFuture<ImageVariantUrls> variants = CompletableFuture
+				.allOf(urls.values().toArray(CompletableFuture[]::new))
+				.thenApply(done -> new ImageVariantUrls(urls.get(ImageVariant.THUMBNAIL).join(),
+						urls.get(ImageVariant.CARD).join(), urls.get(ImageVariant.DETAIL).join()));
+
+		variants.whenComplete((result, error) -> imagePermits.release());
+		return variants;
+	}
+
+	/**
+	 * Waits for variants started with {@link #createVariantsAsync}. An image
+	 * that cannot be decoded (unsupported format or too many pixels) will never
+	 * have variants, so null is returned for it; clients fall back to the
+	 * original image. Any other failure may be transient and is thrown, so the
+	 * caller can retry.
+	 *
+	 * @param pendingVariants The variants to wait for.
+	 * @return The variant URLs, or null if the image cannot be decoded.
+	 * @throws IllegalStateException If generating or storing the variants failed
+	 *                               or timed out.
+	 */
+	public ImageVariantUrls awaitVariants(CompletableFuture<ImageVariantUrls> pendingVariants) {
+		try {
+			return pendingVariants.get(variantsTimeoutMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			throw new IllegalStateException("Timed out generating image variants after " + variantsTimeoutMs + " ms");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while generating image variants");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IllegalArgumentException) {
+				log.warn("Not generating image variants: {}", e.getCause().getMessage());
+				return null;
+			}
+			throw new IllegalStateException("Unable to generate image variants: " + e.getCause().getMessage(),
+					e.getCause());
+		}
+	}
+
+	/**
+	 * Decodes the upload, subsampling rows and columns while reading when the
+	 * image is at least twice the size of the largest variant.
+	 */
+	private BufferedImage decode(InputStreamSource photo) {
+		try (InputStream content = photo.getInputStream();
+				ImageInputStream input = ImageIO.createImageInputStream(content)) {
+			Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+			if (readers == null || !readers.hasNext()) {
+				throw new IllegalArgumentException("Unsupported image format");
+			}
+
+			ImageReader reader = readers.next();
+			try {
+				reader.setInput(input, true, true);
+				int width = reader.getWidth(0);
+				int height = reader.getHeight(0);
+				if ((long) width * height > maxPixels) {
+					throw new IllegalArgumentException("Image too large: " + width + "x" + height);
+				}
+
+				int subsampling = Math.max(1, Math.max(width, height) / (LARGEST_VARIANT * 2));
+				ImageReadParam param = reader.getDefaultReadParam();
+				param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+				return reader.read(0, param);
+			} finally {
+				reader.dispose();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Scales an image to fit the variant. Large reductions are done by halving
+	 * first, as a single bilinear pass would skip most source pixels and alias.
+	 */
+	private static BufferedImage scale(BufferedImage image, ImageVariant variant) {
+		double ratio = Math.min(1.0, (double) variant.getMaxDimension() / Math.max(image.getWidth(), image.getHeight()));
+		int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+		int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+		boolean alpha = image.getColorModel().hasAlpha();
+
+		BufferedImage current = image;
+		while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+			current = draw(current, current.getWidth() / 2, current.getHeight() / 2, alpha);
+		}
+		// Always redrawn, so the result is plain RGB(A) whatever the source type
+		return draw(current, targetWidth, targetHeight, alpha);
+	}
+
+	private static BufferedImage draw(BufferedImage source, int width, int height, boolean alpha) {
+		BufferedImage target = new BufferedImage(width, height,
+				alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = target.createGraphics();
+		try {
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			graphics.drawImage(source, 0, 0, width, height, null);
+		} finally {
+			graphics.dispose();
+		}
+		return target;
+	}
+
+	/**
+	 * Encodes a variant as JPEG, or as PNG when it has transparency to keep.
+	 */
+	private EncodedImage encode(BufferedImage image) {
+		try {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			if (image.getColorModel().hasAlpha()) {
+				ImageIO.write(image, "png", output);
+				return new EncodedImage(output.toByteArray(), "png", "image/png");
+			}
+
+			ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+			try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+				ImageWriteParam param = writer.getDefaultWriteParam();
+				param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+				param.setCompressionQuality(jpegQuality);
+				writer.setOutput(imageOutput);
+				writer.write(null, new IIOImage(image, null, null), param);
+			} finally {
+				writer.dispose();
+			}
+			return new EncodedImage(output.toByteArray(), "jpg", "image/jpeg");
+
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private record EncodedImage(byte[] content, String extension, String contentType) {
+	}
+}
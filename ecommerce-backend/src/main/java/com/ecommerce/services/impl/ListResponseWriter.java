@@ -0,0 +1,111 @@
+package com.ecommerce.services.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.dto.Response;
+import com.ecommerce.enums.ResponseFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes list responses in the same shape as {@link Response} (status,
+ * timestamp and paging fields, then the list) without building the list
+ * first, as JSON or in the binary format the client negotiated. Elements are
+ * serialized one at a time as they come out of a repository stream, so heap
+ * use does not grow with the list and the client starts receiving data as soon
+ * as the query returns its first rows.
+ *
+ * On MySQL this only holds with useCursorFetch=true on the JDBC URL; without
+ * it the driver buffers the whole result set despite the fetch size hint (see
+ * {@link com.ecommerce.config.CursorFetchConfiguration}).
+ */
+@Component
+@RequiredArgsConstructor
+public class ListResponseWriter {
+
+	// Elements written between explicit flushes so the client keeps receiving data
+	private static final int FLUSH_EVERY_ELEMENTS = 500;
+
+	private final ObjectMapper objectMapper;
+	private final MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+	private final MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
+	private final PlatformTransactionManager transactionManager;
+
+	/**
+	 * Streams a list response to the output stream. The source stream is opened
+	 * and drained inside a read-only transaction; it is opened before anything is
+	 * written, so a failing query still surfaces as a regular error response.
+	 *
+	 * @param outputStream The stream the response is written to.
+	 * @param format       The encoding negotiated with the client.
+	 * @param listField    The Response field holding the list, e.g. "productList".
+	 * @param source       Opens the repository stream.
+	 * @param mapper       Maps each streamed row to its DTO.
+	 * @return The number of elements written.
+	 * @throws IOException If writing to the output stream fails.
+	 */
+	public <T> long writeList(OutputStream outputStream, ResponseFormat format, String listField,
+			Supplier<Stream<T>> source, Function<? super T, ?> mapper) throws IOException {
+
+		ObjectMapper formatMapper = switch (format) {
+			case CBOR -> cborHttpMessageConverter.getObjectMapper();
+			case SMILE -> smileHttpMessageConverter.getObjectMapper();
+			default -> objectMapper;
+		};
+
+		TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+
+		try {
+			Long written = readOnlyTransaction.execute(transactionStatus -> {
+				try (Stream<T> rows = source.get();
+						JsonGenerator generator = formatMapper.getFactory().createGenerator(outputStream)) {
+					Iterator<T> iterator = rows.iterator();
+
+					// Envelope fields in Response's property order
+					generator.writeStartObject();
+					generator.writeNumberField("status", 200);
+					generator.writeFieldName("timestamp");
+					generator.writeObject(LocalDateTime.now());
+					generator.writeNumberField("totalPage", 0);
+					generator.writeNumberField("totalElement", 0L);
+					generator.writeArrayFieldStart(listField);
+					generator.flush();
+
+					long count = 0;
+					while (iterator.hasNext()) {
+						generator.writeObject(mapper.apply(iterator.next()));
+						if (++count % FLUSH_EVERY_ELEMENTS == 0) {
+							generator.flush();
+						}
+					}
+
+					generator.writeEndArray();
+					generator.writeEndObject();
+					return count;
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			return written == null ? 0 : written;
+
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+}
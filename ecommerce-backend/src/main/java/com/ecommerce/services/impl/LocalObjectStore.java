@@ -0,0 +1,122 @@
+package com.ecommerce.services.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.services.ObjectStore;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Object store on the local filesystem, for development and tests. Objects are
+ * written to a staging directory next to the store and moved into place, so a
+ * reader never sees a partial file; only the store directory itself is served
+ * under the base URL by LocalObjectStoreConfiguration. Writes are synchronous
+ * and the returned future is already complete.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+@Slf4j
+public class LocalObjectStore implements ObjectStore {
+
+	@Value("${storage.local.directory:uploads}")
+	private String directory; // Directory the objects are stored in
+
+	@Value("${storage.local.base-url:/images/}")
+	private String baseUrl; // URL prefix the directory is served under
+
+	private Path root;
+
+	// Holds objects being written; a sibling of root, so moving them into place stays atomic
+	private Path staging;
+
+	@PostConstruct
+	private void init() throws IOException {
+		root = Files.createDirectories(Paths.get(directory).toAbsolutePath().normalize());
+		staging = Files.createDirectories(root.resolveSibling(root.getFileName() + ".staging"));
+		log.info("Storing objects in {}", root);
+	}
+
+	@Override
+	public boolean exists(String key) {
+		return Files.exists(resolve(key));
+	}
+
+	@Override
+	public CompletableFuture<Void> putAsync(String key, Path content, String contentType) {
+		Path target = resolve(key);
+		Path partial = null;
+		try {
+			partial = Files.createTempFile(staging, "upload-", ".tmp");
+			Files.copy(content, partial, StandardCopyOption.REPLACE_EXISTING);
+			Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return CompletableFuture.completedFuture(null);
+		} catch (IOException e) {
+			deleteQuietly(partial);
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	@Override
+	public void putStream(String key, InputStream content, String contentType) throws IOException {
+		Path target = resolve(key);
+		Path partial = Files.createTempFile(staging, "upload-", ".tmp");
+		try {
+			Files.copy(content, partial, StandardCopyOption.REPLACE_EXISTING);
+			Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException e) {
+			deleteQuietly(partial);
+			throw e;
+		}
+	}
+
+	@Override
+	public void rename(String fromKey, String toKey) throws IOException {
+		Files.move(resolve(fromKey), resolve(toKey), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	@Override
+	public void delete(String key) throws IOException {
+		Files.deleteIfExists(resolve(key));
+	}
+
+	@Override
+	public InputStream open(String key) throws IOException {
+		return Files.newInputStream(resolve(key));
+	}
+
+	@Override
+	public String urlOf(String key) {
+		return baseUrl + key;
+	}
+
+	private Path resolve(String key) {
+		Path path = root.resolve(key).normalize();
+		if (!path.getParent().equals(root)) {
+			throw new IllegalArgumentException("Invalid object key: " + key);
+		}
+		return path;
+	}
+
+	private void deleteQuietly(Path path) {
+		if (path == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(path);
+		} catch (IOException e) {
+			log.warn("Unable to delete {}: {}", path, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package com.ecommerce.services.impl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.dto.GatewayAuthorization;
+import com.ecommerce.exceptions.PaymentGatewayException;
+import com.ecommerce.services.PaymentGateway;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process stand-in for a payment provider, used for local development and
+ * tests. Every payment with a positive amount is approved unless its method is
+ * DECLINED_CARD; an optional artificial latency makes timeouts reproducible.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.gateway", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalPaymentGateway implements PaymentGateway {
+
+	private static final String DECLINED_METHOD = "DECLINED_CARD";
+
+	@Value("${payment.local.latency-ms:0}")
+	private long latencyMs; // Simulated provider round trip
+
+	@Override
+	public GatewayAuthorization authorize(String reference, BigDecimal amount, String method, Duration timeout) {
+		simulateLatency(timeout);
+
+		if (amount == null || amount.signum() <= 0) {
+			return new GatewayAuthorization(false, null, "Invalid amount");
+		}
+		if (DECLINED_METHOD.equalsIgnoreCase(method)) {
+			return new GatewayAuthorization(false, null, "Card declined");
+		}
+
+		log.debug("Authorized {} for {}", reference, amount);
+		return new GatewayAuthorization(true, "LOCAL-" + UUID.randomUUID(), null);
+	}
+
+	@Override
+	public Set<String> capture(List<String> authorizationCodes, Duration timeout) {
+		simulateLatency(timeout);
+		return new HashSet<>(authorizationCodes);
+	}
+
+	private void simulateLatency(Duration timeout) {
+		if (latencyMs <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(Math.min(latencyMs, timeout.toMillis()));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PaymentGatewayException("Gateway call interrupted");
+		}
+		if (latencyMs > timeout.toMillis()) {
+			throw new PaymentGatewayException("Gateway call timed out");
+		}
+	}
+}
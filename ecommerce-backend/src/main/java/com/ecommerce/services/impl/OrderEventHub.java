@@ -0,0 +1,300 @@
+package com.ecommerce.services.impl;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ecommerce.dto.OrderEventDto;
+import com.ecommerce.entities.OrderEvent;
+import com.ecommerce.mappers.EntityDtoMapper;
+import com.ecommerce.repositories.OrderEventRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process fan-out of relayed order events to the Server-Sent Events clients
+ * connected to this node. Subscribers are asynchronous emitters, so an idle
+ * connection holds no thread and costs only its entry in the subscriber map.
+ *
+ * Publishing only queues events per subscriber; each queue is drained by a
+ * small fan-out pool, so a slow client delays nobody but itself. A client
+ * whose queue fills up is disconnected and resumes from its last event id.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrderEventHub {
+
+	// Upper bound on the events replayed to a reconnecting client, and on the
+	// recently published events kept for it to catch up with after its replay
+	private static final int MAX_REPLAY_EVENTS = 1000;
+
+	// Queued in place of an event to send a heartbeat comment
+	private static final Object HEARTBEAT = new Object();
+
+	private final OrderEventRepository orderEventRepo;
+	private final EntityDtoMapper entityDtoMapper;
+
+	private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+	// Serialises publishing with subscription so a resuming client neither
+	// misses nor receives twice the events published while it catches up
+	private final Object publishLock = new Object();
+
+	// The latest published events with their publish sequence, guarded by publishLock
+	private final Deque<PublishedEvent> recentlyPublished = new ArrayDeque<>();
+	private long publishSequence; // Events published so far, guarded by publishLock
+
+	private volatile long lastPublishedId;
+
+	@Value("${order.events.emitter-timeout-ms:1800000}")
+	private long emitterTimeoutMs; // Connection lifetime before the client has to reconnect
+
+	@Value("${order.events.fan-out-threads:4}")
+	private int fanOutThreads; // Threads writing queued events to subscribers
+
+	@Value("${order.events.subscriber-queue-capacity:2000}")
+	private int subscriberQueueCapacity; // Events queued for a slow subscriber before it is disconnected
+
+	private ThreadPoolExecutor fanOutExecutor;
+
+	/**
+	 * Starts publishing after the newest event already in the outbox, so a
+	 * restart does not replay history to live clients.
+	 */
+	@PostConstruct
+	private void init() {
+		lastPublishedId = orderEventRepo.findMaxId();
+
+		// At most one drain task per subscriber is ever queued
+		AtomicInteger threadCount = new AtomicInteger();
+		fanOutExecutor = new ThreadPoolExecutor(fanOutThreads, fanOutThreads, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "order-events-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		fanOutExecutor.allowCoreThreadTimeOut(true);
+	}
+
+	@PreDestroy
+	private void shutdown() {
+		fanOutExecutor.shutdownNow();
+	}
+
+	/**
+	 * Registers a new subscriber. When the client resumes from a last-event id,
+	 * the events it missed are replayed from the outbox before it joins the live
+	 * stream.
+	 *
+	 * The outbox is read without holding the publish lock. Under the lock, the
+	 * replay is then followed by the events published since the read started
+	 * that it does not contain, taken from the recently published ones, and the
+	 * subscriber joins the live stream. If more events were published during the
+	 * read than are kept, the read is repeated.
+	 *
+	 * @param lastEventId The id of the last event the client received (optional).
+	 * @return The emitter streaming events to the client.
+	 */
+	public SseEmitter subscribe(Long lastEventId) {
+		SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+		Subscriber subscriber = new Subscriber(emitter, Math.max(subscriberQueueCapacity, MAX_REPLAY_EVENTS));
+		emitter.onCompletion(() -> subscribers.remove(emitter));
+		emitter.onTimeout(emitter::complete);
+		emitter.onError(error -> subscribers.remove(emitter));
+
+		if (lastEventId == null) {
+			subscribers.put(emitter, subscriber);
+			return emitter;
+		}
+
+		while (true) {
+			long fromSequence;
+			long upToId;
+			synchronized (publishLock) {
+				fromSequence = publishSequence;
+				upToId = lastPublishedId;
+			}
+
+			List<OrderEventDto> missed = new ArrayList<>();
+			if (lastEventId < upToId) {
+				for (OrderEvent orderEvent : orderEventRepo.findByIdBetweenOrderByIdAsc(lastEventId + 1, upToId,
+						PageRequest.of(0, MAX_REPLAY_EVENTS))) {
+					missed.add(entityDtoMapper.mapOrderEventToDto(orderEvent));
+				}
+			}
+
+			synchronized (publishLock) {
+				PublishedEvent oldest = recentlyPublished.peekFirst();
+				if (oldest != null && oldest.sequence() > fromSequence + 1) {
+					continue; // Some events published during the read are no longer kept
+				}
+
+				Set<Long> replayedIds = new HashSet<>();
+				for (OrderEventDto orderEventDto : missed) {
+					subscriber.enqueue(orderEventDto);
+					replayedIds.add(orderEventDto.getId());
+				}
+				for (PublishedEvent published : recentlyPublished) {
+					Long id = published.orderEventDto().getId();
+					if (published.sequence() > fromSequence && id > lastEventId && !replayedIds.contains(id)) {
+						subscriber.enqueue(published.orderEventDto());
+					}
+				}
+				subscribers.put(emitter, subscriber);
+			}
+
+			return emitter;
+		}
+	}
+
+	/**
+	 * Queues committed events, in the given order, for every connected
+	 * subscriber. Events are normally relayed in id order; one committed late
+	 * by a long transaction follows events with higher ids.
+	 *
+	 * @param orderEvents The events to publish.
+	 */
+	public void publish(List<OrderEvent> orderEvents) {
+		synchronized (publishLock) {
+			for (OrderEvent orderEvent : orderEvents) {
+				OrderEventDto orderEventDto = entityDtoMapper.mapOrderEventToDto(orderEvent);
+				for (Subscriber subscriber : subscribers.values()) {
+					subscriber.enqueue(orderEventDto);
+				}
+				lastPublishedId = Math.max(lastPublishedId, orderEvent.getId());
+
+				recentlyPublished.addLast(new PublishedEvent(++publishSequence, orderEventDto));
+				if (recentlyPublished.size() > MAX_REPLAY_EVENTS) {
+					recentlyPublished.removeFirst();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the id of the newest event handed to subscribers.
+	 */
+	public long getLastPublishedId() {
+		return lastPublishedId;
+	}
+
+	/**
+	 * Queues a comment line for every subscriber so dead connections are
+	 * detected and proxies do not close idle ones.
+	 */
+	@Scheduled(fixedDelayString = "${order.events.heartbeat-interval-ms:30000}")
+	public void heartbeat() {
+		for (Subscriber subscriber : subscribers.values()) {
+			subscriber.enqueue(HEARTBEAT);
+		}
+	}
+
+	private record PublishedEvent(long sequence, OrderEventDto orderEventDto) {
+	}
+
+	/**
+	 * A connected client with the events waiting to be written to it. At most
+	 * one fan-out thread drains a subscriber at a time, so its events stay in
+	 * order.
+	 */
+	private final class Subscriber {
+
+		private final SseEmitter emitter;
+		private final BlockingQueue<Object> pending;
+		private final AtomicBoolean draining = new AtomicBoolean();
+		private volatile boolean closed;
+
+		Subscriber(SseEmitter emitter, int capacity) {
+			this.emitter = emitter;
+			this.pending = new LinkedBlockingQueue<>(capacity);
+		}
+
+		void enqueue(Object message) {
+			if (closed) {
+				return;
+			}
+			if (!pending.offer(message)) {
+				// Completed by the drain task, as completing waits for a blocked write
+				log.debug("Order event subscriber fell behind, disconnecting it");
+				closed = true;
+				subscribers.remove(emitter);
+				pending.clear();
+			}
+			scheduleDrain();
+		}
+
+		private void scheduleDrain() {
+			if (draining.compareAndSet(false, true)) {
+				fanOutExecutor.execute(this::drain);
+			}
+		}
+
+		private void drain() {
+			try {
+				if (closed) {
+					emitter.complete();
+					return;
+				}
+				Object message;
+				while (!closed && (message = pending.poll()) != null) {
+					if (!send(message)) {
+						return;
+					}
+				}
+			} finally {
+				draining.set(false);
+			}
+			// Catch messages queued between the last poll and releasing the flag
+			if (!pending.isEmpty() || closed) {
+				scheduleDrain();
+			}
+		}
+
+		/**
+		 * Writes one message, dropping the subscriber if its connection has gone
+		 * away.
+		 */
+		private boolean send(Object message) {
+			try {
+				if (message == HEARTBEAT) {
+					emitter.send(SseEmitter.event().comment("heartbeat"));
+				} else {
+					OrderEventDto orderEventDto = (OrderEventDto) message;
+					emitter.send(SseEmitter.event()
+							.id(String.valueOf(orderEventDto.getId()))
+							.name(orderEventDto.getEventType())
+							.data(orderEventDto));
+				}
+				return true;
+			} catch (IOException | IllegalStateException e) {
+				log.debug("Dropping order event subscriber: {}", e.getMessage());
+				subscribers.remove(emitter);
+				closed = true;
+				pending.clear();
+				return false;
+			}
+		}
+	}
+}
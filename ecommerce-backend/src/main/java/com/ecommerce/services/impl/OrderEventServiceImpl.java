@@ -0,0 +1,166 @@
+package com.ecommerce.services.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ecommerce.entities.Order;
+import com.ecommerce.entities.OrderEvent;
+import com.ecommerce.entities.OrderItem;
+import com.ecommerce.enums.OrderEventType;
+import com.ecommerce.repositories.OrderEventRepository;
+import com.ecommerce.services.OrderEventService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventServiceImpl implements OrderEventService {
+
+	// Number of outbox rows read per relay query
+	private static final int RELAY_BATCH_SIZE = 500;
+
+	// Upper bound on the uncommitted ids watched for a late commit
+	private static final int MAX_OPEN_GAPS = 1000;
+
+	private final OrderEventRepository orderEventRepo;
+	private final OrderEventHub orderEventHub;
+
+	@Value("${order.events.retention-hours:24}")
+	private int retentionHours; // How long relayed events stay available for resuming clients
+
+	@Value("${order.events.gap-timeout-ms:300000}")
+	private long gapTimeoutMs; // How long a skipped id is watched for a late commit before it is assumed rolled back
+
+	// Ids below the newest relayed event that were not committed when it was
+	// read, with the time they were first seen missing; only touched by the relay
+	private final Map<Long, Long> openGaps = new TreeMap<>();
+
+	/**
+	 * Writes an ORDER_PLACED event to the outbox. Must be called inside the
+	 * transaction that saves the order.
+	 *
+	 * @param order The order that was placed.
+	 */
+	@Override
+	public void recordOrderPlaced(Order order) {
+		OrderEvent orderEvent = new OrderEvent();
+		orderEvent.setEventType(OrderEventType.ORDER_PLACED);
+		orderEvent.setOrderId(order.getId());
+
+		orderEventRepo.save(orderEvent);
+	}
+
+	/**
+	 * Writes an ORDER_ITEM_STATUS_CHANGED event to the outbox. Must be called
+	 * inside the transaction that updates the order item.
+	 *
+	 * @param orderItem The order item whose status changed.
+	 */
+	@Override
+	public void recordOrderItemStatusChanged(OrderItem orderItem) {
+		OrderEvent orderEvent = new OrderEvent();
+		orderEvent.setEventType(OrderEventType.ORDER_ITEM_STATUS_CHANGED);
+		orderEvent.setOrderItemId(orderItem.getId());
+		orderEvent.setStatus(orderItem.getStatus());
+		if (orderItem.getOrder() != null) {
+			orderEvent.setOrderId(orderItem.getOrder().getId());
+		}
+
+		orderEventRepo.save(orderEvent);
+	}
+
+	/**
+	 * Subscribes a client to the live order event stream.
+	 *
+	 * @param lastEventId The id of the last event the client received (optional).
+	 * @return The emitter streaming events to the client.
+	 */
+	@Override
+	public SseEmitter subscribe(Long lastEventId) {
+		return orderEventHub.subscribe(lastEventId);
+	}
+
+	/**
+	 * Relays committed outbox rows to the hub. Every node runs its own relay and
+	 * tracks its own position, so each node's subscribers see every event.
+	 *
+	 * Ids are allocated when a row is inserted but become visible when its
+	 * transaction commits, so a row can appear after rows with higher ids were
+	 * relayed. The ids skipped over are therefore watched, and relayed if their
+	 * row shows up, until order.events.gap-timeout-ms has passed and the
+	 * transaction is assumed rolled back.
+	 */
+	@Scheduled(fixedDelayString = "${order.events.relay-interval-ms:500}")
+	public void relayEvents() {
+		relayLateEvents();
+
+		List<OrderEvent> orderEvents;
+		do {
+			long lastPublishedId = orderEventHub.getLastPublishedId();
+			orderEvents = orderEventRepo.findByIdGreaterThanOrderByIdAsc(lastPublishedId,
+					PageRequest.of(0, RELAY_BATCH_SIZE));
+			if (!orderEvents.isEmpty()) {
+				recordGaps(lastPublishedId, orderEvents);
+				orderEventHub.publish(orderEvents);
+			}
+		} while (orderEvents.size() == RELAY_BATCH_SIZE);
+	}
+
+	/**
+	 * Relays rows that committed into previously skipped ids and stops watching
+	 * ids that have stayed empty past the timeout.
+	 */
+	private void relayLateEvents() {
+		if (openGaps.isEmpty()) {
+			return;
+		}
+
+		List<OrderEvent> lateEvents = orderEventRepo.findByIdInOrderByIdAsc(openGaps.keySet());
+		if (!lateEvents.isEmpty()) {
+			lateEvents.forEach(orderEvent -> openGaps.remove(orderEvent.getId()));
+			orderEventHub.publish(lateEvents);
+		}
+
+		long expiredBefore = System.currentTimeMillis() - gapTimeoutMs;
+		openGaps.values().removeIf(firstSeen -> firstSeen < expiredBefore);
+	}
+
+	/**
+	 * Records the ids skipped between the last relayed event and a new batch.
+	 */
+	private void recordGaps(long lastPublishedId, List<OrderEvent> orderEvents) {
+		long now = System.currentTimeMillis();
+		long expectedId = lastPublishedId + 1;
+		for (OrderEvent orderEvent : orderEvents) {
+			for (long id = expectedId; id < orderEvent.getId(); id++) {
+				if (openGaps.size() >= MAX_OPEN_GAPS) {
+					log.warn("Too many uncommitted order event ids, no longer watching id {}", id);
+					break;
+				}
+				openGaps.put(id, now);
+			}
+			expectedId = orderEvent.getId() + 1;
+		}
+	}
+
+	/**
+	 * Deletes outbox rows older than the retention window.
+	 */
+	@Scheduled(cron = "${order.events.cleanup-cron:0 0 * * * *}")
+	@Transactional
+	public void deleteExpiredEvents() {
+		int deleted = orderEventRepo.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+		log.info("Deleted {} expired order events", deleted);
+	}
+}
@@ -0,0 +1,247 @@
+package com.ecommerce.services.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.dto.OrderItemDto;
+import com.ecommerce.entities.ArchivedOrderItem;
+import com.ecommerce.entities.OrderItem;
+import com.ecommerce.enums.OrderStatus;
+import com.ecommerce.exceptions.InvalidCredentialsException;
+import com.ecommerce.mappers.EntityDtoMapper;
+import com.ecommerce.repositories.ArchivedOrderItemRepository;
+import com.ecommerce.repositories.OrderItemRepository;
+import com.ecommerce.repositories.SparseFieldRepository;
+import com.ecommerce.services.OrderItemArchiveService;
+import com.ecommerce.specification.ArchivedOrderItemSpecification;
+import com.ecommerce.specification.OrderItemSpecification;
+import com.ecommerce.specification.SparseFieldset.FieldSelection;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderItemArchiveServiceImpl implements OrderItemArchiveService {
+
+	// Only order items in a final state are moved to the cold tier
+	private static final Set<OrderStatus> ARCHIVABLE_STATUSES = EnumSet.of(OrderStatus.DELIVERED,
+			OrderStatus.CANCELLED);
+
+	private final OrderItemRepository orderItemRepo;
+	private final ArchivedOrderItemRepository archivedOrderItemRepo;
+	private final EntityDtoMapper entityDtoMapper;
+	private final SparseFieldRepository sparseFieldRepo;
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${order.archive.retention-days:90}")
+	private int retentionDays; // Days a finished order item stays in the hot table
+
+	@Value("${order.archive.batch-size:1000}")
+	private int batchSize; // Number of order items moved per transaction
+
+	@Value("${order.archive.max-merge-depth:10000}")
+	private int maxMergeDepth; // Deepest row (page offset plus size) reachable when paging across both tiers
+
+	/**
+	 * Runs the archival job on the configured schedule (nightly by default).
+	 */
+	@Scheduled(cron = "${order.archive.cron:0 30 2 * * *}")
+	public void scheduledArchive() {
+		int archived = archiveOrderItems();
+		log.info("Archived {} order items older than {} days", archived, retentionDays);
+	}
+
+	/**
+	 * Moves delivered and cancelled order items older than the retention window
+	 * from the hot table into the archive. Items are moved in fixed-size batches,
+	 * each in its own transaction, so the hot table is never locked for long.
+	 *
+	 * @return The number of order items archived.
+	 */
+	@Override
+	public int archiveOrderItems() {
+		LocalDateTime cutoff = hotTierCutoff();
+		int total = 0;
+
+		while (true) {
+			Integer moved = transactionTemplate.execute(status -> {
+				List<Long> ids = orderItemRepo.findArchivableIds(ARCHIVABLE_STATUSES, cutoff,
+						PageRequest.of(0, batchSize));
+				if (ids.isEmpty()) {
+					return 0;
+				}
+				archivedOrderItemRepo.copyFromOrderItems(ids, LocalDateTime.now());
+				orderItemRepo.deleteAllByIdInBatch(ids);
+
+				return ids.size();
+			});
+
+			if (moved == null || moved == 0) {
+				return total;
+			}
+			total += moved;
+		}
+	}
+
+	/**
+	 * Checks whether a filter can match archived order items. Only finished order
+	 * items are archived, and only once they are older than the retention window,
+	 * so filters on another status or on a recent date range stay on the hot
+	 * table.
+	 *
+	 * @param status    The order status being filtered by (optional).
+	 * @param startDate The start of the date range being filtered by (optional).
+	 * @return True if the archive has to be queried as well.
+	 */
+	@Override
+	public boolean reachesArchive(OrderStatus status, LocalDateTime startDate) {
+		if (status != null && !ARCHIVABLE_STATUSES.contains(status)) {
+			return false;
+		}
+
+		return startDate == null || startDate.isBefore(hotTierCutoff());
+	}
+
+	/**
+	 * Filters order items across the hot table and the archive and merges them
+	 * into a single page. Each tier is asked for the rows up to the end of the
+	 * requested page, the two sorted runs are merged, and the requested slice is
+	 * cut out of the result. As that costs the offset in rows per tier, pages
+	 * beyond order.archive.max-merge-depth rows are refused; deeper results are
+	 * reached by narrowing the filter.
+	 *
+	 * @param status    The order status to filter by.
+	 * @param startDate The start date for the filter.
+	 * @param endDate   The end date for the filter.
+	 * @param itemId    The ID of the order item to filter by.
+	 * @param pageable  The pagination details.
+	 * @param selection The fields to select, or null for the full representation.
+	 * @return A page of order items drawn from both tiers.
+	 * @throws InvalidCredentialsException If the page lies beyond the merge depth.
+	 */
+	@Override
+	public Page<OrderItemDto> filterAcrossTiers(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate,
+			Long itemId, Pageable pageable, FieldSelection<OrderItemDto> selection) {
+
+		Specification<OrderItem> hotSpec = Specification
+				.where(OrderItemSpecification.hasStatus(status))
+				.and(OrderItemSpecification.createdBetween(startDate, endDate))
+				.and(OrderItemSpecification.hasItemId(itemId));
+
+		Specification<ArchivedOrderItem> coldSpec = Specification
+				.where(ArchivedOrderItemSpecification.hasStatus(status))
+				.and(ArchivedOrderItemSpecification.createdBetween(startDate, endDate))
+				.and(ArchivedOrderItemSpecification.hasItemId(itemId));
+
+		Pageable head = mergeHead(pageable);
+
+		// Both entities share attribute names, so one selection serves both tiers
+		Page<OrderItemDto> hotPage = selection != null
+				? sparseFieldRepo.findPage(OrderItem.class, hotSpec, head, selection)
+				: orderItemRepo.findAll(hotSpec, head).map(entityDtoMapper::mapOrderItemToDtoPlusProductAndUser);
+		Page<OrderItemDto> coldPage = selection != null
+				? sparseFieldRepo.findPage(ArchivedOrderItem.class, coldSpec, head, selection)
+				: archivedOrderItemRepo.findAll(coldSpec, head)
+						.map(entityDtoMapper::mapArchivedOrderItemToDtoPlusProductAndUser);
+
+		return mergePages(hotPage, coldPage, pageable);
+	}
+
+	/**
+	 * Retrieves one page of a user's order history across the hot table and the
+	 * archive, so finished orders stay visible once they are archived. Both
+	 * tiers are read through their (user_id, created_at) index with products
+	 * fetched in the same query, and merged as in {@link #filterAcrossTiers}.
+	 *
+	 * @param userId   The ID of the user whose history to read.
+	 * @param pageable The pagination and sort details.
+	 * @return A page of the user's order items drawn from both tiers.
+	 * @throws InvalidCredentialsException If the page lies beyond the merge depth.
+	 */
+	@Override
+	public Page<OrderItemDto> orderHistoryAcrossTiers(Long userId, Pageable pageable) {
+		Pageable head = mergeHead(pageable);
+
+		Page<OrderItemDto> hotPage = orderItemRepo.findOrderHistoryByUserId(userId, head)
+				.map(entityDtoMapper::mapOrderItemToDtoPlusProduct);
+		Page<OrderItemDto> coldPage = archivedOrderItemRepo.findOrderHistoryByUserId(userId, head)
+				.map(entityDtoMapper::mapArchivedOrderItemToDtoPlusProduct);
+
+		return mergePages(hotPage, coldPage, pageable);
+	}
+
+	/**
+	 * Returns the first page of each tier that covers the requested page, i.e.
+	 * every row up to its end.
+	 */
+	private Pageable mergeHead(Pageable pageable) {
+		long depth = pageable.getOffset() + pageable.getPageSize();
+		if (depth > maxMergeDepth) {
+			throw new InvalidCredentialsException("Page too deep: at most " + maxMergeDepth
+					+ " order items can be paged through, narrow the filter to reach older ones");
+		}
+		return PageRequest.of(0, (int) depth, pageable.getSort());
+	}
+
+	/**
+	 * Merges the heads of both tiers, each sorted the same way, and cuts the
+	 * requested page out of the result.
+	 */
+	private Page<OrderItemDto> mergePages(Page<OrderItemDto> hotPage, Page<OrderItemDto> coldPage,
+			Pageable pageable) {
+		List<OrderItemDto> merged = new ArrayList<>(hotPage.getNumberOfElements() + coldPage.getNumberOfElements());
+		merged.addAll(hotPage.getContent());
+		merged.addAll(coldPage.getContent());
+		merged.sort(comparatorFor(pageable.getSort()));
+
+		int offset = (int) pageable.getOffset();
+		List<OrderItemDto> content = offset >= merged.size() ? List.of()
+				: merged.subList(offset, Math.min(merged.size(), offset + pageable.getPageSize()));
+
+		return new PageImpl<>(content, pageable, hotPage.getTotalElements() + coldPage.getTotalElements());
+	}
+
+	/**
+	 * Returns the point in time before which finished order items are eligible
+	 * for archiving.
+	 */
+	private LocalDateTime hotTierCutoff() {
+		return LocalDateTime.now().minusDays(retentionDays);
+	}
+
+	/**
+	 * Builds a comparator that orders merged order items the same way the
+	 * database ordered each tier. Sorting by creation date and ID is supported,
+	 * with the ID breaking ties between items created at the same time and
+	 * falling back to ID descending.
+	 */
+	private Comparator<OrderItemDto> comparatorFor(Sort sort) {
+		Sort.Order idOrder = sort.getOrderFor("id");
+		Comparator<OrderItemDto> byId = Comparator.comparing(OrderItemDto::getId);
+		byId = idOrder != null && idOrder.isAscending() ? byId : byId.reversed();
+
+		Sort.Order createdAtOrder = sort.getOrderFor("createdAt");
+		if (createdAtOrder != null) {
+			Comparator<OrderItemDto> byCreatedAt = Comparator.comparing(OrderItemDto::getCreatedAt);
+			return (createdAtOrder.isAscending() ? byCreatedAt : byCreatedAt.reversed()).thenComparing(byId);
+		}
+		return byId;
+	}
+}
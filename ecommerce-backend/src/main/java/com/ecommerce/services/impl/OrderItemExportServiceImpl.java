@@ -0,0 +1,271 @@
+package com.ecommerce.services.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.dto.OrderItemExportRow;
+import com.ecommerce.entities.ArchivedOrderItem;
+import com.ecommerce.entities.OrderItem;
+import com.ecommerce.enums.ExportFormat;
+import com.ecommerce.enums.OrderStatus;
+import com.ecommerce.services.OrderItemArchiveService;
+import com.ecommerce.services.OrderItemExportService;
+import com.ecommerce.specification.ArchivedOrderItemSpecification;
+import com.ecommerce.specification.OrderItemSpecification;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderItemExportServiceImpl implements OrderItemExportService {
+
+	private static final String CSV_HEADER = "id,createdAt,status,quantity,price,productId,productName,userId,userEmail";
+
+	// Rows written between explicit flushes so the client keeps receiving data
+	private static final int FLUSH_EVERY_ROWS = 1000;
+
+	private final EntityManager entityManager;
+	private final PlatformTransactionManager transactionManager;
+	private final OrderItemArchiveService orderItemArchiveService;
+	private final ObjectMapper objectMapper;
+
+	@Value("${order.export.fetch-size:1000}")
+	private int fetchSize; // JDBC fetch size of the export cursor
+
+	/**
+	 * Streams every order item matching the filters to the output stream in the
+	 * requested format. Rows are read through a forward-only cursor as flat
+	 * projections and written as they arrive, so memory use does not grow with
+	 * the size of the export. The archive is included when the filters reach it.
+	 *
+	 * @param status       The order status to filter by (optional).
+	 * @param startDate    The start date for the filter (optional).
+	 * @param endDate      The end date for the filter (optional).
+	 * @param itemId       The ID of the order item to filter by (optional).
+	 * @param format       The output format.
+	 * @param outputStream The stream the export is written to.
+	 * @return The number of rows written.
+	 * @throws IOException If writing to the output stream fails.
+	 */
+	@Override
+	public long exportOrderItems(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate, Long itemId,
+			ExportFormat format, OutputStream outputStream) throws IOException {
+
+		Specification<OrderItem> hotSpec = Specification
+				.where(OrderItemSpecification.hasStatus(status))
+				.and(OrderItemSpecification.createdBetween(startDate, endDate))
+				.and(OrderItemSpecification.hasItemId(itemId));
+
+		boolean includeArchive = orderItemArchiveService.reachesArchive(status, startDate);
+		Specification<ArchivedOrderItem> coldSpec = Specification
+				.where(ArchivedOrderItemSpecification.hasStatus(status))
+				.and(ArchivedOrderItemSpecification.createdBetween(startDate, endDate))
+				.and(ArchivedOrderItemSpecification.hasItemId(itemId));
+
+		TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+		readOnlyTransaction.setReadOnly(true);
+
+		try (RowWriter rowWriter = format == ExportFormat.NDJSON
+				? new NdjsonRowWriter(outputStream)
+				: new CsvRowWriter(outputStream)) {
+
+			Long written = readOnlyTransaction.execute(transactionStatus -> {
+				long count = writeRows(streamRows(OrderItem.class, hotSpec), rowWriter);
+				if (includeArchive) {
+					count += writeRows(streamRows(ArchivedOrderItem.class, coldSpec), rowWriter);
+				}
+				return count;
+			});
+
+			log.info("Exported {} order items as {}", written, format);
+			return written == null ? 0 : written;
+
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Opens a forward-only stream of export rows for either tier. Both entities
+	 * share the attribute names used here, so the same projection serves both.
+	 */
+	private <E> Stream<OrderItemExportRow> streamRows(Class<E> entityType, Specification<E> spec) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<OrderItemExportRow> query = criteriaBuilder.createQuery(OrderItemExportRow.class);
+		Root<E> root = query.from(entityType);
+		From<?, ?> product = root.join("product", JoinType.LEFT);
+		From<?, ?> user = root.join("user", JoinType.LEFT);
+
+		query.select(criteriaBuilder.construct(OrderItemExportRow.class,
+				root.get("id"), root.get("createdAt"), root.get("status"), root.get("quantity"), root.get("price"),
+				product.get("id"), product.get("name"), user.get("id"), user.get("email")));
+
+		Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+		if (predicate != null) {
+			query.where(predicate);
+		}
+		query.orderBy(criteriaBuilder.asc(root.get("id")));
+
+		return entityManager.createQuery(query)
+				.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+				.setHint(HibernateHints.HINT_READ_ONLY, true)
+				.getResultStream();
+	}
+
+	/**
+	 * Drains a row stream into the writer, flushing periodically so output keeps
+	 * flowing to the client.
+	 */
+	private long writeRows(Stream<OrderItemExportRow> rows, RowWriter rowWriter) {
+		long count = 0;
+		try (rows) {
+			Iterator<OrderItemExportRow> iterator = rows.iterator();
+			while (iterator.hasNext()) {
+				rowWriter.write(iterator.next());
+				if (++count % FLUSH_EVERY_ROWS == 0) {
+					rowWriter.flush();
+				}
+			}
+			rowWriter.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return count;
+	}
+
+	/**
+	 * Writes export rows in one output format.
+	 */
+	private interface RowWriter extends AutoCloseable {
+
+		void write(OrderItemExportRow row) throws IOException;
+
+		void flush() throws IOException;
+
+		@Override
+		void close() throws IOException;
+	}
+
+	/**
+	 * Writes rows as RFC 4180 CSV with a header line.
+	 */
+	private static final class CsvRowWriter implements RowWriter {
+
+		private final Writer writer;
+
+		CsvRowWriter(OutputStream outputStream) throws IOException {
+			this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+			writer.write(CSV_HEADER);
+			writer.write("\r\n");
+			writer.flush();
+		}
+
+		@Override
+		public void write(OrderItemExportRow row) throws IOException {
+			writer.write(String.valueOf(row.getId()));
+			writer.write(',');
+			writer.write(row.getCreatedAt() != null ? row.getCreatedAt().toString() : "");
+			writer.write(',');
+			writer.write(row.getStatus() != null ? row.getStatus().name() : "");
+			writer.write(',');
+			writer.write(row.getQuantity() != null ? row.getQuantity().toString() : "");
+			writer.write(',');
+			writer.write(row.getPrice() != null ? row.getPrice().toPlainString() : "");
+			writer.write(',');
+			writer.write(row.getProductId() != null ? row.getProductId().toString() : "");
+			writer.write(',');
+			writeEscaped(row.getProductName());
+			writer.write(',');
+			writer.write(row.getUserId() != null ? row.getUserId().toString() : "");
+			writer.write(',');
+			writeEscaped(row.getUserEmail());
+			writer.write("\r\n");
+		}
+
+		private void writeEscaped(String value) throws IOException {
+			if (value == null) {
+				return;
+			}
+			if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+					&& value.indexOf('\r') < 0) {
+				writer.write(value);
+				return;
+			}
+			writer.write('"');
+			writer.write(value.replace("\"", "\"\""));
+			writer.write('"');
+		}
+
+		@Override
+		public void flush() throws IOException {
+			writer.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			writer.flush();
+		}
+	}
+
+	/**
+	 * Writes rows as newline-delimited JSON, one object per line.
+	 */
+	private final class NdjsonRowWriter implements RowWriter {
+
+		private final JsonGenerator generator;
+		private final ObjectWriter rowWriter;
+
+		NdjsonRowWriter(OutputStream outputStream) throws IOException {
+			// Flushing is driven by writeRows, not by every value written
+			this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+			this.generator = objectMapper.getFactory().createGenerator(outputStream);
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.setRootValueSeparator(new SerializedString("\n"));
+		}
+
+		@Override
+		public void write(OrderItemExportRow row) throws IOException {
+			rowWriter.writeValue(generator, row);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			generator.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			generator.writeRaw('\n');
+			generator.close();
+		}
+	}
+}
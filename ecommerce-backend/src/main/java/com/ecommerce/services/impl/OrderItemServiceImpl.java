@@ -9,10 +9,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.ecommerce.dto.OrderItemDto;
+import com.ecommerce.dto.ProductDto;
 import com.ecommerce.dto.OrderRequest;
+import com.ecommerce.dto.PriceQuote;
 import com.ecommerce.dto.Response;
+import com.ecommerce.dto.UserDto;
 import com.ecommerce.entities.Order;
 import com.ecommerce.entities.OrderItem;
 import com.ecommerce.entities.Product;
@@ -23,9 +27,18 @@ import com.ecommerce.mappers.EntityDtoMapper;
 import com.ecommerce.repositories.OrderItemRepository;
 import com.ecommerce.repositories.OrderRepository;
 import com.ecommerce.repositories.ProductRepository;
+import com.ecommerce.repositories.SparseFieldRepository;
+import com.ecommerce.services.BestsellerService;
+import com.ecommerce.services.OrderEventService;
+import com.ecommerce.services.OrderItemArchiveService;
 import com.ecommerce.services.OrderItemService;
+import com.ecommerce.services.PaymentService;
+import com.ecommerce.services.PricingService;
+import com.ecommerce.services.RecommendationService;
 import com.ecommerce.services.UserService;
 import com.ecommerce.specification.OrderItemSpecification;
+import com.ecommerce.specification.SparseFieldset;
+import com.ecommerce.specification.SparseFieldset.FieldSelection;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,11 +48,37 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class OrderItemServiceImpl implements OrderItemService {
 
+	// Fields clients can request through fields= on the order item filter
+	private static final SparseFieldset<OrderItemDto> ORDER_ITEM_FIELDS = SparseFieldset
+			.<OrderItemDto>builder(OrderItemDto::new)
+			.id("id", Long.class, OrderItemDto::setId)
+			.field("quantity", Integer.class, OrderItemDto::setQuantity)
+			.field("price", BigDecimal.class, OrderItemDto::setPrice)
+			.field("status", OrderStatus.class, (orderItem, status) -> orderItem.setStatus(status.name()))
+			.field("createdAt", LocalDateTime.class, OrderItemDto::setCreatedAt)
+			.field("product.id", Long.class, (orderItem, id) -> productOf(orderItem).setId(id))
+			.field("product.name", String.class, (orderItem, name) -> productOf(orderItem).setName(name))
+			.field("product.price", BigDecimal.class, (orderItem, price) -> productOf(orderItem).setPrice(price))
+			.field("product.imageUrl", String.class, (orderItem, url) -> productOf(orderItem).setImageUrl(url))
+			.field("product.thumbnailUrl", String.class, (orderItem, url) -> productOf(orderItem).setThumbnailUrl(url))
+			.field("user.id", Long.class, (orderItem, id) -> userOf(orderItem).setId(id))
+			.field("user.name", String.class, (orderItem, name) -> userOf(orderItem).setName(name))
+			.field("user.email", String.class, (orderItem, email) -> userOf(orderItem).setEmail(email))
+			.field("user.phoneNumber", String.class, (orderItem, phone) -> userOf(orderItem).setPhoneNumber(phone))
+			.build();
+
 	private final OrderRepository orderRepo;
 	private final OrderItemRepository orderItemRepo;
 	private final ProductRepository productRepo;
+	private final PricingService pricingService;
 	private final UserService userService;
+	private final OrderItemArchiveService orderItemArchiveService;
+	private final OrderEventService orderEventService;
+	private final PaymentService paymentService;
+	private final BestsellerService bestsellerService;
+	private final RecommendationService recommendationService;
 	private final EntityDtoMapper entityDtoMapper;
+	private final SparseFieldRepository sparseFieldRepo;
 
 	/**
 	 * Places an order for the logged-in user based on the provided order request.
@@ -48,21 +87,20 @@ public class OrderItemServiceImpl implements OrderItemService {
 	 * @return A Response indicating the status of the operation.
 	 */
 	@Override
+	@Transactional
 	public Response placeOrder(OrderRequest orderRequest) {
 
-		User user = userService.getLoginUser();
+		User user = userService.getLoginUserReference();
 
-		List<OrderItem> orderItems = orderRequest.getItems().stream().map(orderItemRequest -> {
+		// price the cart on the server, the client supplied total is never trusted
+		PriceQuote priceQuote = pricingService.priceCart(orderRequest.getItems(), orderRequest.getCouponCode());
 
-			Product product = productRepo.findById(orderItemRequest.getProductId())
-					.orElseThrow(() -> new NotFoundException("Product Not Found"));
+		List<OrderItem> orderItems = priceQuote.getLines().stream().map(line -> {
 
 			OrderItem orderItem = new OrderItem();
-			orderItem.setProduct(product);
-			orderItem.setQuantity(orderItemRequest.getQuantity());
-			orderItem.setPrice(product
-								.getPrice()
-								.multiply(BigDecimal.valueOf(orderItemRequest.getQuantity())));
+			orderItem.setProduct(productRepo.getReferenceById(line.getProductId()));
+			orderItem.setQuantity(line.getQuantity());
+			orderItem.setPrice(line.getLineTotal());
 
 			orderItem.setStatus(OrderStatus.PENDING);
 			orderItem.setUser(user);
@@ -71,11 +109,7 @@ public class OrderItemServiceImpl implements OrderItemService {
 
 		}).collect(Collectors.toList());
 
-		// calculate the total price
-		BigDecimal totalPrice = orderRequest.getTotalPrice() != null
-				&& orderRequest.getTotalPrice().compareTo(BigDecimal.ZERO) > 0 ? 
-						orderRequest.getTotalPrice() : 
-							orderItems.stream().map(OrderItem::getPrice).reduce(BigDecimal.ZERO, BigDecimal::add);
+		BigDecimal totalPrice = priceQuote.getTotal();
 
 		// create order entity
 		Order order = new Order();
@@ -86,10 +120,31 @@ public class OrderItemServiceImpl implements OrderItemService {
 		orderItems.forEach(orderItem -> orderItem.setOrder(order));
 
 		orderRepo.save(order);
+		orderEventService.recordOrderPlaced(order);
+		bestsellerService.recordOrder(order);
+		recommendationService.recordOrder(order);
+
+		// authorization runs asynchronously once this transaction commits
+		paymentService.createPayment(order, orderRequest.getPaymentInfo());
 
 		return Response.builder().status(200).message("Order was successfully placed").build();
 	}
 
+	/**
+	 * Prices an order request without placing it, applying the same promotions
+	 * placeOrder would.
+	 *
+	 * @param orderRequest The items and optional coupon code to price.
+	 * @return A Response containing the price quote.
+	 */
+	@Override
+	public Response priceOrder(OrderRequest orderRequest) {
+
+		PriceQuote priceQuote = pricingService.priceCart(orderRequest.getItems(), orderRequest.getCouponCode());
+
+		return Response.builder().status(200).priceQuote(priceQuote).build();
+	}
+
 	/**
 	 * Updates the status of an order item by its ID.
 	 *
@@ -98,6 +153,7 @@ public class OrderItemServiceImpl implements OrderItemService {
 	 * @return A Response indicating the status of the operation.
 	 */
 	@Override
+	@Transactional
 	public Response updateOrderItemStatus(Long orderItemId, String status) {
 		
 		OrderItem orderItem = orderItemRepo.findById(orderItemId)
@@ -105,6 +161,7 @@ public class OrderItemServiceImpl implements OrderItemService {
 
 		orderItem.setStatus(OrderStatus.valueOf(status.toUpperCase()));
 		orderItemRepo.save(orderItem);
+		orderEventService.recordOrderItemStatusChanged(orderItem);
 		
 		return Response
 				.builder()
@@ -121,33 +178,56 @@ public class OrderItemServiceImpl implements OrderItemService {
 	 * @param endDate   The end date for the filter.
 	 * @param itemId    The ID of the order item to filter by.
 	 * @param pageable  The pagination details.
+	 * @param fields    The fields to return, comma separated (optional, all by
+	 *                  default); only their columns are selected.
 	 * @return A Response containing the filtered order items.
 	 */
 	@Override
 	public Response filterOrderItems(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate, Long itemId,
-			Pageable pageable) {
+			Pageable pageable, String fields) {
 		
-		Specification<OrderItem> spec = Specification
-				.where(OrderItemSpecification.hasStatus(status))
-				.and(OrderItemSpecification.createdBetween(startDate, endDate))
-				.and(OrderItemSpecification.hasItemId(itemId));
-
-		Page<OrderItem> orderItemPage = orderItemRepo.findAll(spec, pageable);
+		FieldSelection<OrderItemDto> selection = ORDER_ITEM_FIELDS.select(fields);
+		Page<OrderItemDto> orderItemPage;
+
+		// Ranges that reach back past the retention window are served from both tiers
+		if (orderItemArchiveService.reachesArchive(status, startDate)) {
+			orderItemPage = orderItemArchiveService.filterAcrossTiers(status, startDate, endDate, itemId, pageable,
+					selection);
+		} else {
+			Specification<OrderItem> spec = Specification
+					.where(OrderItemSpecification.hasStatus(status))
+					.and(OrderItemSpecification.createdBetween(startDate, endDate))
+					.and(OrderItemSpecification.hasItemId(itemId));
+
+			orderItemPage = selection != null
+					? sparseFieldRepo.findPage(OrderItem.class, spec, pageable, selection)
+					: orderItemRepo.findAll(spec, pageable).map(entityDtoMapper::mapOrderItemToDtoPlusProductAndUser);
+		}
 
 		if (orderItemPage.isEmpty()) {
 			throw new NotFoundException("No Order Found");
 		}
-		
-		List<OrderItemDto> orderItemDtos = orderItemPage.getContent().stream()
-				.map(entityDtoMapper::mapOrderItemToDtoPlusProductAndUser)
-				.collect(Collectors.toList());
 
 		return Response
 				.builder()
 				.status(200)
-				.orderItemList(orderItemDtos)
+				.orderItemList(orderItemPage.getContent())
 				.totalPage(orderItemPage.getTotalPages())
 				.totalElement(orderItemPage.getTotalElements())
 				.build();
 	}
+
+	private static ProductDto productOf(OrderItemDto orderItemDto) {
+		if (orderItemDto.getProduct() == null) {
+			orderItemDto.setProduct(new ProductDto());
+		}
+		return orderItemDto.getProduct();
+	}
+
+	private static UserDto userOf(OrderItemDto orderItemDto) {
+		if (orderItemDto.getUser() == null) {
+			orderItemDto.setUser(new UserDto());
+		}
+		return orderItemDto.getUser();
+	}
 }
@@ -0,0 +1,349 @@
+package com.ecommerce.services.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.dto.GatewayAuthorization;
+import com.ecommerce.entities.Order;
+import com.ecommerce.entities.OrderItem;
+import com.ecommerce.entities.Payment;
+import com.ecommerce.enums.OrderStatus;
+import com.ecommerce.enums.PaymentStatus;
+import com.ecommerce.exceptions.PaymentGatewayException;
+import com.ecommerce.repositories.PaymentRepository;
+import com.ecommerce.services.OrderEventService;
+import com.ecommerce.services.PaymentGateway;
+import com.ecommerce.services.PaymentService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs payments through the gateway off the request thread. Placing an order
+ * only inserts a PENDING payment; once that commits, authorization is handed to
+ * a small bounded pool so slow gateway calls never hold a Tomcat worker.
+ * Authorized payments are captured in batches by a scheduled settlement run.
+ *
+ * A payment is claimed with a conditional status update before the gateway is
+ * called, so a payment is never authorized twice concurrently. Payments left
+ * PENDING (queue full, gateway error) or stuck AUTHORIZING (node crash) are
+ * picked up again by the recovery sweep.
+ *
+ * Gateway calls run on their own threads and are abandoned once their timeout
+ * elapses, so a gateway that ignores the timeout it is given cannot hang a
+ * worker; the payment is retried like after any other gateway error.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentServiceImpl implements PaymentService {
+
+	private final PaymentRepository paymentRepo;
+	private final PaymentGateway paymentGateway;
+	private final OrderEventService orderEventService;
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${payment.authorization.concurrency:8}")
+	private int authorizationConcurrency; // Gateway authorizations in flight at once
+
+	@Value("${payment.authorization.queue-capacity:500}")
+	private int authorizationQueueCapacity; // Authorizations waiting for a worker before new ones are deferred
+
+	@Value("${payment.authorization.timeout-ms:10000}")
+	private long authorizationTimeoutMs; // Timeout of a single gateway authorization
+
+	@Value("${payment.authorization.max-attempts:3}")
+	private int maxAttempts; // Authorization attempts before a payment is failed
+
+	@Value("${payment.authorization.retry-delay-ms:30000}")
+	private long retryDelayMs; // Delay before a deferred or errored payment is retried
+
+	@Value("${payment.authorization.stuck-after-ms:300000}")
+	private long stuckAfterMs; // Age after which an AUTHORIZING payment is assumed abandoned
+
+	@Value("${payment.settlement.batch-size:200}")
+	private int settlementBatchSize; // Authorized payments captured per gateway call
+
+	@Value("${payment.settlement.timeout-ms:60000}")
+	private long settlementTimeoutMs; // Timeout of a single capture call
+
+	private ThreadPoolExecutor authorizationExecutor;
+	private ThreadPoolExecutor gatewayCallExecutor;
+
+	@PostConstruct
+	private void init() {
+		AtomicInteger threadCount = new AtomicInteger();
+		authorizationExecutor = new ThreadPoolExecutor(authorizationConcurrency, authorizationConcurrency, 60,
+				TimeUnit.SECONDS, new ArrayBlockingQueue<>(authorizationQueueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "payment-auth-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		authorizationExecutor.allowCoreThreadTimeOut(true);
+
+		// Room for every worker and the settlement run, plus as many calls again
+		// left hanging by a gateway that ignores interrupts
+		AtomicInteger callThreadCount = new AtomicInteger();
+		gatewayCallExecutor = new ThreadPoolExecutor(0, (authorizationConcurrency + 1) * 2, 60, TimeUnit.SECONDS,
+				new SynchronousQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "payment-gateway-" + callThreadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+
+	@PreDestroy
+	private void shutdown() {
+		authorizationExecutor.shutdown();
+		gatewayCallExecutor.shutdownNow();
+	}
+
+	/**
+	 * Records a PENDING payment for a newly placed order and schedules its
+	 * authorization for after the surrounding transaction commits. An order
+	 * discounted to a zero total has nothing to authorize: its payment is
+	 * recorded as captured and its items are confirmed straight away.
+	 *
+	 * @param order       The order being paid for (its total is the amount).
+	 * @param paymentInfo The payment details supplied by the client (optional).
+	 * @return The saved payment.
+	 */
+	@Override
+	public Payment createPayment(Order order, Payment paymentInfo) {
+		Payment payment = new Payment();
+		payment.setOrder(order);
+		payment.setAmount(order.getTotalPrice());
+		payment.setMethod(paymentInfo != null ? paymentInfo.getMethod() : null);
+
+		if (order.getTotalPrice().signum() == 0) {
+			payment.setStatus(PaymentStatus.CAPTURED);
+			payment.setCapturedAt(LocalDateTime.now());
+			Payment savedPayment = paymentRepo.save(payment);
+			updatePendingItems(order, OrderStatus.CONFIRMED);
+			return savedPayment;
+		}
+
+		payment.setStatus(PaymentStatus.PENDING);
+		Payment savedPayment = paymentRepo.save(payment);
+		Long paymentId = savedPayment.getId();
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					submitAuthorization(paymentId);
+				}
+			});
+		} else {
+			submitAuthorization(paymentId);
+		}
+
+		return savedPayment;
+	}
+
+	/**
+	 * Hands a payment to the authorization pool. When the pool is saturated the
+	 * payment stays PENDING and the recovery sweep retries it later.
+	 */
+	private void submitAuthorization(Long paymentId) {
+		try {
+			authorizationExecutor.execute(() -> authorize(paymentId));
+		} catch (RejectedExecutionException e) {
+			log.warn("Authorization queue full, deferring payment {}", paymentId);
+		}
+	}
+
+	private void authorize(Long paymentId) {
+		Payment payment = transactionTemplate.execute(status -> {
+			if (paymentRepo.claim(paymentId, PaymentStatus.PENDING, PaymentStatus.AUTHORIZING,
+					LocalDateTime.now()) == 0) {
+				return null;
+			}
+			return paymentRepo.findById(paymentId).orElse(null);
+		});
+		if (payment == null) {
+			return; // already claimed elsewhere
+		}
+
+		GatewayAuthorization authorization;
+		try {
+			authorization = callGateway(() -> paymentGateway.authorize("payment-" + paymentId, payment.getAmount(),
+					payment.getMethod(), Duration.ofMillis(authorizationTimeoutMs)), authorizationTimeoutMs);
+		} catch (RuntimeException e) {
+			log.warn("Authorization of payment {} failed on attempt {}: {}", paymentId, payment.getAttempts(),
+					e.getMessage());
+			if (payment.getAttempts() >= maxAttempts) {
+				completeAuthorization(paymentId, new GatewayAuthorization(false, null, "Payment gateway unavailable"));
+			} else {
+				transactionTemplate.executeWithoutResult(status -> paymentRepo.transitionAll(List.of(paymentId),
+						PaymentStatus.AUTHORIZING, PaymentStatus.PENDING, LocalDateTime.now()));
+			}
+			return;
+		}
+
+		completeAuthorization(paymentId, authorization);
+	}
+
+	/**
+	 * Stores the gateway's answer and advances the order: approved payments
+	 * confirm the order's pending items, declined ones cancel them.
+	 */
+	private void completeAuthorization(Long paymentId, GatewayAuthorization authorization) {
+		transactionTemplate.executeWithoutResult(status -> {
+			Payment payment = paymentRepo.findWithOrderById(paymentId).orElse(null);
+			if (payment == null || payment.getStatus() != PaymentStatus.AUTHORIZING) {
+				return;
+			}
+
+			OrderStatus itemStatus;
+			if (authorization.isApproved()) {
+				payment.setStatus(PaymentStatus.AUTHORIZED);
+				payment.setAuthorizationCode(authorization.getAuthorizationCode());
+				itemStatus = OrderStatus.CONFIRMED;
+			} else {
+				payment.setStatus(PaymentStatus.FAILED);
+				payment.setFailureReason(authorization.getDeclineReason());
+				itemStatus = OrderStatus.CANCELLED;
+			}
+			payment.setUpdatedAt(LocalDateTime.now());
+
+			updatePendingItems(payment.getOrder(), itemStatus);
+		});
+	}
+
+	private void updatePendingItems(Order order, OrderStatus itemStatus) {
+		for (OrderItem orderItem : order.getOrderItemList()) {
+			if (orderItem.getStatus() == OrderStatus.PENDING) {
+				orderItem.setStatus(itemStatus);
+				orderEventService.recordOrderItemStatusChanged(orderItem);
+			}
+		}
+	}
+
+	/**
+	 * Re-queues payments that were deferred or errored and releases payments
+	 * whose authorizing node went away.
+	 */
+	@Scheduled(fixedDelayString = "${payment.authorization.recovery-interval-ms:30000}")
+	public void recoverPendingPayments() {
+		LocalDateTime now = LocalDateTime.now();
+
+		List<Long> stuckIds = paymentRepo.findIdsByStatusUpdatedBefore(PaymentStatus.AUTHORIZING,
+				now.minus(Duration.ofMillis(stuckAfterMs)), PageRequest.of(0, authorizationQueueCapacity));
+		if (!stuckIds.isEmpty()) {
+			transactionTemplate.executeWithoutResult(status -> paymentRepo.transitionAll(stuckIds,
+					PaymentStatus.AUTHORIZING, PaymentStatus.PENDING, now));
+			log.warn("Released {} payments stuck in authorization", stuckIds.size());
+		}
+
+		int capacity = authorizationExecutor.getQueue().remainingCapacity();
+		if (capacity == 0) {
+			return;
+		}
+		paymentRepo.findIdsByStatusUpdatedBefore(PaymentStatus.PENDING, now.minus(Duration.ofMillis(retryDelayMs)),
+				PageRequest.of(0, capacity)).forEach(this::submitAuthorization);
+	}
+
+	/**
+	 * Captures authorized payments in batches, one gateway call per batch.
+	 * Payments the gateway does not confirm stay AUTHORIZED for the next run.
+	 */
+	@Override
+	@Scheduled(cron = "${payment.settlement.cron:0 */5 * * * *}")
+	public void settleAuthorizedPayments() {
+		long settled = 0;
+
+		while (true) {
+			List<Payment> batch = paymentRepo.findByStatusOrderByIdAsc(PaymentStatus.AUTHORIZED,
+					PageRequest.of(0, settlementBatchSize));
+			if (batch.isEmpty()) {
+				break;
+			}
+
+			Map<String, Long> paymentIdsByCode = batch.stream()
+					.collect(Collectors.toMap(Payment::getAuthorizationCode, Payment::getId));
+
+			Set<String> captured;
+			try {
+				List<String> authorizationCodes = List.copyOf(paymentIdsByCode.keySet());
+				captured = callGateway(() -> paymentGateway.capture(authorizationCodes,
+						Duration.ofMillis(settlementTimeoutMs)), settlementTimeoutMs);
+			} catch (RuntimeException e) {
+				log.warn("Settlement run stopped after {} payments: {}", settled, e.getMessage());
+				return;
+			}
+
+			List<Long> capturedIds = captured.stream().map(paymentIdsByCode::get).filter(id -> id != null).toList();
+			if (capturedIds.isEmpty()) {
+				break; // nothing moved, avoid spinning on the same batch
+			}
+			Integer updated = transactionTemplate
+					.execute(status -> paymentRepo.markCaptured(capturedIds, LocalDateTime.now()));
+			settled += updated == null ? 0 : updated;
+
+			if (batch.size() < settlementBatchSize) {
+				break;
+			}
+		}
+
+		if (settled > 0) {
+			log.info("Settled {} payments", settled);
+		}
+	}
+
+	/**
+	 * Runs a gateway call on its own thread and waits at most the timeout for
+	 * it. A call that overruns is interrupted and abandoned.
+	 *
+	 * @throws PaymentGatewayException If the call fails, times out, or no thread
+	 *                                 is free to make it.
+	 */
+	private <T> T callGateway(Callable<T> call, long timeoutMs) {
+		Future<T> result;
+		try {
+			result = gatewayCallExecutor.submit(call);
+		} catch (RejectedExecutionException e) {
+			throw new PaymentGatewayException("Too many gateway calls in progress");
+		}
+
+		try {
+			return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			result.cancel(true);
+			throw new PaymentGatewayException("Gateway call timed out after " + timeoutMs + " ms");
+		} catch (InterruptedException e) {
+			result.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new PaymentGatewayException("Interrupted while calling the gateway");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new PaymentGatewayException("Gateway call failed: " + e.getCause().getMessage());
+		}
+	}
+}
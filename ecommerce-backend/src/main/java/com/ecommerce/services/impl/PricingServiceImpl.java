@@ -0,0 +1,290 @@
+package com.ecommerce.services.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.dto.OrderItemRequest;
+import com.ecommerce.dto.PriceQuote;
+import com.ecommerce.dto.PriceQuoteLine;
+import com.ecommerce.entities.Product;
+import com.ecommerce.entities.Promotion;
+import com.ecommerce.enums.PromotionType;
+import com.ecommerce.exceptions.InvalidCredentialsException;
+import com.ecommerce.exceptions.NotFoundException;
+import com.ecommerce.repositories.ProductRepository;
+import com.ecommerce.repositories.PromotionRepository;
+import com.ecommerce.services.PricingService;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server-side cart pricing. Active promotions are compiled into an immutable
+ * index (by product, by category, storewide, and per coupon code) whenever they
+ * change, so pricing a cart is a single pass over its lines with a few hash
+ * lookups each and never touches the promotions table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PricingServiceImpl implements PricingService {
+
+	private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+	private final PromotionRepository promotionRepo;
+	private final ProductRepository productRepo;
+
+	private volatile CompiledPromotions compiledPromotions = CompiledPromotions.EMPTY;
+
+	@PostConstruct
+	private void init() {
+		reloadPromotions();
+	}
+
+	/**
+	 * Recompiles the active promotions. Runs on a schedule as well so edits made
+	 * on other nodes are picked up.
+	 */
+	@Override
+	@Scheduled(fixedDelayString = "${pricing.reload-interval-ms:60000}")
+	public void reloadPromotions() {
+		List<Promotion> promotions = promotionRepo.findByActiveTrue();
+		compiledPromotions = CompiledPromotions.compile(promotions);
+		log.debug("Compiled {} active promotions", promotions.size());
+	}
+
+	/**
+	 * Prices a cart. Each line gets the single best promotion that applies to it
+	 * (product, category or storewide, plus the coupon's promotions when a coupon
+	 * is given); promotions do not stack.
+	 *
+	 * @param items      The cart lines (product ID and quantity).
+	 * @param couponCode The coupon code entered by the customer (optional).
+	 * @return The priced cart.
+	 */
+	@Override
+	public PriceQuote priceCart(List<OrderItemRequest> items, String couponCode) {
+		if (items == null || items.isEmpty()) {
+			throw new InvalidCredentialsException("Order must contain at least one item");
+		}
+
+		CompiledPromotions promotions = compiledPromotions;
+		PromotionIndex couponIndex = null;
+		String normalizedCoupon = normalizeCouponCode(couponCode);
+		if (normalizedCoupon != null) {
+			couponIndex = promotions.byCoupon.get(normalizedCoupon);
+			if (couponIndex == null) {
+				throw new InvalidCredentialsException("Invalid coupon code");
+			}
+		}
+
+		Map<Long, Product> products = productRepo
+				.findAllById(items.stream().map(OrderItemRequest::getProductId).distinct().toList())
+				.stream()
+				.collect(Collectors.toMap(Product::getId, Function.identity()));
+
+		long now = System.currentTimeMillis();
+		BigDecimal subtotal = BigDecimal.ZERO;
+		BigDecimal discount = BigDecimal.ZERO;
+		List<PriceQuoteLine> lines = new ArrayList<>(items.size());
+
+		for (OrderItemRequest item : items) {
+			Product product = products.get(item.getProductId());
+			if (product == null) {
+				throw new NotFoundException("Product Not Found");
+			}
+			if (item.getQuantity() <= 0) {
+				throw new InvalidCredentialsException("Quantity must be greater than zero");
+			}
+
+			BigDecimal unitPrice = product.getPrice();
+			int quantity = item.getQuantity();
+			BigDecimal lineSubtotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+			Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+
+			AppliedDiscount best = promotions.automatic.bestDiscount(product.getId(), categoryId, unitPrice,
+					quantity, now, null);
+			if (couponIndex != null) {
+				best = couponIndex.bestDiscount(product.getId(), categoryId, unitPrice, quantity, now, best);
+			}
+
+			BigDecimal lineDiscount = best == null ? BigDecimal.ZERO : best.amount.min(lineSubtotal);
+			BigDecimal lineTotal = lineSubtotal.subtract(lineDiscount);
+
+			lines.add(new PriceQuoteLine(product.getId(), quantity, unitPrice, lineDiscount, lineTotal,
+					best == null ? null : best.promotionId));
+			subtotal = subtotal.add(lineSubtotal);
+			discount = discount.add(lineDiscount);
+		}
+
+		return new PriceQuote(subtotal, discount, subtotal.subtract(discount), normalizedCoupon, lines);
+	}
+
+	/**
+	 * Normalises a coupon code for lookup, treating blank codes as absent.
+	 */
+	static String normalizeCouponCode(String couponCode) {
+		if (couponCode == null || couponCode.isBlank()) {
+			return null;
+		}
+		return couponCode.trim().toUpperCase(Locale.ROOT);
+	}
+
+	/**
+	 * The discount chosen for a cart line.
+	 */
+	private record AppliedDiscount(long promotionId, BigDecimal amount) {
+	}
+
+	/**
+	 * A promotion reduced to what is needed to evaluate it: its validity window
+	 * as epoch millis and its discount parameters in ready-to-use form.
+	 */
+	private static final class CompiledRule {
+
+		private final long promotionId;
+		private final long startsAt;
+		private final long endsAt;
+		private final PromotionType type;
+		private final BigDecimal fractionOff;
+		private final int groupSize;
+		private final int freeQuantity;
+
+		private CompiledRule(Promotion promotion) {
+			ZoneId zone = ZoneId.systemDefault();
+			this.promotionId = promotion.getId();
+			this.startsAt = promotion.getStartsAt() != null
+					? promotion.getStartsAt().atZone(zone).toInstant().toEpochMilli()
+					: Long.MIN_VALUE;
+			this.endsAt = promotion.getEndsAt() != null
+					? promotion.getEndsAt().atZone(zone).toInstant().toEpochMilli()
+					: Long.MAX_VALUE;
+			this.type = promotion.getType();
+			this.fractionOff = type == PromotionType.PERCENTAGE_OFF
+					? promotion.getPercentOff().divide(ONE_HUNDRED, 6, RoundingMode.HALF_UP)
+					: null;
+			this.groupSize = type == PromotionType.BUY_X_GET_Y
+					? promotion.getBuyQuantity() + promotion.getFreeQuantity()
+					: 0;
+			this.freeQuantity = type == PromotionType.BUY_X_GET_Y ? promotion.getFreeQuantity() : 0;
+		}
+
+		private BigDecimal discount(BigDecimal unitPrice, int quantity, long now) {
+			if (now < startsAt || now >= endsAt) {
+				return null;
+			}
+			if (type == PromotionType.PERCENTAGE_OFF) {
+				return unitPrice.multiply(BigDecimal.valueOf(quantity)).multiply(fractionOff)
+						.setScale(2, RoundingMode.HALF_UP);
+			}
+			int freeUnits = (quantity / groupSize) * freeQuantity;
+			return freeUnits == 0 ? null : unitPrice.multiply(BigDecimal.valueOf(freeUnits));
+		}
+	}
+
+	/**
+	 * Promotions grouped by what they target.
+	 */
+	private static final class PromotionIndex {
+
+		private static final CompiledRule[] NONE = new CompiledRule[0];
+
+		private final Map<Long, CompiledRule[]> byProduct;
+		private final Map<Long, CompiledRule[]> byCategory;
+		private final CompiledRule[] storewide;
+
+		private PromotionIndex(List<Promotion> promotions) {
+			Map<Long, List<CompiledRule>> productRules = new HashMap<>();
+			Map<Long, List<CompiledRule>> categoryRules = new HashMap<>();
+			List<CompiledRule> storewideRules = new ArrayList<>();
+
+			for (Promotion promotion : promotions) {
+				CompiledRule rule = new CompiledRule(promotion);
+				if (promotion.getProductId() != null) {
+					productRules.computeIfAbsent(promotion.getProductId(), id -> new ArrayList<>()).add(rule);
+				} else if (promotion.getCategoryId() != null) {
+					categoryRules.computeIfAbsent(promotion.getCategoryId(), id -> new ArrayList<>()).add(rule);
+				} else {
+					storewideRules.add(rule);
+				}
+			}
+
+			this.byProduct = toArrays(productRules);
+			this.byCategory = toArrays(categoryRules);
+			this.storewide = storewideRules.toArray(NONE);
+		}
+
+		private static Map<Long, CompiledRule[]> toArrays(Map<Long, List<CompiledRule>> rules) {
+			Map<Long, CompiledRule[]> arrays = new HashMap<>(rules.size() * 2);
+			rules.forEach((id, list) -> arrays.put(id, list.toArray(NONE)));
+			return Map.copyOf(arrays);
+		}
+
+		private AppliedDiscount bestDiscount(Long productId, Long categoryId, BigDecimal unitPrice, int quantity,
+				long now, AppliedDiscount best) {
+			best = best(byProduct.getOrDefault(productId, NONE), unitPrice, quantity, now, best);
+			if (categoryId != null) {
+				best = best(byCategory.getOrDefault(categoryId, NONE), unitPrice, quantity, now, best);
+			}
+			return best(storewide, unitPrice, quantity, now, best);
+		}
+
+		private static AppliedDiscount best(CompiledRule[] rules, BigDecimal unitPrice, int quantity, long now,
+				AppliedDiscount best) {
+			for (CompiledRule rule : rules) {
+				BigDecimal amount = rule.discount(unitPrice, quantity, now);
+				if (amount != null && (best == null || amount.compareTo(best.amount) > 0)) {
+					best = new AppliedDiscount(rule.promotionId, amount);
+				}
+			}
+			return best;
+		}
+	}
+
+	/**
+	 * Immutable snapshot of every active promotion, swapped atomically on reload.
+	 */
+	private static final class CompiledPromotions {
+
+		private static final CompiledPromotions EMPTY = compile(List.of());
+
+		private final PromotionIndex automatic;
+		private final Map<String, PromotionIndex> byCoupon;
+
+		private CompiledPromotions(PromotionIndex automatic, Map<String, PromotionIndex> byCoupon) {
+			this.automatic = automatic;
+			this.byCoupon = byCoupon;
+		}
+
+		private static CompiledPromotions compile(List<Promotion> promotions) {
+			List<Promotion> automatic = new ArrayList<>();
+			Map<String, List<Promotion>> couponPromotions = new HashMap<>();
+
+			for (Promotion promotion : promotions) {
+				String couponCode = normalizeCouponCode(promotion.getCouponCode());
+				if (couponCode == null) {
+					automatic.add(promotion);
+				} else {
+					couponPromotions.computeIfAbsent(couponCode, code -> new ArrayList<>()).add(promotion);
+				}
+			}
+
+			Map<String, PromotionIndex> byCoupon = new HashMap<>();
+			couponPromotions.forEach((code, list) -> byCoupon.put(code, new PromotionIndex(list)));
+
+			return new CompiledPromotions(new PromotionIndex(automatic), Map.copyOf(byCoupon));
+		}
+	}
+}
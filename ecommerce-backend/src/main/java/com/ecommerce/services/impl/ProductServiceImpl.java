@@ -1,23 +1,46 @@
 package com.ecommerce.services.impl;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletDiskFileUpload;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.ecommerce.dto.ProductDto;
+import com.ecommerce.dto.CategoryDto;
 import com.ecommerce.dto.Response;
+import com.ecommerce.dto.StoredImage;
 import com.ecommerce.entities.Category;
 import com.ecommerce.entities.Product;
+import com.ecommerce.enums.ImageStatus;
+import com.ecommerce.enums.ResponseFormat;
+import com.ecommerce.exceptions.InvalidCredentialsException;
 import com.ecommerce.exceptions.NotFoundException;
 import com.ecommerce.mappers.EntityDtoMapper;
 import com.ecommerce.repositories.CategoryRepository;
 import com.ecommerce.repositories.ProductRepository;
+import com.ecommerce.repositories.SparseFieldRepository;
+import com.ecommerce.services.ImageJobService;
 import com.ecommerce.services.ProductService;
+import com.ecommerce.specification.ProductSpecification;
+import com.ecommerce.specification.SparseFieldset;
+import com.ecommerce.specification.SparseFieldset.FieldSelection;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,13 +49,40 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ProductServiceImpl implements ProductService {
 
+	// Fields clients can request through fields= on product lists
+	private static final SparseFieldset<ProductDto> PRODUCT_FIELDS = SparseFieldset.<ProductDto>builder(ProductDto::new)
+			.id("id", Long.class, ProductDto::setId)
+			.field("name", String.class, ProductDto::setName)
+			.field("description", String.class, ProductDto::setDescription)
+			.field("price", BigDecimal.class, ProductDto::setPrice)
+			.field("imageUrl", String.class, ProductDto::setImageUrl)
+			.field("thumbnailUrl", String.class, ProductDto::setThumbnailUrl)
+			.field("cardUrl", String.class, ProductDto::setCardUrl)
+			.field("detailUrl", String.class, ProductDto::setDetailUrl)
+			.field("imageStatus", ImageStatus.class, ProductDto::setImageStatus)
+			.field("reviewCount", Long.class, ProductDto::setReviewCount)
+			.field("averageRating", Double.class, ProductDto::setAverageRating)
+			.field("category.id", Long.class, (product, id) -> categoryOf(product).setId(id))
+			.field("category.name", String.class, (product, name) -> categoryOf(product).setName(name))
+			.build();
+
+	// Limits on the form parts of a streamed product upload
+	private static final int MAX_STREAMED_PARTS = 16;
+	private static final int MAX_FORM_FIELD_BYTES = 16 * 1024;
+
 	private final ProductRepository productRepo;
+	private final SparseFieldRepository sparseFieldRepo;
 	private final CategoryRepository categoryRepo;
 	private final EntityDtoMapper entityDtoMapper;
-	private final AwsS3ServiceImpl awsS3Service;
+	private final ListResponseWriter listResponseWriter;
+	private final ImageStorageServiceImpl imageStorageService;
+	private final ImageJobService imageJobService;
+	private final TransactionTemplate transactionTemplate;
 
 	/**
-	 * Creates a new product with the provided details.
+	 * Creates a new product with the provided details. The product is committed
+	 * straight away with its image PENDING; the image is staged with it and
+	 * uploaded, and its resized variants generated, by a background image job.
 	 *
 	 * @param categoryId  The ID of the category to associate the product with.
 	 * @param image       The product image file.
@@ -47,22 +97,116 @@ public class ProductServiceImpl implements ProductService {
 		
 		Category category = categoryRepo.findById(categoryId)
 				.orElseThrow(() -> new NotFoundException("Category not found"));
-		String productImageUrl = awsS3Service.saveImageToS3(image);
 
 		Product product = new Product();
 		product.setCategory(category);
 		product.setPrice(price);
 		product.setName(name);
 		product.setDescription(description);
-		product.setImageUrl(productImageUrl);
 
-		productRepo.save(product);
+		transactionTemplate.executeWithoutResult(status -> {
+			productRepo.save(product);
+			imageJobService.enqueueUpload(product, image);
+		});
 		
 		return Response.builder().status(200).message("Product successfully created").build();
 	}
 
 	/**
-	 * Updates an existing product with the provided details.
+	 * Creates a new product from a multipart request that is parsed as it is
+	 * read. The image part goes straight to the object store as it arrives,
+	 * without being buffered in memory or spooled to disk. The form fields must
+	 * come before it: they are validated, and the category looked up, before
+	 * anything is stored, so a rejected request leaves no image behind. The
+	 * product is committed with the stored image and its variants are generated
+	 * by a background image job.
+	 *
+	 * @param request The multipart request, with the fields categoryId, name,
+	 *                description and price, followed by the file image.
+	 * @return A Response indicating the result of the creation operation.
+	 */
+	@Override
+	public Response createProductStreaming(HttpServletRequest request) {
+		Map<String, String> fields = new HashMap<>();
+		Product product = null;
+		StoredImage storedImage = null;
+
+		try {
+			FileItemInputIterator parts = new JakartaServletDiskFileUpload().getItemIterator(request);
+			int partCount = 0;
+			while (parts.hasNext() && storedImage == null) {
+				if (++partCount > MAX_STREAMED_PARTS) {
+					throw new InvalidCredentialsException("Too many parts in request");
+				}
+				FileItemInput part = parts.next();
+				if (part.isFormField()) {
+					fields.put(part.getFieldName(), readFormField(part));
+				} else if ("image".equals(part.getFieldName())) {
+					product = newProduct(fields);
+					try (InputStream content = part.getInputStream()) {
+						storedImage = imageStorageService.saveImageStream(content, part.getContentType());
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new InvalidCredentialsException("Malformed multipart request: " + e.getMessage());
+		}
+
+		if (storedImage == null) {
+			throw new InvalidCredentialsException("All Fields are Required");
+		}
+		product.setImageUrl(storedImage.url());
+
+		Product newProduct = product;
+		StoredImage image = storedImage;
+		transactionTemplate.executeWithoutResult(status -> {
+			productRepo.save(newProduct);
+			imageJobService.enqueueVariants(newProduct, image);
+		});
+
+		log.debug("Created product {} with a streamed image of {} bytes", product.getId(), storedImage.size());
+		return Response.builder().status(200).message("Product successfully created").build();
+	}
+
+	/**
+	 * Builds an unsaved product from the streamed form fields.
+	 *
+	 * @throws InvalidCredentialsException If a field is missing or malformed.
+	 * @throws NotFoundException           If the category does not exist.
+	 */
+	private Product newProduct(Map<String, String> fields) {
+		String name = fields.get("name");
+		String description = fields.get("description");
+		if (!StringUtils.hasText(fields.get("categoryId")) || !StringUtils.hasText(name)
+				|| !StringUtils.hasText(description) || !StringUtils.hasText(fields.get("price"))) {
+			throw new InvalidCredentialsException("All Fields are Required before the image");
+		}
+
+		Long categoryId;
+		BigDecimal price;
+		try {
+			categoryId = Long.valueOf(fields.get("categoryId").trim());
+			price = new BigDecimal(fields.get("price").trim());
+		} catch (NumberFormatException e) {
+			throw new InvalidCredentialsException("Invalid categoryId or price");
+		}
+
+		Category category = categoryRepo.findById(categoryId)
+				.orElseThrow(() -> new NotFoundException("Category not found"));
+
+		Product product = new Product();
+		product.setCategory(category);
+		product.setPrice(price);
+		product.setName(name);
+		product.setDescription(description);
+		return product;
+	}
+
+	/**
+	 * Updates an existing product with the provided details. A new image is
+	 * staged with the update and marks the product's image PENDING; it is
+	 * uploaded, and its variants generated, by a background image job, and the
+	 * current image is kept until then.
 	 *
 	 * @param productId   The ID of the product to update.
 	 * @param categoryId  The ID of the category to associate the product with
@@ -76,34 +220,28 @@ public class ProductServiceImpl implements ProductService {
 	@Override
 	public Response updateProduct(Long productId, Long categoryId, MultipartFile image, String name, String description,
 			BigDecimal price) {
-		Product product = productRepo
-				.findById(productId)
-				.orElseThrow(() -> new NotFoundException("Product Not Found"));
+		transactionTemplate.executeWithoutResult(status -> {
+			Product product = productRepo
+					.findById(productId)
+					.orElseThrow(() -> new NotFoundException("Product Not Found"));
 
-		Category category = null;
-		String productImageUrl = null;
+			if (categoryId != null) {
+				product.setCategory(categoryRepo
+						.findById(categoryId)
+						.orElseThrow(() -> new NotFoundException("Category not found")));
+			}
+			if (name != null)
+				product.setName(name);
+			if (price != null)
+				product.setPrice(price);
+			if (description != null)
+				product.setDescription(description);
 
-		if (categoryId != null) {
-			category = categoryRepo
-					.findById(categoryId)
-					.orElseThrow(() -> new NotFoundException("Category not found"));
-		}
-		if (image != null && !image.isEmpty()) {
-			productImageUrl = awsS3Service.saveImageToS3(image);
-		}
+			productRepo.save(product);
 
-		if (category != null)
-			product.setCategory(category);
-		if (name != null)
-			product.setName(name);
-		if (price != null)
-			product.setPrice(price);
-		if (description != null)
-			product.setDescription(description);
-		if (productImageUrl != null)
-			product.setImageUrl(productImageUrl);
-
-		productRepo.save(product);
+			if (image != null && !image.isEmpty())
+				imageJobService.enqueueUpload(product, image);
+		});
 		
 		return Response.builder().status(200).message("Product updated successfully").build();
 
@@ -140,44 +278,66 @@ public class ProductServiceImpl implements ProductService {
 				.findById(productId)
 				.orElseThrow(() -> new NotFoundException("Product Not Found"));
 		
-		ProductDto productDto = entityDtoMapper.mapProductToDtoBasic(product);
+		ProductDto productDto = entityDtoMapper.mapProductToDtoPlusRatingHistogram(product);
 
 		return Response.builder().status(200).product(productDto).build();
 	}
 
 	/**
-	 * Retrieves all products sorted by ID in descending order.
+	 * Streams all products, newest first, or by average rating when sortBy is
+	 * "rating", as a Response-shaped document in the negotiated format. Ratings
+	 * are read from the product's stored aggregates, only the listed (or
+	 * requested) columns are selected, and each product is written as soon as it
+	 * is read.
 	 *
-	 * @return A Response containing a list of all products.
+	 * @param sortBy       The sort order, "rating" or empty for newest first.
+	 * @param fields       The fields to return, comma separated (optional, all by
+	 *                     default).
+	 * @param format       The response encoding.
+	 * @param outputStream The stream the response is written to.
+	 * @return The number of products written.
+	 * @throws IOException If writing to the output stream fails.
 	 */
 	@Override
-	public Response getAllProducts() {
+	public long writeAllProducts(String sortBy, String fields, ResponseFormat format, OutputStream outputStream)
+			throws IOException {
 		
-		List<ProductDto> productList = productRepo
-				.findAll(Sort.by(Sort.Direction.DESC, "id"))
-				.stream()
-				.map(entityDtoMapper::mapProductToDtoBasic).collect(Collectors.toList());
+		Sort sort = "rating".equalsIgnoreCase(sortBy)
+				? Sort.by(Sort.Order.desc("averageRating"), Sort.Order.desc("reviewCount"), Sort.Order.desc("id"))
+				: Sort.by(Sort.Direction.DESC, "id");
 
-		return Response.builder().status(200).productList(productList).build();
+		FieldSelection<ProductDto> selection = PRODUCT_FIELDS.select(fields);
+		if (selection != null) {
+			return listResponseWriter.writeList(outputStream, format, "productList",
+					() -> sparseFieldRepo.streamAll(Product.class, null, sort, selection), Function.identity());
+		}
+		return listResponseWriter.writeList(outputStream, format, "productList",
+				() -> productRepo.streamAllSummaries(sort), entityDtoMapper::mapProductSummaryToDto);
 	}
 
 	/**
 	 * Retrieves all products associated with a specific category.
 	 *
 	 * @param categoryId The ID of the category to filter products by.
+	 * @param fields     The fields to return, comma separated (optional, all by
+	 *                   default).
 	 * @return A Response containing a list of products in the specified category.
 	 */
 	@Override
-	public Response getProductsByCategory(Long categoryId) {
+	public Response getProductsByCategory(Long categoryId, String fields) {
 		
-		List<Product> products = productRepo.findByCategoryId(categoryId);
-		if (products.isEmpty()) {
+		FieldSelection<ProductDto> selection = PRODUCT_FIELDS.select(fields);
+		List<ProductDto> productDtoList = selection != null
+				? sparseFieldRepo.findAll(Product.class, ProductSpecification.inCategory(categoryId), Sort.unsorted(),
+						selection)
+				: productRepo.findSummariesByCategoryId(categoryId)
+						.stream()
+						.map(entityDtoMapper::mapProductSummaryToDto)
+						.collect(Collectors.toList());
+
+		if (productDtoList.isEmpty()) {
 			throw new NotFoundException("No Products found for this category");
 		}
-		List<ProductDto> productDtoList = products
-				.stream()
-				.map(entityDtoMapper::mapProductToDtoBasic)
-				.collect(Collectors.toList());
 
 		return Response.builder().status(200).productList(productDtoList).build();
 	}
@@ -186,23 +346,43 @@ public class ProductServiceImpl implements ProductService {
 	 * Searches for products based on a search value (name or description).
 	 *
 	 * @param searchValue The value to search for in product names or descriptions.
+	 * @param fields      The fields to return, comma separated (optional, all by
+	 *                    default).
 	 * @return A Response containing a list of matching products.
 	 */
 	@Override
-	public Response searchProduct(String searchValue) {
+	public Response searchProduct(String searchValue, String fields) {
 		
-		List<Product> products = productRepo
-				.findByNameContainingOrDescriptionContaining(searchValue, searchValue);
+		FieldSelection<ProductDto> selection = PRODUCT_FIELDS.select(fields);
+		List<ProductDto> productDtoList = selection != null
+				? sparseFieldRepo.findAll(Product.class, ProductSpecification.nameOrDescriptionContains(searchValue),
+						Sort.unsorted(), selection)
+				: productRepo.searchSummaries(ProductSpecification.containsPattern(searchValue))
+						.stream()
+						.map(entityDtoMapper::mapProductSummaryToDto)
+						.collect(Collectors.toList());
 
-		if (products.isEmpty()) {
+		if (productDtoList.isEmpty()) {
 			throw new NotFoundException("No Products Found");
 		}
-		List<ProductDto> productDtoList = products
-				.stream()
-				.map(entityDtoMapper::mapProductToDtoBasic)
-				.collect(Collectors.toList());
 
 		return Response.builder().status(200).productList(productDtoList).build();
 	}
 
+	private static String readFormField(FileItemInput part) throws IOException {
+		try (InputStream content = part.getInputStream()) {
+			byte[] value = content.readNBytes(MAX_FORM_FIELD_BYTES + 1);
+			if (value.length > MAX_FORM_FIELD_BYTES) {
+				throw new InvalidCredentialsException("Field too long: " + part.getFieldName());
+			}
+			return new String(value, StandardCharsets.UTF_8);
+		}
+	}
+
+	private static CategoryDto categoryOf(ProductDto productDto) {
+		if (productDto.getCategory() == null) {
+			productDto.setCategory(new CategoryDto());
+		}
+		return productDto.getCategory();
+	}
 }
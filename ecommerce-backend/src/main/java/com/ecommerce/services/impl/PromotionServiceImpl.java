@@ -0,0 +1,114 @@
+package com.ecommerce.services.impl;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.dto.PromotionDto;
+import com.ecommerce.dto.Response;
+import com.ecommerce.entities.Promotion;
+import com.ecommerce.enums.PromotionType;
+import com.ecommerce.exceptions.InvalidCredentialsException;
+import com.ecommerce.exceptions.NotFoundException;
+import com.ecommerce.mappers.EntityDtoMapper;
+import com.ecommerce.repositories.PromotionRepository;
+import com.ecommerce.services.PricingService;
+import com.ecommerce.services.PromotionService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PromotionServiceImpl implements PromotionService {
+
+	private final PromotionRepository promotionRepo;
+	private final PricingService pricingService;
+	private final EntityDtoMapper entityDtoMapper;
+
+	/**
+	 * Creates a new promotion after validating its parameters, then recompiles
+	 * the pricing rules so it takes effect immediately.
+	 *
+	 * @param promotionDto The details of the promotion to be created.
+	 * @return A Response containing the created promotion.
+	 */
+	@Override
+	public Response createPromotion(PromotionDto promotionDto) {
+		if (promotionDto.getType() == null || promotionDto.getName() == null) {
+			throw new InvalidCredentialsException("Promotion name and type are required");
+		}
+		if (promotionDto.getProductId() != null && promotionDto.getCategoryId() != null) {
+			throw new InvalidCredentialsException("A promotion can target a product or a category, not both");
+		}
+
+		PromotionType type = PromotionType.valueOf(promotionDto.getType().toUpperCase());
+		if (type == PromotionType.PERCENTAGE_OFF && (promotionDto.getPercentOff() == null
+				|| promotionDto.getPercentOff().compareTo(BigDecimal.ZERO) <= 0
+				|| promotionDto.getPercentOff().compareTo(BigDecimal.valueOf(100)) > 0)) {
+			throw new InvalidCredentialsException("Percent off must be between 0 and 100");
+		}
+		if (type == PromotionType.BUY_X_GET_Y && (promotionDto.getBuyQuantity() == null
+				|| promotionDto.getFreeQuantity() == null || promotionDto.getBuyQuantity() < 1
+				|| promotionDto.getFreeQuantity() < 1)) {
+			throw new InvalidCredentialsException("Buy and free quantities must be at least 1");
+		}
+
+		Promotion promotion = new Promotion();
+		promotion.setName(promotionDto.getName());
+		promotion.setType(type);
+		promotion.setProductId(promotionDto.getProductId());
+		promotion.setCategoryId(promotionDto.getCategoryId());
+		promotion.setCouponCode(PricingServiceImpl.normalizeCouponCode(promotionDto.getCouponCode()));
+		promotion.setPercentOff(promotionDto.getPercentOff());
+		promotion.setBuyQuantity(promotionDto.getBuyQuantity());
+		promotion.setFreeQuantity(promotionDto.getFreeQuantity());
+		promotion.setStartsAt(promotionDto.getStartsAt());
+		promotion.setEndsAt(promotionDto.getEndsAt());
+		if (promotionDto.getActive() != null) {
+			promotion.setActive(promotionDto.getActive());
+		}
+
+		Promotion savedPromotion = promotionRepo.save(promotion);
+		pricingService.reloadPromotions();
+
+		return Response
+				.builder()
+				.status(200)
+				.message("Promotion created successfully")
+				.promotion(entityDtoMapper.mapPromotionToDto(savedPromotion))
+				.build();
+	}
+
+	/**
+	 * Fetches all promotions, active or not.
+	 *
+	 * @return A Response containing the list of promotions.
+	 */
+	@Override
+	public Response getAllPromotions() {
+		List<PromotionDto> promotionDtos = promotionRepo.findAll().stream()
+				.map(entityDtoMapper::mapPromotionToDto)
+				.toList();
+
+		return Response.builder().status(200).promotionList(promotionDtos).build();
+	}
+
+	/**
+	 * Deletes a promotion by its ID and recompiles the pricing rules.
+	 *
+	 * @param promotionId The ID of the promotion to delete.
+	 * @return A Response indicating the status of the operation.
+	 */
+	@Override
+	public Response deletePromotion(Long promotionId) {
+		Promotion promotion = promotionRepo.findById(promotionId)
+				.orElseThrow(() -> new NotFoundException("Promotion Not Found"));
+		promotionRepo.delete(promotion);
+		pricingService.reloadPromotions();
+
+		return Response.builder().status(200).message("Promotion deleted successfully").build();
+	}
+}
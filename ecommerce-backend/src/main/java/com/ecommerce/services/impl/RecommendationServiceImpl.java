@@ -0,0 +1,292 @@
+package com.ecommerce.services.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ecommerce.dto.ProductDto;
+import com.ecommerce.dto.Response;
+import com.ecommerce.entities.Order;
+import com.ecommerce.mappers.EntityDtoMapper;
+import com.ecommerce.repositories.ArchivedOrderItemRepository;
+import com.ecommerce.repositories.OrderItemRepository;
+import com.ecommerce.repositories.OrderRepository;
+import com.ecommerce.repositories.ProductRepository;
+import com.ecommerce.services.RecommendationService;
+import com.ecommerce.utils.LongIntHashMap;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * "Frequently bought together" recommendations from a sparse product
+ * co-occurrence matrix: for every product, a primitive map from each product
+ * that appeared in the same order to the number of such orders.
+ *
+ * The matrix is built from both order item tiers by splitting the order ID
+ * range into chunks that are read and counted in parallel, each into its own
+ * partial matrix, and the partials are merged at the end. New orders are added
+ * incrementally after they commit. Orders placed while a rebuild runs are
+ * buffered and replayed onto the new matrix before it is swapped in.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationServiceImpl implements RecommendationService {
+
+	private final OrderRepository orderRepo;
+	private final OrderItemRepository orderItemRepo;
+	private final ArchivedOrderItemRepository archivedOrderItemRepo;
+	private final ProductRepository productRepo;
+	private final EntityDtoMapper entityDtoMapper;
+
+	private final AtomicBoolean building = new AtomicBoolean();
+	private final Object swapLock = new Object();
+
+	private volatile CooccurrenceMatrix matrix = new CooccurrenceMatrix();
+	private List<PlacedOrder> ordersDuringBuild; // guarded by swapLock, non-null while a build runs
+
+	@Value("${recommendation.build-parallelism:0}")
+	private int buildParallelism; // Worker threads for a rebuild, 0 for one per core
+
+	@Value("${recommendation.build-chunk-orders:20000}")
+	private int chunkOrders; // Order IDs read per chunk during a rebuild
+
+	@Value("${recommendation.max-products-per-order:50}")
+	private int maxProductsPerOrder; // Larger orders only count their first products, bounding pair explosion
+
+	/**
+	 * Adds a newly placed order's product pairs once its transaction commits.
+	 *
+	 * @param order The order that was placed.
+	 */
+	@Override
+	public void recordOrder(Order order) {
+		PlacedOrder placedOrder = new PlacedOrder(order.getId(), order.getOrderItemList().stream()
+				.mapToLong(orderItem -> orderItem.getProduct().getId())
+				.toArray());
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					apply(placedOrder);
+				}
+			});
+		} else {
+			apply(placedOrder);
+		}
+	}
+
+	private void apply(PlacedOrder placedOrder) {
+		CooccurrenceMatrix target;
+		synchronized (swapLock) {
+			if (ordersDuringBuild != null) {
+				ordersDuringBuild.add(placedOrder);
+			}
+			target = matrix;
+		}
+		target.addOrder(placedOrder.productIds, maxProductsPerOrder);
+	}
+
+	/**
+	 * Returns the products most often bought in the same order as a product.
+	 *
+	 * @param productId The ID of the product.
+	 * @param limit     The maximum number of products to return.
+	 * @return A Response containing the related products, most frequent first.
+	 */
+	@Override
+	public Response getRelatedProducts(Long productId, int limit) {
+		long[] relatedIds = matrix.topRelated(productId, Math.max(limit, 0));
+
+		Map<Long, ProductDto> products = productRepo
+				.findAllById(Arrays.stream(relatedIds).boxed().toList())
+				.stream()
+				.map(entityDtoMapper::mapProductToDtoBasic)
+				.collect(Collectors.toMap(ProductDto::getId, Function.identity()));
+
+		List<ProductDto> productDtos = Arrays.stream(relatedIds)
+				.mapToObj(products::get)
+				.filter(product -> product != null)
+				.toList();
+
+		return Response.builder().status(200).productList(productDtos).build();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void buildOnStartup() {
+		CompletableFuture.runAsync(this::rebuild);
+	}
+
+	/**
+	 * Rebuilds the whole matrix from order history and swaps it in. Runs at most
+	 * once at a time.
+	 */
+	@Override
+	@Scheduled(cron = "${recommendation.rebuild-cron:0 0 4 * * *}")
+	public void rebuild() {
+		if (!building.compareAndSet(false, true)) {
+			return;
+		}
+
+		long started = System.currentTimeMillis();
+		synchronized (swapLock) {
+			ordersDuringBuild = new ArrayList<>();
+		}
+
+		try {
+			long maxOrderId = orderRepo.findMaxId();
+			int parallelism = buildParallelism > 0 ? buildParallelism : Runtime.getRuntime().availableProcessors();
+
+			ForkJoinPool pool = new ForkJoinPool(parallelism);
+			CooccurrenceMatrix built;
+			try {
+				built = pool.submit(() -> LongStream.rangeClosed(0, maxOrderId / chunkOrders)
+						.parallel()
+						.mapToObj(chunk -> buildChunk(chunk * chunkOrders + 1, (chunk + 1) * chunkOrders))
+						.reduce(CooccurrenceMatrix::merge)
+						.orElseGet(CooccurrenceMatrix::new))
+						.get();
+			} finally {
+				pool.shutdown();
+			}
+
+			synchronized (swapLock) {
+				for (PlacedOrder placedOrder : ordersDuringBuild) {
+					if (placedOrder.orderId > maxOrderId) {
+						built.addOrder(placedOrder.productIds, maxProductsPerOrder);
+					}
+				}
+				matrix = built;
+			}
+
+			log.info("Built co-occurrence matrix for {} products in {} ms", built.rows.size(),
+					System.currentTimeMillis() - started);
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException | RuntimeException e) {
+			log.error("Co-occurrence rebuild failed, keeping the previous matrix", e);
+		} finally {
+			synchronized (swapLock) {
+				ordersDuringBuild = null;
+			}
+			building.set(false);
+		}
+	}
+
+	/**
+	 * Counts the product pairs of every order in an order ID range, across both
+	 * the live and the archived order items.
+	 */
+	private CooccurrenceMatrix buildChunk(long fromOrderId, long toOrderId) {
+		Map<Long, List<Long>> productsByOrder = new HashMap<>();
+		collect(orderItemRepo.findOrderProductPairs(fromOrderId, toOrderId), productsByOrder);
+		collect(archivedOrderItemRepo.findOrderProductPairs(fromOrderId, toOrderId), productsByOrder);
+
+		CooccurrenceMatrix partial = new CooccurrenceMatrix();
+		productsByOrder.values().forEach(productIds -> partial
+				.addOrder(productIds.stream().mapToLong(Long::longValue).toArray(), maxProductsPerOrder));
+		return partial;
+	}
+
+	private static void collect(List<Object[]> pairs, Map<Long, List<Long>> productsByOrder) {
+		for (Object[] pair : pairs) {
+			if (pair[0] != null && pair[1] != null) {
+				productsByOrder.computeIfAbsent((Long) pair[0], id -> new ArrayList<>(4)).add((Long) pair[1]);
+			}
+		}
+	}
+
+	private record PlacedOrder(long orderId, long[] productIds) {
+	}
+
+	/**
+	 * Product-to-product co-occurrence counts, one primitive row per product.
+	 * Each row is guarded by its own monitor.
+	 */
+	private static final class CooccurrenceMatrix {
+
+		private static final Comparator<long[]> BY_COUNT = Comparator.<long[]>comparingLong(entry -> entry[1])
+				.thenComparing(Comparator.<long[]>comparingLong(entry -> entry[0]).reversed());
+
+		private final Map<Long, LongIntHashMap> rows = new ConcurrentHashMap<>();
+
+		private void addOrder(long[] productIds, int maxProducts) {
+			long[] distinct = Arrays.stream(productIds).distinct().limit(maxProducts).toArray();
+			for (int i = 0; i < distinct.length; i++) {
+				for (int j = i + 1; j < distinct.length; j++) {
+					increment(distinct[i], distinct[j]);
+					increment(distinct[j], distinct[i]);
+				}
+			}
+		}
+
+		private void increment(long productId, long relatedId) {
+			LongIntHashMap row = rows.computeIfAbsent(productId, id -> new LongIntHashMap());
+			synchronized (row) {
+				row.addTo(relatedId, 1);
+			}
+		}
+
+		/**
+		 * Merges the smaller matrix into the larger and returns the larger.
+		 */
+		private static CooccurrenceMatrix merge(CooccurrenceMatrix left, CooccurrenceMatrix right) {
+			CooccurrenceMatrix target = left.rows.size() >= right.rows.size() ? left : right;
+			CooccurrenceMatrix source = target == left ? right : left;
+
+			source.rows.forEach((productId, sourceRow) -> {
+				LongIntHashMap row = target.rows.putIfAbsent(productId, sourceRow);
+				if (row != null) {
+					synchronized (row) {
+						row.addAll(sourceRow);
+					}
+				}
+			});
+			return target;
+		}
+
+		private long[] topRelated(long productId, int k) {
+			LongIntHashMap row = rows.get(productId);
+			if (row == null || k == 0) {
+				return new long[0];
+			}
+
+			PriorityQueue<long[]> heap = new PriorityQueue<>(k + 1, BY_COUNT);
+			synchronized (row) {
+				row.forEach((relatedId, count) -> {
+					heap.offer(new long[] { relatedId, count });
+					if (heap.size() > k) {
+						heap.poll();
+					}
+				});
+			}
+
+			List<long[]> ranking = new ArrayList<>(heap);
+			ranking.sort(BY_COUNT.reversed());
+			return ranking.stream().mapToLong(entry -> entry[0]).toArray();
+		}
+	}
+}
@@ -0,0 +1,201 @@
+package com.ecommerce.services.impl;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ecommerce.dto.Response;
+import com.ecommerce.dto.ReviewDto;
+import com.ecommerce.entities.Product;
+import com.ecommerce.entities.Review;
+import com.ecommerce.entities.User;
+import com.ecommerce.enums.UserRole;
+import com.ecommerce.exceptions.InvalidCredentialsException;
+import com.ecommerce.exceptions.NotFoundException;
+import com.ecommerce.mappers.EntityDtoMapper;
+import com.ecommerce.repositories.ProductRepository;
+import com.ecommerce.repositories.ReviewRepository;
+import com.ecommerce.services.ReviewService;
+import com.ecommerce.services.UserService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Product reviews. Every change to a review adjusts the product's stored
+ * aggregates (review count, rating sum, average and per-rating histogram) by
+ * the difference it makes, under a row lock on the product, so the aggregates
+ * never need to be recomputed from the reviews table. An existing review is
+ * only read once its product is locked, so concurrent edits or deletes of the
+ * same review apply their differences one after another against its current
+ * rating.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewServiceImpl implements ReviewService {
+
+	private static final int MIN_RATING = 1;
+	private static final int MAX_RATING = 10;
+
+	private final ReviewRepository reviewRepo;
+	private final ProductRepository productRepo;
+	private final UserService userService;
+	private final EntityDtoMapper entityDtoMapper;
+
+	/**
+	 * Creates a review of a product by the logged-in user. Each user can review
+	 * a product once.
+	 *
+	 * @param reviewDto The product ID, rating and content of the review.
+	 * @return A Response containing the created review.
+	 */
+	@Override
+	@Transactional
+	public Response createReview(ReviewDto reviewDto) {
+		validateRating(reviewDto.getRating());
+		User user = userService.getLoginUserReference();
+
+		Product product = productRepo.findByIdForUpdate(reviewDto.getProductId())
+				.orElseThrow(() -> new NotFoundException("Product Not Found"));
+		if (reviewRepo.existsByProductIdAndUserId(product.getId(), user.getId())) {
+			throw new InvalidCredentialsException("You have already reviewed this product");
+		}
+
+		Review review = new Review();
+		review.setProduct(product);
+		review.setUser(user);
+		review.setRating(reviewDto.getRating());
+		review.setContent(reviewDto.getContent());
+		Review savedReview = reviewRepo.save(review);
+
+		applyRating(product, reviewDto.getRating(), 1);
+
+		return Response
+				.builder()
+				.status(200)
+				.message("Review added successfully")
+				.review(entityDtoMapper.mapReviewToDto(savedReview))
+				.build();
+	}
+
+	/**
+	 * Updates the rating and/or content of one of the logged-in user's reviews.
+	 *
+	 * @param reviewId  The ID of the review to update.
+	 * @param reviewDto The new rating and/or content.
+	 * @return A Response containing the updated review.
+	 */
+	@Override
+	@Transactional
+	public Response updateReview(Long reviewId, ReviewDto reviewDto) {
+		if (reviewDto.getRating() != null) {
+			validateRating(reviewDto.getRating());
+		}
+		Review review = lockReview(reviewId);
+		if (!review.getUser().getId().equals(userService.getLoginUserId())) {
+			throw new InvalidCredentialsException("You can only edit your own reviews");
+		}
+
+		if (reviewDto.getRating() != null && reviewDto.getRating() != review.getRating()) {
+			Product product = review.getProduct();
+			applyRating(product, review.getRating(), -1);
+			applyRating(product, reviewDto.getRating(), 1);
+			review.setRating(reviewDto.getRating());
+		}
+		if (reviewDto.getContent() != null) {
+			review.setContent(reviewDto.getContent());
+		}
+
+		return Response
+				.builder()
+				.status(200)
+				.message("Review updated successfully")
+				.review(entityDtoMapper.mapReviewToDto(review))
+				.build();
+	}
+
+	/**
+	 * Deletes a review. Users can delete their own reviews, admins any review.
+	 *
+	 * @param reviewId The ID of the review to delete.
+	 * @return A Response indicating the status of the operation.
+	 */
+	@Override
+	@Transactional
+	public Response deleteReview(Long reviewId) {
+		Review review = lockReview(reviewId);
+		if (userService.getLoginUserRole() != UserRole.ADMIN
+				&& !review.getUser().getId().equals(userService.getLoginUserId())) {
+			throw new InvalidCredentialsException("You can only delete your own reviews");
+		}
+
+		applyRating(review.getProduct(), review.getRating(), -1);
+		reviewRepo.delete(review);
+
+		return Response.builder().status(200).message("Review deleted successfully").build();
+	}
+
+	/**
+	 * Retrieves one page of a product's reviews.
+	 *
+	 * @param productId The ID of the product.
+	 * @param pageable  The pagination and sort details.
+	 * @return A Response containing the page of reviews.
+	 */
+	@Override
+	public Response getReviewsForProduct(Long productId, Pageable pageable) {
+		Page<Review> reviewPage = reviewRepo.findByProductId(productId, pageable);
+
+		List<ReviewDto> reviewDtos = reviewPage.getContent().stream()
+				.map(entityDtoMapper::mapReviewToDto)
+				.toList();
+
+		return Response
+				.builder()
+				.status(200)
+				.reviewList(reviewDtos)
+				.totalPage(reviewPage.getTotalPages())
+				.totalElement(reviewPage.getTotalElements())
+				.build();
+	}
+
+	/**
+	 * Locks a review's product, then reads and locks the review itself. The
+	 * review is read with a locking read so it reflects changes committed by
+	 * the transaction that held the product lock before, including its deletion.
+	 */
+	private Review lockReview(Long reviewId) {
+		Long productId = reviewRepo.findProductIdById(reviewId)
+				.orElseThrow(() -> new NotFoundException("Review Not Found"));
+		productRepo.findByIdForUpdate(productId).orElseThrow(() -> new NotFoundException("Product Not Found"));
+
+		return reviewRepo.findByIdForUpdate(reviewId).orElseThrow(() -> new NotFoundException("Review Not Found"));
+	}
+
+	private void validateRating(Integer rating) {
+		if (rating == null || rating < MIN_RATING || rating > MAX_RATING) {
+			throw new InvalidCredentialsException("Rating must be between " + MIN_RATING + " and " + MAX_RATING);
+		}
+	}
+
+	/**
+	 * Adds (delta 1) or removes (delta -1) one rating from a locked product's
+	 * aggregates. The product is dirty-checked and flushed with the transaction.
+	 */
+	private void applyRating(Product product, int rating, int delta) {
+		int[] histogram = product.getRatingHistogram().clone();
+		histogram[rating - 1] = Math.max(0, histogram[rating - 1] + delta);
+
+		long reviewCount = Math.max(0, product.getReviewCount() + delta);
+		long ratingSum = Math.max(0, product.getRatingSum() + (long) delta * rating);
+
+		product.setRatingHistogram(histogram);
+		product.setReviewCount(reviewCount);
+		product.setRatingSum(ratingSum);
+		product.setAverageRating(reviewCount == 0 ? 0 : (double) ratingSum / reviewCount);
+	}
+}
@@ -0,0 +1,180 @@
+package com.ecommerce.services.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.Upload;
+import com.ecommerce.services.ObjectStore;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Object store backed by an S3 bucket (or an S3-compatible service when an
+ * endpoint is configured). Objects are uploaded by the transfer manager, as
+ * parallel parts above the multipart threshold, and marked as immutable for
+ * caches since their keys identify their content.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
+@RequiredArgsConstructor
+public class S3ObjectStore implements ObjectStore {
+
+	private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+	private final AmazonS3 amazonS3;
+	private final TransferManager transferManager;
+
+	@Value("${cloud.aws.s3.bucket-name}")
+	private String bucketName; // Name of the S3 bucket
+
+	@Value("${cloud.aws.region.static}")
+	private String awsRegion; // AWS region where the S3 bucket is located
+
+	@Value("${cloud.aws.s3.endpoint:}")
+	private String endpoint; // S3-compatible endpoint to use instead of AWS (optional)
+
+	@Value("${aws.s3.transfer.part-size-bytes:8388608}")
+	private long partSize; // Size of each part of a streamed multipart upload
+
+	@Value("${storage.upload.max-in-flight:16}")
+	private int maxInFlightUploads; // Uploads running at once, one completion waiter each
+
+	private ThreadPoolExecutor completionExecutor;
+
+	@PostConstruct
+	private void init() {
+		AtomicInteger threadCount = new AtomicInteger();
+		completionExecutor = new ThreadPoolExecutor(maxInFlightUploads, maxInFlightUploads, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "s3-upload-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		completionExecutor.allowCoreThreadTimeOut(true);
+	}
+
+	@PreDestroy
+	private void shutdown() {
+		completionExecutor.shutdown();
+	}
+
+	@Override
+	public boolean exists(String key) {
+		return amazonS3.doesObjectExist(bucketName, key);
+	}
+
+	@Override
+	public CompletableFuture<Void> putAsync(String key, Path content, String contentType) {
+		ObjectMetadata metadata = new ObjectMetadata();
+		metadata.setContentType(contentType);
+		metadata.setCacheControl(IMMUTABLE_CACHE_CONTROL);
+
+		Upload upload = transferManager
+				.upload(new PutObjectRequest(bucketName, key, content.toFile()).withMetadata(metadata));
+
+		return CompletableFuture.runAsync(() -> {
+			try {
+				upload.waitForUploadResult();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CompletionException(e);
+			}
+		}, completionExecutor);
+	}
+
+	/**
+	 * Uploads a stream of unknown length one part at a time, so only a single
+	 * part is ever held in memory. A stream shorter than one part is sent as a
+	 * plain PUT; a failed multipart upload is aborted so no parts are left
+	 * behind.
+	 */
+	@Override
+	public void putStream(String key, InputStream content, String contentType) throws IOException {
+		ObjectMetadata metadata = new ObjectMetadata();
+		metadata.setContentType(contentType);
+		metadata.setCacheControl(IMMUTABLE_CACHE_CONTROL);
+
+		byte[] part = new byte[Math.toIntExact(partSize)];
+		int length = content.readNBytes(part, 0, part.length);
+		if (length < part.length) {
+			metadata.setContentLength(length);
+			amazonS3.putObject(new PutObjectRequest(bucketName, key, new ByteArrayInputStream(part, 0, length),
+					metadata));
+			return;
+		}
+
+		String uploadId = amazonS3
+				.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key, metadata))
+				.getUploadId();
+		try {
+			List<PartETag> partETags = new ArrayList<>();
+			int partNumber = 1;
+			while (length > 0) {
+				partETags.add(amazonS3.uploadPart(new UploadPartRequest()
+						.withBucketName(bucketName)
+						.withKey(key)
+						.withUploadId(uploadId)
+						.withPartNumber(partNumber++)
+						.withInputStream(new ByteArrayInputStream(part, 0, length))
+						.withPartSize(length))
+						.getPartETag());
+				length = content.readNBytes(part, 0, part.length);
+			}
+			amazonS3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+		} catch (IOException | RuntimeException e) {
+			amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+			throw e;
+		}
+	}
+
+	@Override
+	public void rename(String fromKey, String toKey) {
+		// The copy keeps the content type and cache headers of the original
+		amazonS3.copyObject(bucketName, fromKey, bucketName, toKey);
+		amazonS3.deleteObject(bucketName, fromKey);
+	}
+
+	@Override
+	public void delete(String key) {
+		amazonS3.deleteObject(bucketName, key);
+	}
+
+	@Override
+	public InputStream open(String key) {
+		return amazonS3.getObject(bucketName, key).getObjectContent();
+	}
+
+	@Override
+	public String urlOf(String key) {
+		if (!endpoint.isBlank()) {
+			String base = endpoint.endsWith("/") ? endpoint.substring(0, endpoint.length() - 1) : endpoint;
+			return base + "/" + bucketName + "/" + key;
+		}
+		return "https://" + bucketName + ".s3." + awsRegion + ".amazonaws.com/" + key;
+	}
+}
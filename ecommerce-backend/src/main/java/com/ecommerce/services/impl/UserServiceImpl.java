@@ -1,25 +1,45 @@
 package com.ecommerce.services.impl;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.springframework.beans.factory.annotation.Value;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.ecommerce.dto.LoginRequest;
+import com.ecommerce.dto.OrderItemDto;
 import com.ecommerce.dto.Response;
 import com.ecommerce.dto.UserDto;
 import com.ecommerce.entities.User;
+import com.ecommerce.enums.ResponseFormat;
 import com.ecommerce.enums.UserRole;
 import com.ecommerce.exceptions.InvalidCredentialsException;
 import com.ecommerce.exceptions.NotFoundException;
+import com.ecommerce.exceptions.ServiceBusyException;
 import com.ecommerce.mappers.EntityDtoMapper;
 import com.ecommerce.repositories.UserRepository;
+import com.ecommerce.security.AuthUser;
 import com.ecommerce.security.JwtUtils;
+import com.ecommerce.security.PasswordHasher;
+import com.ecommerce.security.PrincipalCache;
+import com.ecommerce.security.TokenRevocationService;
+import com.ecommerce.security.VerifiedToken;
+import com.ecommerce.services.OrderItemArchiveService;
 import com.ecommerce.services.UserService;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -29,45 +49,80 @@ import lombok.extern.slf4j.Slf4j;
 public class UserServiceImpl implements UserService {
 
 	private final UserRepository userRepo;
-	private final PasswordEncoder passwordEncoder;
+	private final OrderItemArchiveService orderItemArchiveService;
+	private final PasswordHasher passwordHasher;
 	private final JwtUtils jwtUtils;
+	private final PrincipalCache principalCache;
+	private final TokenRevocationService tokenRevocationService;
 	private final EntityDtoMapper entityDtoMapper;
+	private final ListResponseWriter listResponseWriter;
+
+	@Value("${security.password.completion-threads:4}")
+	private int completionThreads; // Threads finishing a login or registration once its hash is done
+
+	// Saves, mapping and token signing that follow a hash run here, so the
+	// hashing pool only ever runs BCrypt
+	private ThreadPoolExecutor completionExecutor;
+
+	@PostConstruct
+	private void init() {
+		AtomicInteger threadCount = new AtomicInteger();
+		completionExecutor = new ThreadPoolExecutor(completionThreads, completionThreads, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					Thread thread = new Thread(runnable, "password-completion-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		completionExecutor.allowCoreThreadTimeOut(true);
+	}
+
+	@PreDestroy
+	private void shutdown() {
+		completionExecutor.shutdown();
+	}
 
 	/**
 	 * Registers a new user with the provided details. Assigns a default role of
 	 * "USER" unless specified as "ADMIN".
 	 *
 	 * @param registrationRequest The user registration details.
-	 * @return A Response containing the status and details of the registered user.
+	 * @return A future completing with the status and details of the registered
+	 *         user.
+	 * @throws ServiceBusyException If the hashing pool is saturated.
 	 */
 	@Override
-	public Response registerUser(UserDto registrationRequest) {
+	public CompletableFuture<Response> registerUser(UserDto registrationRequest) {
 		
 		UserRole role = UserRole.USER;
 		if (registrationRequest.getRole() != null && 
 				registrationRequest.getRole().equalsIgnoreCase("admin")) {
 			role = UserRole.ADMIN;
 		}
+		UserRole userRole = role;
 
-		User user = User
-				.builder()
-				.name(registrationRequest.getName())
-				.email(registrationRequest.getEmail())
-				.password(passwordEncoder.encode(registrationRequest.getPassword()))
-				.phoneNumber(registrationRequest.getPhoneNumber())
-				.role(role)
-				.build();
+		// BCrypt runs on the bounded hashing pool, never on the request thread
+		return passwordHasher.encode(registrationRequest.getPassword()).thenApplyAsync(passwordHash -> {
+			User user = User
+					.builder()
+					.name(registrationRequest.getName())
+					.email(registrationRequest.getEmail())
+					.password(passwordHash)
+					.phoneNumber(registrationRequest.getPhoneNumber())
+					.role(userRole)
+					.build();
 
-		User savedUser = userRepo.save(user);
+			User savedUser = userRepo.save(user);
+			principalCache.invalidate(savedUser.getEmail());
 
-		UserDto userDto = entityDtoMapper.mapUserToDtoBasic(savedUser);
-		
-		return Response
-				.builder()
-				.status(200)
-				.message("User Successfully Added")
-				.user(userDto)
-				.build();
+			UserDto userDto = entityDtoMapper.mapUserToDtoBasic(savedUser);
+			
+			return Response
+					.builder()
+					.status(200)
+					.message("User Successfully Added")
+					.user(userDto)
+					.build();
+		}, completionExecutor);
 	}
 
 	/**
@@ -75,72 +130,200 @@ public class UserServiceImpl implements UserService {
 	 * token for authenticated users.
 	 *
 	 * @param loginRequest The login credentials (email and password).
-	 * @return A Response containing the authentication status and a JWT token.
+	 * @return A future completing with the authentication status and a JWT token.
 	 */
 	@Override
-	public Response loginUser(LoginRequest loginRequest) {
+	public CompletableFuture<Response> loginUser(LoginRequest loginRequest) {
 
 		User user = userRepo.findByEmail(loginRequest.getEmail())
 				.orElseThrow(() -> new NotFoundException("Email not found"));
 		
-		if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-			throw new InvalidCredentialsException("Password does not match");
+		// BCrypt runs on the bounded hashing pool, never on the request thread
+		return passwordHasher.matches(loginRequest.getPassword(), user.getPassword()).thenApplyAsync(matches -> {
+			if (!matches) {
+				throw new InvalidCredentialsException("Password does not match");
+			}
+			if (passwordHasher.needsRehash(user.getPassword())) {
+				rehashPassword(user, loginRequest.getPassword());
+			}
+			String token = jwtUtils.generateToken(user);
+
+			return Response
+					.builder()
+					.status(200)
+					.message("User Successfully Logged In")
+					.token(token)
+					.expirationTime("6 Month")
+					.role(user.getRole().name())
+					.build();
+		}, completionExecutor);
+	}
+
+	/**
+	 * Logs the caller out by revoking the token the request was made with.
+	 *
+	 * @param token The caller's verified token.
+	 * @return A Response indicating the logout was successful.
+	 */
+	@Override
+	public Response logoutUser(VerifiedToken token) {
+		if (token == null) {
+			throw new InvalidCredentialsException("No active session");
 		}
-		String token = jwtUtils.generateToken(user);
+		tokenRevocationService.revokeToken(token);
 
-		return Response
-				.builder()
-				.status(200)
-				.message("User Successfully Logged In")
-				.token(token)
-				.expirationTime("6 Month")
-				.role(user.getRole().name())
-				.build();
+		return Response.builder().status(200).message("User Successfully Logged Out").build();
 	}
 
 	/**
-	 * Fetches all registered users in the system.
+	 * Logs the caller out on every device by revoking all tokens issued to them
+	 * so far.
 	 *
-	 * @return A Response containing a list of all users.
+	 * @param token The caller's verified token.
+	 * @return A Response indicating the logout was successful.
 	 */
 	@Override
-	public Response getAllUsers() {
+	public Response logoutUserEverywhere(VerifiedToken token) {
+		if (token == null) {
+			throw new InvalidCredentialsException("No active session");
+		}
+		tokenRevocationService.revokeAllTokens(token.subject());
 
-		List<User> users = userRepo.findAll();
-		List<UserDto> userDtos = users.stream().map(entityDtoMapper::mapUserToDtoBasic).toList();
+		return Response.builder().status(200).message("User Successfully Logged Out Everywhere").build();
+	}
 
-		return Response.builder().status(200).userList(userDtos).build();
+	/**
+	 * Replaces a password hash made with an outdated cost, in the background. A
+	 * failure or a saturated pool only postpones the upgrade to the next login.
+	 */
+	private void rehashPassword(User user, String rawPassword) {
+		try {
+			passwordHasher.encode(rawPassword)
+					.thenAcceptAsync(hash -> {
+						userRepo.updatePassword(user.getId(), hash);
+						principalCache.invalidate(user.getEmail());
+					}, completionExecutor)
+					.exceptionally(e -> {
+						log.warn("Password rehash failed for user {}: {}", user.getId(), e.getMessage());
+						return null;
+					});
+		} catch (ServiceBusyException e) {
+			log.debug("Password rehash for user {} postponed", user.getId());
+		}
 	}
 
 	/**
-	 * Retrieves the currently logged-in user's details from the security context.
+	 * Streams all registered users in the system as a Response-shaped document
+	 * in the negotiated format, writing each user as soon as it is read.
+	 *
+	 * @param format       The response encoding.
+	 * @param outputStream The stream the response is written to.
+	 * @return The number of users written.
+	 * @throws IOException If writing to the output stream fails.
+	 */
+	@Override
+	public long writeAllUsers(ResponseFormat format, OutputStream outputStream) throws IOException {
+
+		return listResponseWriter.writeList(outputStream, format, "userList", userRepo::streamAllSummaries,
+				entityDtoMapper::mapUserSummaryToDto);
+	}
+
+	/**
+	 * Returns the currently logged-in user, loaded by the ID carried by the
+	 * principal the JWT filter resolved for this request.
 	 *
 	 * @return The User entity representing the logged-in user.
+	 * @throws NotFoundException If the user has been deleted since the principal
+	 *                           was cached.
 	 */
 	@Override
 	public User getLoginUser() {
 		
+		return userRepo.findById(getLoginUserId()).orElseThrow(() -> new NotFoundException("User Not found"));
+	}
+
+	/**
+	 * Returns a lazy reference to the logged-in user without querying it, for
+	 * use as a foreign key (e.g. the owner of a new row) inside a transaction.
+	 * Its fields other than the ID must not be read; use {@link #getLoginUser()}
+	 * for that.
+	 *
+	 * @return A reference to the logged-in user.
+	 */
+	@Override
+	public User getLoginUserReference() {
+
+		return userRepo.getReferenceById(getLoginUserId());
+	}
+
+	/**
+	 * Returns the ID of the logged-in user from the authenticated principal,
+	 * without querying the database.
+	 *
+	 * @return The ID of the logged-in user.
+	 */
+	@Override
+	public Long getLoginUserId() {
+
+		return loginPrincipal().getId();
+	}
+
+	/**
+	 * Returns the role of the logged-in user from the authenticated principal,
+	 * without querying the database.
+	 *
+	 * @return The role of the logged-in user.
+	 */
+	@Override
+	public UserRole getLoginUserRole() {
+
+		return loginPrincipal().getRole();
+	}
+
+	private AuthUser loginPrincipal() {
 		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		
-		String email = authentication.getName();
-		log.info("User Email is: " + email);
-		
-		return userRepo
-				.findByEmail(email)
-				.orElseThrow(() -> new UsernameNotFoundException("User Not found"));
+		if (authentication == null || !(authentication.getPrincipal() instanceof AuthUser authUser)) {
+			throw new UsernameNotFoundException("User Not found");
+		}
+
+		return authUser;
 	}
 
 	/**
-	 * Retrieves the logged-in user's details along with their order history.
+	 * Retrieves the logged-in user's details along with their address. The order
+	 * history is served separately by {@link #getOrderHistory(Pageable)}.
 	 *
-	 * @return A Response containing the user's details and order history.
+	 * @return A Response containing the user's details.
 	 */
 	@Override
-	public Response getUserInfoAndOrderHistory() {
+	public Response getUserInfo() {
 		
 		User user = getLoginUser();
-		UserDto userDto = entityDtoMapper.mapUserToDtoPlusAddressAndOrderHistory(user);
+		UserDto userDto = entityDtoMapper.mapUserToDtoPlusAddress(user);
 
 		return Response.builder().status(200).user(userDto).build();
 	}
+
+	/**
+	 * Retrieves one page of the logged-in user's order history, including order
+	 * items that have been moved to the archive. Each tier is read through its
+	 * (user_id, created_at) index with products fetched in the same query.
+	 *
+	 * @param pageable The pagination and sort details.
+	 * @return A Response containing the page of order items.
+	 */
+	@Override
+	public Response getOrderHistory(Pageable pageable) {
+
+		Page<OrderItemDto> orderItemPage = orderItemArchiveService.orderHistoryAcrossTiers(getLoginUserId(),
+				pageable);
+
+		return Response
+				.builder()
+				.status(200)
+				.orderItemList(orderItemPage.getContent())
+				.totalPage(orderItemPage.getTotalPages())
+				.totalElement(orderItemPage.getTotalElements())
+				.build();
+	}
 }
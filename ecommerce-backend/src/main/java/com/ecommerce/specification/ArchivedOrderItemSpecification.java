@@ -0,0 +1,76 @@
+package com.ecommerce.specification;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.ecommerce.entities.ArchivedOrderItem;
+import com.ecommerce.enums.OrderStatus;
+
+public class ArchivedOrderItemSpecification {
+
+	/**
+	 * Creates a specification to filter archived order items by their status.
+	 *
+	 * @param status The desired OrderStatus to filter by.
+	 * @return A Specification for filtering ArchivedOrderItem entities by status.
+	 */
+	public static Specification<ArchivedOrderItem> hasStatus(OrderStatus status) {
+
+		return ((root, query, criteriaBuilder) ->
+			status != null ? criteriaBuilder.equal(root.get("status"), status) : null);
+	}
+
+	/**
+	 * Creates a specification to filter archived order items based on their
+	 * creation date range. The archive month is constrained as well so the scan
+	 * stays within the monthly partitions covered by the range.
+	 *
+	 * @param startDate The start of the date range.
+	 * @param endDate   The end of the date range.
+	 * @return A Specification for filtering ArchivedOrderItem entities by creation
+	 *         date.
+	 */
+	public static Specification<ArchivedOrderItem> createdBetween(LocalDateTime startDate, LocalDateTime endDate) {
+		return ((root, query, criteriaBuilder) -> {
+
+			if (startDate != null && endDate != null) {
+				return criteriaBuilder.and(
+						criteriaBuilder.between(root.get("archiveMonth"), toArchiveMonth(startDate), toArchiveMonth(endDate)),
+						criteriaBuilder.between(root.get("createdAt"), startDate, endDate));
+			} else if (startDate != null) {
+				return criteriaBuilder.and(
+						criteriaBuilder.greaterThanOrEqualTo(root.get("archiveMonth"), toArchiveMonth(startDate)),
+						criteriaBuilder.greaterThanOrEqualTo(root.get("createdAt"), startDate));
+			} else if (endDate != null) {
+				return criteriaBuilder.and(
+						criteriaBuilder.lessThanOrEqualTo(root.get("archiveMonth"), toArchiveMonth(endDate)),
+						criteriaBuilder.lessThanOrEqualTo(root.get("createdAt"), endDate));
+			} else {
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * Creates a specification to filter archived order items by the ID of the
+	 * original order item.
+	 *
+	 * @param itemId The ID of the OrderItem to filter by.
+	 * @return A Specification for filtering ArchivedOrderItem entities by ID.
+	 */
+	public static Specification<ArchivedOrderItem> hasItemId(Long itemId) {
+		return ((root, query, criteriaBuilder) ->
+			itemId != null ? criteriaBuilder.equal(root.get("id"), itemId) : null);
+	}
+
+	/**
+	 * Converts a timestamp to the yyyyMM archive month it is stored under.
+	 *
+	 * @param dateTime The timestamp to convert.
+	 * @return The archive month key.
+	 */
+	public static int toArchiveMonth(LocalDateTime dateTime) {
+		return dateTime.getYear() * 100 + dateTime.getMonthValue();
+	}
+}
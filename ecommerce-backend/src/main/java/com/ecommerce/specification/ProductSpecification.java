@@ -0,0 +1,54 @@
+package com.ecommerce.specification;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.ecommerce.entities.Product;
+
+public class ProductSpecification {
+
+	// Escape character of the LIKE patterns built by containsPattern
+	public static final char LIKE_ESCAPE = '\\';
+
+	/**
+	 * Creates a specification to filter products by their category.
+	 *
+	 * @param categoryId The ID of the category to filter by.
+	 * @return A Specification for filtering Product entities by category.
+	 */
+	public static Specification<Product> inCategory(Long categoryId) {
+		return ((root, query, criteriaBuilder) ->
+			categoryId != null ? criteriaBuilder.equal(root.get("category").get("id"), categoryId) : null);
+	}
+
+	/**
+	 * Creates a specification to find products whose name or description
+	 * contains a search value.
+	 *
+	 * @param searchValue The value to search for.
+	 * @return A Specification for filtering Product entities by name or
+	 *         description.
+	 */
+	public static Specification<Product> nameOrDescriptionContains(String searchValue) {
+		return ((root, query, criteriaBuilder) -> {
+			if (searchValue == null) {
+				return null;
+			}
+			String pattern = containsPattern(searchValue);
+			return criteriaBuilder.or(criteriaBuilder.like(root.get("name"), pattern, LIKE_ESCAPE),
+					criteriaBuilder.like(root.get("description"), pattern, LIKE_ESCAPE));
+		});
+	}
+
+	/**
+	 * Builds a LIKE pattern matching values that contain the search value
+	 * literally: the wildcards % and _ in it are escaped with
+	 * {@link #LIKE_ESCAPE}.
+	 *
+	 * @param searchValue The value to search for.
+	 * @return The pattern, to be matched with {@link #LIKE_ESCAPE} as the escape
+	 *         character.
+	 */
+	public static String containsPattern(String searchValue) {
+		return "%" + searchValue.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+	}
+}
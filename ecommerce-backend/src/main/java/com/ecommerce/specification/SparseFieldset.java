@@ -0,0 +1,146 @@
+package com.ecommerce.specification;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.springframework.util.StringUtils;
+
+import com.ecommerce.exceptions.InvalidCredentialsException;
+
+import jakarta.persistence.Tuple;
+
+/**
+ * The fields of a DTO that clients may request through a {@code fields=}
+ * parameter. Each field is bound to the entity attribute path it is selected
+ * from (e.g. "product.name") and the setter that fills it in, so a request for
+ * a few fields selects only those columns and produces DTOs with every other
+ * property left null, which the DTOs' NON_NULL inclusion leaves out of the
+ * response.
+ *
+ * @param <D> The DTO type.
+ */
+public final class SparseFieldset<D> {
+
+	private final Supplier<D> factory;
+	private final String idField;
+	private final Map<String, Field<D>> fields;
+
+	private SparseFieldset(Supplier<D> factory, String idField, Map<String, Field<D>> fields) {
+		this.factory = factory;
+		this.idField = idField;
+		this.fields = fields;
+	}
+
+	public static <D> Builder<D> builder(Supplier<D> factory) {
+		return new Builder<>(factory);
+	}
+
+	/**
+	 * Parses a comma separated {@code fields=} parameter. The ID field is always
+	 * selected, so results stay identifiable and sortable.
+	 *
+	 * @param fieldsParam The requested fields, e.g. "id,name,price".
+	 * @return The selection, or null when no fields were requested and the full
+	 *         representation should be returned.
+	 * @throws InvalidCredentialsException If an unknown field is requested.
+	 */
+	public FieldSelection<D> select(String fieldsParam) {
+		if (!StringUtils.hasText(fieldsParam)) {
+			return null;
+		}
+
+		Map<String, Field<D>> selected = new LinkedHashMap<>();
+		selected.put(idField, fields.get(idField));
+		for (String name : StringUtils.commaDelimitedListToStringArray(fieldsParam)) {
+			String trimmed = name.trim();
+			if (trimmed.isEmpty()) {
+				continue;
+			}
+			Field<D> field = fields.get(trimmed);
+			if (field == null) {
+				throw new InvalidCredentialsException("Unknown field: " + trimmed);
+			}
+			selected.put(trimmed, field);
+		}
+		return new FieldSelection<>(factory, List.copyOf(selected.values()));
+	}
+
+	/**
+	 * A requestable field: its name in the response, the entity attribute path it
+	 * is read from, and how it is written into the DTO.
+	 */
+	public record Field<D>(String name, String path, BiConsumer<D, Object> setter) {
+	}
+
+	/**
+	 * The fields chosen for one request.
+	 */
+	public static final class FieldSelection<D> {
+
+		private final Supplier<D> factory;
+		private final List<Field<D>> fields;
+
+		private FieldSelection(Supplier<D> factory, List<Field<D>> fields) {
+			this.factory = factory;
+			this.fields = fields;
+		}
+
+		public List<Field<D>> getFields() {
+			return fields;
+		}
+
+		/**
+		 * Builds a DTO from a tuple whose elements are aliased by field name. Null
+		 * values are skipped, so absent associations are not rendered as empty
+		 * objects.
+		 */
+		public D toDto(Tuple tuple) {
+			D dto = factory.get();
+			for (Field<D> field : fields) {
+				Object value = tuple.get(field.name());
+				if (value != null) {
+					field.setter().accept(dto, value);
+				}
+			}
+			return dto;
+		}
+	}
+
+	public static final class Builder<D> {
+
+		private final Supplier<D> factory;
+		private final Map<String, Field<D>> fields = new LinkedHashMap<>();
+		private String idField;
+
+		private Builder(Supplier<D> factory) {
+			this.factory = factory;
+		}
+
+		/**
+		 * Declares the ID field, which is selected on every request.
+		 */
+		public <V> Builder<D> id(String name, Class<V> type, BiConsumer<D, V> setter) {
+			this.idField = name;
+			return field(name, name, type, setter);
+		}
+
+		public <V> Builder<D> field(String name, Class<V> type, BiConsumer<D, V> setter) {
+			return field(name, name, type, setter);
+		}
+
+		public <V> Builder<D> field(String name, String path, Class<V> type, BiConsumer<D, V> setter) {
+			fields.put(name, new Field<>(name, path, (dto, value) -> setter.accept(dto, type.cast(value))));
+			return this;
+		}
+
+		public SparseFieldset<D> build() {
+			if (idField == null) {
+				throw new IllegalStateException("A sparse fieldset needs an id field");
+			}
+			return new SparseFieldset<>(factory, idField, Map.copyOf(fields));
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package com.ecommerce.utils;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from long keys to int values, backed by two
+ * primitive arrays with linear probing. It avoids boxing both keys and values,
+ * which matters when millions of small counters are held in memory. Not
+ * thread-safe; callers synchronize externally.
+ */
+public class LongIntHashMap {
+
+	private static final long FREE = Long.MIN_VALUE;
+	private static final float LOAD_FACTOR = 0.6f;
+
+	private long[] keys;
+	private int[] values;
+	private int size;
+	private int resizeAt;
+
+	public LongIntHashMap() {
+		this(8);
+	}
+
+	public LongIntHashMap(int expectedSize) {
+		allocate(tableSizeFor(expectedSize));
+	}
+
+	/**
+	 * Adds delta to the value of key, inserting the key with value delta when it
+	 * is absent. Long.MIN_VALUE is reserved and cannot be used as a key.
+	 *
+	 * @return The new value.
+	 */
+	public int addTo(long key, int delta) {
+		int index = indexOf(key);
+		if (keys[index] == key) {
+			return values[index] += delta;
+		}
+		keys[index] = key;
+		values[index] = delta;
+		if (++size > resizeAt) {
+			rehash(keys.length * 2);
+		}
+		return delta;
+	}
+
+	public int get(long key) {
+		int index = indexOf(key);
+		return keys[index] == key ? values[index] : 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void forEach(EntryConsumer consumer) {
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != FREE) {
+				consumer.accept(keys[i], values[i]);
+			}
+		}
+	}
+
+	/**
+	 * Adds every entry of another map to this one.
+	 */
+	public void addAll(LongIntHashMap other) {
+		other.forEach(this::addTo);
+	}
+
+	private int indexOf(long key) {
+		int mask = keys.length - 1;
+		int index = mix(key) & mask;
+		while (keys[index] != FREE && keys[index] != key) {
+			index = (index + 1) & mask;
+		}
+		return index;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		allocate(capacity);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != FREE) {
+				int index = indexOf(oldKeys[i]);
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new int[capacity];
+		Arrays.fill(keys, FREE);
+		resizeAt = (int) (capacity * LOAD_FACTOR);
+	}
+
+	private static int tableSizeFor(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+		return Math.max(capacity, 8);
+	}
+
+	private static int mix(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	@FunctionalInterface
+	public interface EntryConsumer {
+
+		void accept(long key, int value);
+	}
+}
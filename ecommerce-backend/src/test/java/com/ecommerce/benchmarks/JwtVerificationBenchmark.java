@@ -0,0 +1,106 @@
+package com.ecommerce.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.security.JwtUtils;
+import com.ecommerce.security.VerifiedToken;
+
+/**
+ * Measures JWT verification with the verified-token cache: a cache hit, from
+ * one thread and from eight, against a miss, which pays for the SHA-256 key,
+ * the signature check and the claims parsing as every request did before the
+ * cache.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.ecommerce.benchmarks.JwtVerificationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+	// Distinct tokens the requests rotate through
+	private static final int TOKENS = 1024;
+
+	private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+	@State(Scope.Benchmark)
+	public static class Tokens {
+
+		private JwtUtils caching;
+		private JwtUtils nonCaching;
+		private String[] tokens;
+
+		@Setup
+		public void setUp() {
+			caching = jwtUtils(TOKENS * 4);
+			// A single-entry cache misses on every rotating token
+			nonCaching = jwtUtils(1);
+
+			tokens = new String[TOKENS];
+			for (int i = 0; i < TOKENS; i++) {
+				tokens[i] = caching.generateToken("user" + i + "@example.com");
+			}
+			for (String token : tokens) {
+				caching.verifyToken(token);
+			}
+		}
+
+		private static JwtUtils jwtUtils(int cacheSize) {
+			JwtUtils jwtUtils = new JwtUtils();
+			ReflectionTestUtils.setField(jwtUtils, "secreteJwtString", SECRET);
+			ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", cacheSize);
+			ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+			return jwtUtils;
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+
+		private int next;
+
+		private String nextToken(Tokens tokens) {
+			next = (next + 1) & (TOKENS - 1);
+			return tokens.tokens[next];
+		}
+	}
+
+	@Benchmark
+	public VerifiedToken cacheHit(Tokens tokens, Cursor cursor) {
+		return tokens.caching.verifyToken(cursor.nextToken(tokens));
+	}
+
+	@Benchmark
+	@Threads(8)
+	public VerifiedToken cacheHitContended(Tokens tokens, Cursor cursor) {
+		return tokens.caching.verifyToken(cursor.nextToken(tokens));
+	}
+
+	@Benchmark
+	public VerifiedToken cacheMiss(Tokens tokens, Cursor cursor) {
+		return tokens.nonCaching.verifyToken(cursor.nextToken(tokens));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(JwtVerificationBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.benchmarks;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.ecommerce.dto.CategoryDto;
+import com.ecommerce.dto.ProductDto;
+import com.ecommerce.dto.Response;
+import com.ecommerce.enums.ImageStatus;
+import com.ecommerce.enums.ResponseFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Measures encoding and decoding a product list Response in each negotiable
+ * format, with the mappers configured like ContentNegotiationConfiguration's.
+ * The encoded sizes are printed once per trial.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.ecommerce.benchmarks.PayloadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadBenchmark {
+
+	@Param({ "JSON", "CBOR", "SMILE" })
+	private ResponseFormat format;
+
+	@Param({ "100" })
+	private int products;
+
+	private ObjectMapper objectMapper;
+	private Response response;
+	private byte[] encoded;
+
+	@Setup
+	public void setUp() throws IOException {
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+		objectMapper = switch (format) {
+			case CBOR -> builder.factory(new CBORFactory()).build();
+			case SMILE -> builder.factory(new SmileFactory()).build();
+			default -> builder.build();
+		};
+
+		List<ProductDto> productList = new ArrayList<>();
+		for (long id = 1; id <= products; id++) {
+			ProductDto product = new ProductDto();
+			product.setId(id);
+			product.setName("Product " + id);
+			product.setDescription("A description long enough to look like a real product description " + id);
+			product.setPrice(BigDecimal.valueOf(1000 + id, 2));
+			product.setImageUrl("https://images.example.com/" + id + ".jpg");
+			product.setThumbnailUrl("https://images.example.com/" + id + "-thumbnail.jpg");
+			product.setImageStatus(ImageStatus.READY);
+			product.setCategory(new CategoryDto(id % 10, "Category " + id % 10, null));
+			product.setReviewCount(id % 50);
+			product.setAverageRating(3.5);
+			productList.add(product);
+		}
+		response = Response.builder().status(200).productList(productList).build();
+		encoded = objectMapper.writeValueAsBytes(response);
+
+		System.out.println(format + " payload: " + encoded.length + " bytes");
+	}
+
+	@Benchmark
+	public byte[] encode() throws IOException {
+		return objectMapper.writeValueAsBytes(response);
+	}
+
+	@Benchmark
+	public JsonNode decode() throws IOException {
+		return objectMapper.readTree(encoded);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(PayloadBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,149 @@
+package com.ecommerce.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.ecommerce.dto.OrderItemRequest;
+import com.ecommerce.dto.PriceQuote;
+import com.ecommerce.entities.Category;
+import com.ecommerce.entities.Product;
+import com.ecommerce.entities.Promotion;
+import com.ecommerce.enums.PromotionType;
+import com.ecommerce.repositories.ProductRepository;
+import com.ecommerce.repositories.PromotionRepository;
+import com.ecommerce.services.impl.PricingServiceImpl;
+
+/**
+ * Measures pricing a cart against the compiled promotion index. A line is
+ * only checked against the promotions targeting its product or category and
+ * the storewide ones, so with a handful of storewide promotions the cost of a
+ * cart should grow with its number of lines, not with the number of active
+ * promotions.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.ecommerce.benchmarks.PricingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+
+	private static final int PRODUCTS = 10_000;
+	private static final int CATEGORIES = 100;
+	private static final int STOREWIDE_PROMOTIONS = 3;
+	private static final String COUPON_CODE = "SAVE10";
+
+	@Param({ "10", "1000", "10000" })
+	private int promotionCount;
+
+	@Param({ "5", "50" })
+	private int cartLines;
+
+	private PricingServiceImpl pricingService;
+	private List<OrderItemRequest> cart;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+
+		List<Category> categories = new ArrayList<>();
+		for (long id = 1; id <= CATEGORIES; id++) {
+			Category category = new Category();
+			category.setId(id);
+			categories.add(category);
+		}
+		Map<Long, Product> products = new HashMap<>();
+		for (long id = 1; id <= PRODUCTS; id++) {
+			Product product = new Product();
+			product.setId(id);
+			product.setPrice(BigDecimal.valueOf(100 + random.nextInt(10_000), 2));
+			product.setCategory(categories.get(random.nextInt(CATEGORIES)));
+			products.put(id, product);
+		}
+
+		List<Promotion> promotions = new ArrayList<>();
+		for (long id = 1; id <= promotionCount; id++) {
+			Promotion promotion = new Promotion();
+			promotion.setId(id);
+			if (id <= STOREWIDE_PROMOTIONS) {
+				// storewide, left untargeted
+			} else if (id % 10 == 0) {
+				promotion.setCouponCode(COUPON_CODE);
+				promotion.setCategoryId(1L + random.nextInt(CATEGORIES));
+			} else if (id % 10 == 1) {
+				promotion.setCategoryId(1L + random.nextInt(CATEGORIES));
+			} else {
+				promotion.setProductId(1L + random.nextInt(PRODUCTS));
+			}
+			if (id % 3 == 0) {
+				promotion.setType(PromotionType.BUY_X_GET_Y);
+				promotion.setBuyQuantity(2);
+				promotion.setFreeQuantity(1);
+			} else {
+				promotion.setType(PromotionType.PERCENTAGE_OFF);
+				promotion.setPercentOff(BigDecimal.valueOf(5 + random.nextInt(30)));
+			}
+			promotion.setStartsAt(LocalDateTime.now().minusDays(1));
+			promotion.setEndsAt(LocalDateTime.now().plusDays(1));
+			promotions.add(promotion);
+		}
+
+		PromotionRepository promotionRepo = Stubs.stub(PromotionRepository.class,
+				Map.of("findByActiveTrue", args -> promotions));
+		ProductRepository productRepo = Stubs.stub(ProductRepository.class, Map.of("findAllById", args -> {
+			List<Product> found = new ArrayList<>();
+			for (Object id : (Iterable<?>) args[0]) {
+				found.add(products.get(id));
+			}
+			return found;
+		}));
+		pricingService = new PricingServiceImpl(promotionRepo, productRepo);
+		pricingService.reloadPromotions();
+
+		cart = new ArrayList<>();
+		for (int i = 0; i < cartLines; i++) {
+			OrderItemRequest item = new OrderItemRequest();
+			item.setProductId(1L + random.nextInt(PRODUCTS));
+			item.setQuantity(1 + random.nextInt(5));
+			cart.add(item);
+		}
+	}
+
+	@Benchmark
+	public PriceQuote priceCart() {
+		return pricingService.priceCart(cart, null);
+	}
+
+	@Benchmark
+	public PriceQuote priceCartWithCoupon() {
+		return pricingService.priceCart(cart, COUPON_CODE);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(PricingBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Minimal interface stubs for benchmarks. Unlike mocks they record nothing, so
+ * a stubbed call costs a map lookup and does not distort the measurement.
+ */
+final class Stubs {
+
+	private Stubs() {
+	}
+
+	/**
+	 * Creates an implementation of an interface whose listed methods, matched by
+	 * name, answer with the given functions of their arguments. Any other method
+	 * throws UnsupportedOperationException.
+	 */
+	static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+		Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					Function<Object[], Object> answer = answers.get(method.getName());
+					if (answer != null) {
+						return answer.apply(args);
+					}
+					if (method.getName().equals("toString")) {
+						return type.getSimpleName() + " stub";
+					}
+					throw new UnsupportedOperationException(method.getName());
+				});
+		return type.cast(stub);
+	}
+}
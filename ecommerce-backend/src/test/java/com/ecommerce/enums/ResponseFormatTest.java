@@ -0,0 +1,39 @@
+package com.ecommerce.enums;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ResponseFormatTest {
+
+	@ParameterizedTest
+	@NullAndEmptySource
+	@ValueSource(strings = { " ", "*/*", "application/json", "text/html", "application/*" })
+	void defaultsToJson(String accept) {
+		assertThat(ResponseFormat.fromAcceptHeader(accept)).isEqualTo(ResponseFormat.JSON);
+	}
+
+	@ParameterizedTest
+	@CsvSource(delimiter = '|', value = {
+			"application/cbor | CBOR",
+			"application/x-jackson-smile | SMILE",
+			"application/json, application/cbor | JSON",
+			"application/json;q=0.5, application/cbor | CBOR",
+			"application/cbor;q=0.9, application/x-jackson-smile | SMILE",
+			"application/x-jackson-smile;q=0.2, application/cbor;q=0.8, */*;q=0.1 | CBOR",
+			"*/*;q=0.1, application/cbor | CBOR",
+			"application/cbor;q=0.5, */* | JSON",
+			"text/html, application/cbor;q=0.9 | CBOR" })
+	void picksFormatWithHighestQuality(String accept, ResponseFormat expected) {
+		assertThat(ResponseFormat.fromAcceptHeader(accept)).isEqualTo(expected);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "application", "application/cbor;q=abc", ";;;" })
+	void fallsBackToJsonOnMalformedHeader(String accept) {
+		assertThat(ResponseFormat.fromAcceptHeader(accept)).isEqualTo(ResponseFormat.JSON);
+	}
+}
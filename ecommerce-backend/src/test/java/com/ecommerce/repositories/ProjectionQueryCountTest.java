@@ -0,0 +1,238 @@
+package com.ecommerce.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.ecommerce.dto.CategoryDto;
+import com.ecommerce.dto.OrderItemDto;
+import com.ecommerce.dto.ProductDto;
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.dto.UserDto;
+import com.ecommerce.dto.UserSummary;
+import com.ecommerce.entities.Address;
+import com.ecommerce.entities.ArchivedOrderItem;
+import com.ecommerce.entities.Category;
+import com.ecommerce.entities.OrderItem;
+import com.ecommerce.entities.Product;
+import com.ecommerce.entities.User;
+import com.ecommerce.enums.OrderStatus;
+import com.ecommerce.enums.UserRole;
+import com.ecommerce.mappers.EntityDtoMapper;
+import com.ecommerce.mappers.EntityDtoMapperImpl;
+import com.ecommerce.security.PrincipalCache;
+import com.ecommerce.security.PrincipalCacheInvalidator;
+import com.ecommerce.specification.ArchivedOrderItemSpecification;
+import com.ecommerce.specification.OrderItemSpecification;
+
+/**
+ * Checks that list reads take a fixed number of statements however many rows
+ * they return: projections select their columns in one query and hydrate no
+ * entities, and the mappers only touch the associations they name.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ EntityDtoMapperImpl.class, PrincipalCache.class, PrincipalCacheInvalidator.class })
+class ProjectionQueryCountTest {
+
+	private static final int PRODUCTS_PER_CATEGORY = 10;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private ProductRepository productRepo;
+
+	@Autowired
+	private CategoryRepository categoryRepo;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private OrderItemRepository orderItemRepo;
+
+	@Autowired
+	private ArchivedOrderItemRepository archivedOrderItemRepo;
+
+	@Autowired
+	private EntityDtoMapper entityDtoMapper;
+
+	private Statistics statistics;
+	private Long categoryId;
+	private Long userId;
+	private final List<User> users = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		User user = null;
+		for (int u = 0; u < 3; u++) {
+			user = entityManager.persist(User.builder()
+					.name("User " + u)
+					.email("user" + u + "@example.com")
+					.password("hash")
+					.phoneNumber("555-000" + u)
+					.role(UserRole.USER)
+					.build());
+			users.add(user);
+
+			Address address = new Address();
+			address.setCity("City " + u);
+			address.setUser(user);
+			entityManager.persist(address);
+		}
+		userId = user.getId();
+
+		for (int c = 0; c < 2; c++) {
+			Category category = new Category();
+			category.setName("Category " + c);
+			entityManager.persist(category);
+			categoryId = category.getId();
+
+			for (int p = 0; p < PRODUCTS_PER_CATEGORY; p++) {
+				Product product = new Product();
+				product.setName("Product " + c + "-" + p);
+				product.setDescription("Description " + p);
+				product.setPrice(BigDecimal.valueOf(10 + p));
+				product.setCategory(category);
+				entityManager.persist(product);
+
+				OrderItem orderItem = new OrderItem();
+				orderItem.setQuantity(1);
+				orderItem.setPrice(product.getPrice());
+				orderItem.setStatus(OrderStatus.PENDING);
+				orderItem.setUser(user);
+				orderItem.setProduct(product);
+				entityManager.persist(orderItem);
+
+				ArchivedOrderItem archivedOrderItem = new ArchivedOrderItem();
+				archivedOrderItem.setId(1000L + product.getId());
+				archivedOrderItem.setQuantity(1);
+				archivedOrderItem.setPrice(product.getPrice());
+				archivedOrderItem.setStatus(OrderStatus.DELIVERED);
+				archivedOrderItem.setUser(users.get(p % users.size()));
+				archivedOrderItem.setProduct(product);
+				archivedOrderItem.setCreatedAt(LocalDateTime.now().minusYears(2));
+				entityManager.persist(archivedOrderItem);
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+				.getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void productSummariesAreOneQueryWithoutEntities() {
+		List<ProductDto> products = productRepo.findSummariesByCategoryId(categoryId).stream()
+				.map(entityDtoMapper::mapProductSummaryToDto)
+				.toList();
+
+		assertThat(products).hasSize(PRODUCTS_PER_CATEGORY);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void streamedProductSummariesAreOneQueryWithoutEntities() {
+		List<ProductDto> products;
+		try (Stream<ProductSummary> summaries = productRepo.streamAllSummaries(Sort.by("id"))) {
+			products = summaries.map(entityDtoMapper::mapProductSummaryToDto).toList();
+		}
+
+		assertThat(products).hasSize(2 * PRODUCTS_PER_CATEGORY);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void categoryAndUserSummariesAreOneQueryEach() {
+		List<CategoryDto> categories = categoryRepo.findAllSummaries().stream()
+				.map(entityDtoMapper::mapCategorySummaryToDto)
+				.toList();
+		List<UserDto> users;
+		try (Stream<UserSummary> summaries = userRepo.streamAllSummaries()) {
+			users = summaries.map(entityDtoMapper::mapUserSummaryToDto).toList();
+		}
+
+		assertThat(categories).hasSize(2);
+		assertThat(users).hasSize(3);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void basicProductMappingLeavesCategoryUnloaded() {
+		List<Product> products = productRepo.findAll();
+		products.forEach(entityDtoMapper::mapProductToDtoBasic);
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isEqualTo(products.size());
+	}
+
+	@Test
+	void orderHistoryPageFetchesProductsWithItems() {
+		Page<OrderItem> page = orderItemRepo.findOrderHistoryByUserId(userId,
+				PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt")));
+		List<OrderItemDto> orderItems = page.getContent().stream()
+				.map(entityDtoMapper::mapOrderItemToDtoPlusProduct)
+				.toList();
+
+		assertThat(orderItems).hasSize(5).allSatisfy(item -> assertThat(item.getProduct()).isNotNull());
+		assertThat(page.getTotalElements()).isEqualTo(2 * PRODUCTS_PER_CATEGORY);
+		// The page and its count, however many items and products it holds
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void filteredOrderItemPageFetchesProductUserAndAddress() {
+		Specification<OrderItem> spec = Specification.where(OrderItemSpecification.hasStatus(OrderStatus.PENDING));
+		List<OrderItemDto> orderItems = orderItemRepo
+				.findAll(spec, PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt")))
+				.map(entityDtoMapper::mapOrderItemToDtoPlusProductAndUser)
+				.getContent();
+
+		assertThat(orderItems).hasSize(5).allSatisfy(item -> {
+			assertThat(item.getProduct()).isNotNull();
+			assertThat(item.getUser().getAddress()).isNotNull();
+		});
+		// The page and its count, however many products and users it holds
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void filteredArchivePageFetchesProductUserAndAddress() {
+		Specification<ArchivedOrderItem> spec = Specification
+				.where(ArchivedOrderItemSpecification.hasStatus(OrderStatus.DELIVERED));
+		List<OrderItemDto> orderItems = archivedOrderItemRepo
+				.findAll(spec, PageRequest.of(0, 6, Sort.by("id")))
+				.map(entityDtoMapper::mapArchivedOrderItemToDtoPlusProductAndUser)
+				.getContent();
+
+		assertThat(orderItems).hasSize(6).allSatisfy(item -> {
+			assertThat(item.getProduct()).isNotNull();
+			assertThat(item.getUser().getAddress()).isNotNull();
+		});
+		assertThat(orderItems).extracting(item -> item.getUser().getId()).containsOnly(
+				users.stream().map(User::getId).toArray(Long[]::new));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+}
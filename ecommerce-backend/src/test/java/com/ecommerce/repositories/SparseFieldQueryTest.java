@@ -0,0 +1,137 @@
+package com.ecommerce.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.ecommerce.dto.CategoryDto;
+import com.ecommerce.dto.ProductDto;
+import com.ecommerce.dto.ProductSummary;
+import com.ecommerce.entities.Category;
+import com.ecommerce.entities.Product;
+import com.ecommerce.security.PrincipalCache;
+import com.ecommerce.security.PrincipalCacheInvalidator;
+import com.ecommerce.specification.ProductSpecification;
+import com.ecommerce.specification.SparseFieldset;
+
+/**
+ * Checks that sparse fieldset reads select only what was asked for in a single
+ * query, and that the sparse and the full product search match the same
+ * products.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ SparseFieldRepository.class, PrincipalCache.class, PrincipalCacheInvalidator.class })
+class SparseFieldQueryTest {
+
+	private static final SparseFieldset<ProductDto> PRODUCT_FIELDS = SparseFieldset
+			.<ProductDto>builder(ProductDto::new)
+			.id("id", Long.class, ProductDto::setId)
+			.field("name", String.class, ProductDto::setName)
+			.field("price", BigDecimal.class, ProductDto::setPrice)
+			.field("category.name", String.class, (product, name) -> {
+				product.setCategory(new CategoryDto());
+				product.getCategory().setName(name);
+			})
+			.build();
+
+	private static final List<String> PRODUCT_NAMES = List.of("50% off lamp", "500 off lamp", "desk_lamp",
+			"deskXlamp", "back\\slash lamp", "plain lamp");
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private SparseFieldRepository sparseFieldRepo;
+
+	@Autowired
+	private ProductRepository productRepo;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		Category category = new Category();
+		category.setName("Lighting");
+		entityManager.persist(category);
+
+		for (String name : PRODUCT_NAMES) {
+			Product product = new Product();
+			product.setName(name);
+			product.setDescription("A lamp");
+			product.setPrice(BigDecimal.TEN);
+			product.setCategory(category);
+			entityManager.persist(product);
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+				.getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void selectsRequestedFieldsInOneQuery() {
+		List<ProductDto> products = sparseFieldRepo.findAll(Product.class, null, Sort.by("id"),
+				PRODUCT_FIELDS.select("name"));
+
+		assertThat(products).hasSize(PRODUCT_NAMES.size()).allSatisfy(product -> {
+			assertThat(product.getId()).isNotNull();
+			assertThat(product.getName()).isNotNull();
+			assertThat(product.getPrice()).isNull();
+			assertThat(product.getCategory()).isNull();
+		});
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void joinsAssociationOnlyForItsFields() {
+		List<ProductDto> products = sparseFieldRepo.findAll(Product.class, null, Sort.by("id"),
+				PRODUCT_FIELDS.select("category.name"));
+
+		assertThat(products).allSatisfy(product -> assertThat(product.getCategory().getName()).isEqualTo("Lighting"));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+	}
+
+	@Test
+	void pageTakesContentAndCountQueries() {
+		Page<ProductDto> page = sparseFieldRepo.findPage(Product.class, null, PageRequest.of(1, 2, Sort.by("id")),
+				PRODUCT_FIELDS.select("name,price"));
+
+		assertThat(page.getContent()).hasSize(2);
+		assertThat(page.getTotalElements()).isEqualTo(PRODUCT_NAMES.size());
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "50%", "_", "k_l", "\\", "lamp", "%" })
+	void sparseAndSummarySearchesMatchTheSameProducts(String searchValue) {
+		List<String> sparseNames = sparseFieldRepo.findAll(Product.class,
+				ProductSpecification.nameOrDescriptionContains(searchValue), Sort.by("id"),
+				PRODUCT_FIELDS.select("name")).stream().map(ProductDto::getName).toList();
+		List<String> summaryNames = productRepo.searchSummaries(ProductSpecification.containsPattern(searchValue))
+				.stream().map(ProductSummary::name).toList();
+
+		assertThat(summaryNames).containsExactlyInAnyOrderElementsOf(sparseNames);
+		assertThat(summaryNames).containsExactlyInAnyOrderElementsOf(PRODUCT_NAMES.stream()
+				.filter(name -> name.contains(searchValue) || "A lamp".contains(searchValue))
+				.toList());
+	}
+}
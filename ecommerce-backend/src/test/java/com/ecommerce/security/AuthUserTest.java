@@ -0,0 +1,42 @@
+package com.ecommerce.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.ecommerce.entities.User;
+import com.ecommerce.enums.UserRole;
+
+class AuthUserTest {
+
+	private static final String HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3d1Gk1z0nU4b8qJ1dG4pQ7K";
+
+	@Test
+	void principalKeepsAFingerprintInsteadOfThePasswordHash() {
+		AuthUser principal = AuthUser.from(user(HASH));
+
+		assertThat(principal.getPassword()).isNull();
+		assertThat(principal.getPasswordVersion()).hasSize(16).doesNotContain(HASH);
+		assertThat(principal.getRole()).isEqualTo(UserRole.ADMIN);
+	}
+
+	@Test
+	void fingerprintChangesWithThePassword() {
+		AuthUser before = AuthUser.from(user(HASH));
+		AuthUser same = AuthUser.from(user(HASH));
+		AuthUser after = AuthUser.from(user(HASH.replace('K', 'L')));
+
+		assertThat(same).isEqualTo(before);
+		assertThat(after).isNotEqualTo(before);
+		assertThat(AuthUser.passwordVersion(null)).isNull();
+	}
+
+	private static User user(String passwordHash) {
+		return User.builder()
+				.id(1L)
+				.email("admin@example.com")
+				.password(passwordHash)
+				.role(UserRole.ADMIN)
+				.build();
+	}
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.security;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.repositories.UserRepository;
+
+class CustomUserDetailsServiceTest {
+
+	@Test
+	void missingUserIsReportedAsUsernameNotFound() {
+		UserRepository userRepository = mock(UserRepository.class);
+		when(userRepository.findByEmail("gone@example.com")).thenReturn(Optional.empty());
+
+		PrincipalCache principalCache = new PrincipalCache();
+		ReflectionTestUtils.setField(principalCache, "maxSize", 10);
+		ReflectionTestUtils.setField(principalCache, "ttlSeconds", 60L);
+		ReflectionTestUtils.invokeMethod(principalCache, "init");
+
+		CustomUserDetailsService service = new CustomUserDetailsService(userRepository, principalCache);
+
+		assertThatThrownBy(() -> service.loadUserByUsername("gone@example.com"))
+				.isInstanceOf(UsernameNotFoundException.class)
+				.hasMessage("User not found with Email: gone@example.com");
+	}
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LruCacheTest {
+
+	@Test
+	void evictsLeastRecentlyUsedEntry() {
+		LruCache<String, Integer> cache = new LruCache<>(3);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.put("c", 3);
+
+		// Reading "a" makes "b" the least recently used
+		assertThat(cache.get("a")).isEqualTo(1);
+		cache.put("d", 4);
+
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.get("a")).isEqualTo(1);
+		assertThat(cache.get("c")).isEqualTo(3);
+		assertThat(cache.get("d")).isEqualTo(4);
+		assertThat(cache.size()).isEqualTo(3);
+	}
+
+	@Test
+	void staysWithinBoundWhenSegmented() {
+		LruCache<Integer, Integer> cache = new LruCache<>(10_000);
+		for (int i = 0; i < 100_000; i++) {
+			cache.put(i, i);
+		}
+
+		assertThat(cache.size()).isLessThanOrEqualTo(10_000);
+		// The most recent entries survive
+		assertThat(cache.get(99_999)).isEqualTo(99_999);
+	}
+
+	@Test
+	void removesOnlyMatchingValue() {
+		LruCache<String, Integer> cache = new LruCache<>(10);
+		cache.put("a", 1);
+
+		cache.remove("a", 2);
+		assertThat(cache.get("a")).isEqualTo(1);
+
+		cache.remove("a", 1);
+		assertThat(cache.get("a")).isNull();
+	}
+
+	@Test
+	void removesValuesMatchingFilter() {
+		LruCache<Integer, Integer> cache = new LruCache<>(1000);
+		for (int i = 0; i < 1000; i++) {
+			cache.put(i, i);
+		}
+
+		cache.removeValuesIf(value -> value % 2 == 0);
+
+		assertThat(cache.size()).isEqualTo(500);
+		assertThat(cache.get(2)).isNull();
+		assertThat(cache.get(3)).isEqualTo(3);
+	}
+}
@@ -0,0 +1,115 @@
+package com.ecommerce.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RateLimitFilterTest {
+
+	private RateLimitFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		filter = filter(List.of("/auth/login=60:5", "/product/**=600000:1"), 100);
+	}
+
+	@Test
+	void admitsBurstThenRejects() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			assertThat(send("/auth/login", "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+		}
+
+		MockHttpServletResponse rejected = send("/auth/login", "10.0.0.1");
+		assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+		// One request per second sustained, so the next token is at most a second away
+		assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+		assertThat(rejected.getContentAsString()).contains("\"status\":429");
+	}
+
+	@Test
+	void limitsClientsIndependently() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			send("/auth/login", "10.0.0.1");
+		}
+
+		assertThat(send("/auth/login", "10.0.0.1").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+		assertThat(send("/auth/login", "10.0.0.2").getStatus()).isEqualTo(HttpStatus.OK.value());
+	}
+
+	@Test
+	void refillsAtTheConfiguredRate() throws Exception {
+		// 600000 per minute is one token every 100 microseconds, with a burst of one
+		assertThat(send("/product/getAll", "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+		Thread.sleep(5);
+		assertThat(send("/product/getAll", "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+	}
+
+	@Test
+	void ignoresRoutesWithoutRule() throws Exception {
+		for (int i = 0; i < 20; i++) {
+			assertThat(send("/order/filter", "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+		}
+	}
+
+	@Test
+	void newClientsShareOverflowBucketWhenFull() throws Exception {
+		filter = filter(List.of("/auth/login=60:2"), 1);
+		send("/auth/login", "10.0.0.1");
+
+		// The map is full, so every other client draws from one shared bucket
+		assertThat(send("/auth/login", "10.0.0.2").getStatus()).isEqualTo(HttpStatus.OK.value());
+		assertThat(send("/auth/login", "10.0.0.3").getStatus()).isEqualTo(HttpStatus.OK.value());
+		assertThat(send("/auth/login", "10.0.0.4").getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+
+		assertThat(send("/auth/login", "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+	}
+
+	@Test
+	void sweepDropsRefilledBuckets() throws Exception {
+		send("/product/getAll", "10.0.0.1");
+		send("/auth/login", "10.0.0.1");
+		Thread.sleep(5);
+
+		filter.evictIdleBuckets();
+
+		// The login bucket still owes a token, the product one has refilled
+		assertThat((Map<?, ?>) ReflectionTestUtils.getField(filter, "buckets")).hasSize(1);
+	}
+
+	@Test
+	void admitsEverythingWhenDisabled() throws Exception {
+		ReflectionTestUtils.setField(filter, "enabled", false);
+
+		for (int i = 0; i < 20; i++) {
+			assertThat(send("/auth/login", "10.0.0.1").getStatus()).isEqualTo(HttpStatus.OK.value());
+		}
+	}
+
+	private static RateLimitFilter filter(List<String> rules, int maxClients) {
+		RateLimitFilter filter = new RateLimitFilter(Jackson2ObjectMapperBuilder.json().build());
+		ReflectionTestUtils.setField(filter, "enabled", true);
+		ReflectionTestUtils.setField(filter, "ruleSpecs", rules);
+		ReflectionTestUtils.setField(filter, "maxClients", maxClients);
+		ReflectionTestUtils.invokeMethod(filter, "init");
+		return filter;
+	}
+
+	private MockHttpServletResponse send(String path, String remoteAddress) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+		request.setRemoteAddr(remoteAddress);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.repositories.RevokedTokenRepository;
+
+class TokenRevocationServiceTest {
+
+	private final RevokedTokenRepository revokedTokenRepo = mock(RevokedTokenRepository.class);
+
+	private TokenRevocationService tokenRevocationService;
+
+	@BeforeEach
+	void setUp() {
+		when(revokedTokenRepo.findByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of());
+
+		tokenRevocationService = new TokenRevocationService(revokedTokenRepo, mock(ApplicationEventPublisher.class));
+		ReflectionTestUtils.setField(tokenRevocationService, "expectedEntries", 1000L);
+		ReflectionTestUtils.setField(tokenRevocationService, "falsePositiveRate", 0.001);
+		ReflectionTestUtils.setField(tokenRevocationService, "syncBatchSize", 100);
+		ReflectionTestUtils.invokeMethod(tokenRevocationService, "init");
+	}
+
+	@Test
+	void revocationMadeDuringARebuildIsKept() throws Exception {
+		VerifiedToken token = new VerifiedToken("ann@example.com", "jti-1", 0L, Long.MAX_VALUE);
+		when(revokedTokenRepo.existsByTokenId("jti-1")).thenReturn(true);
+
+		Thread revoker = new Thread(() -> tokenRevocationService
+				.onTokenRevoked(new TokenRevokedEvent("jti-1", "ann@example.com", 0L)));
+		// The revocation commits after the rebuild has read the table, so the read misses it
+		when(revokedTokenRepo.findByExpiresAtAfter(any(LocalDateTime.class))).thenAnswer(invocation -> {
+			revoker.start();
+			revoker.join(500);
+			return List.of();
+		});
+
+		tokenRevocationService.rebuild();
+		revoker.join();
+
+		assertThat(tokenRevocationService.isRevoked(token)).isTrue();
+	}
+
+	@Test
+	void tokenNeverRevokedIsNotCheckedAgainstTheDatabase() {
+		VerifiedToken token = new VerifiedToken("ann@example.com", "jti-2", 0L, Long.MAX_VALUE);
+		when(revokedTokenRepo.existsByTokenId("jti-2")).thenThrow(new AssertionError("unexpected query"));
+
+		assertThat(tokenRevocationService.isRevoked(token)).isFalse();
+	}
+}
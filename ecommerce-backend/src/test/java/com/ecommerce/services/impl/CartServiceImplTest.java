@@ -0,0 +1,164 @@
+package com.ecommerce.services.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.dto.OrderItemRequest;
+import com.ecommerce.entities.Product;
+import com.ecommerce.exceptions.InvalidCredentialsException;
+import com.ecommerce.exceptions.NotFoundException;
+import com.ecommerce.repositories.CartRepository;
+import com.ecommerce.repositories.ProductRepository;
+import com.ecommerce.services.PricingService;
+import com.ecommerce.services.UserService;
+
+class CartServiceImplTest {
+
+	private static final long USER_ID = 7L;
+
+	private CartRepository cartRepo;
+	private ProductRepository productRepo;
+	private PricingService pricingService;
+	private CartServiceImpl cartService;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		cartRepo = mock(CartRepository.class);
+		productRepo = mock(ProductRepository.class);
+		pricingService = mock(PricingService.class);
+		UserService userService = mock(UserService.class);
+		when(userService.getLoginUserId()).thenReturn(USER_ID);
+		when(cartRepo.findById(USER_ID)).thenReturn(Optional.empty());
+
+		TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+		doAnswer(invocation -> {
+			invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+
+		cartService = new CartServiceImpl(cartRepo, productRepo, pricingService, userService,
+				Jackson2ObjectMapperBuilder.json().build(), transactionTemplate);
+		ReflectionTestUtils.setField(cartService, "maxQuantity", 99);
+		// Every cart counts as idle, so only the dirty mark keeps it in memory
+		ReflectionTestUtils.setField(cartService, "idleTtlMinutes", 0L);
+	}
+
+	@Test
+	void addingMoreThanTheMaximumQuantityIsRejected() {
+		assertThatThrownBy(() -> cartService.addItem(1L, 100)).isInstanceOf(InvalidCredentialsException.class);
+		assertThatThrownBy(() -> cartService.addItem(1L, 0)).isInstanceOf(InvalidCredentialsException.class);
+
+		assertThat(cartService.addItem(1L, 99).getCart().getItems()).singleElement()
+				.extracting(OrderItemRequest::getQuantity)
+				.isEqualTo(99);
+	}
+
+	@Test
+	void repeatedAddsAreClampedToTheMaximumQuantity() {
+		cartService.addItem(1L, 60);
+
+		assertThat(cartService.addItem(1L, 60).getCart().getItems()).singleElement()
+				.extracting(OrderItemRequest::getQuantity)
+				.isEqualTo(99);
+	}
+
+	@Test
+	void addingAnItemDoesNotQueryTheProduct() {
+		cartService.addItem(1L, 1);
+
+		verify(productRepo, never()).existsById(any());
+		verify(productRepo, never()).findAllById(any());
+	}
+
+	@Test
+	void aDirtyCartIsNotEvictedBeforeItIsFlushed() {
+		cartService.addItem(1L, 2);
+
+		cartService.evictIdleCarts();
+		cartService.flushDirtyCarts();
+
+		verify(cartRepo, times(1)).findById(USER_ID);
+		verify(cartRepo).saveAll(anyIterable());
+	}
+
+	@Test
+	void aFailedFlushKeepsTheCartDirtyAndInMemory() {
+		when(cartRepo.saveAll(anyIterable())).thenThrow(new IllegalStateException("database down"));
+		cartService.addItem(1L, 2);
+
+		cartService.flushDirtyCarts();
+		cartService.evictIdleCarts();
+
+		assertThat(cartService.addItem(1L, 1).getCart().getItems()).singleElement()
+				.extracting(OrderItemRequest::getQuantity)
+				.isEqualTo(3);
+		verify(cartRepo, times(1)).findById(USER_ID);
+	}
+
+	@Test
+	void aChangeDuringTheFlushIsWrittenByTheNextFlush() {
+		cartService.addItem(1L, 2);
+		when(cartRepo.saveAll(anyIterable())).thenAnswer(invocation -> {
+			cartService.addItem(2L, 1);
+			return List.of();
+		}).thenReturn(List.of());
+
+		cartService.flushDirtyCarts();
+		cartService.evictIdleCarts();
+		cartService.flushDirtyCarts();
+
+		verify(cartRepo, times(2)).saveAll(anyIterable());
+		verify(cartRepo, times(1)).findById(USER_ID);
+	}
+
+	@Test
+	void aFlushedIdleCartIsEvicted() {
+		cartService.addItem(1L, 2);
+
+		cartService.flushDirtyCarts();
+		cartService.evictIdleCarts();
+		cartService.getCart();
+
+		verify(cartRepo, times(2)).findById(USER_ID);
+	}
+
+	@Test
+	void linesOfMissingProductsAreDroppedWhenTheCartIsPriced() {
+		Product product = new Product();
+		product.setId(1L);
+		when(pricingService.priceCart(anyList(), isNull())).thenThrow(new NotFoundException("Product Not Found"))
+				.thenReturn(null);
+		when(productRepo.findAllById(any())).thenReturn(List.of(product));
+		cartService.addItem(1L, 2);
+		cartService.addItem(404L, 1);
+
+		List<OrderItemRequest> items = cartService.getCart().getCart().getItems();
+
+		assertThat(items).extracting(OrderItemRequest::getProductId).containsExactly(1L);
+		assertThat(cartService.addItem(1L, 1).getCart().getItems()).extracting(line -> Map.entry(
+				line.getProductId(), line.getQuantity())).containsExactly(Map.entry(1L, 3));
+	}
+}
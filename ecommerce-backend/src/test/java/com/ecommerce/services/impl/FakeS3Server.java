@@ -0,0 +1,311 @@
+package com.ecommerce.services.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process stand-in for the S3 REST API, enough for S3ObjectStore and the
+ * transfer manager: path-style object PUT, GET, HEAD, DELETE and copy, and
+ * multipart uploads including part listing. Signatures are not checked;
+ * aws-chunked bodies are decoded. ETags are content MD5s, so the SDK's
+ * integrity checks pass.
+ */
+final class FakeS3Server implements AutoCloseable {
+
+	private static final Pattern PART_NUMBER = Pattern.compile("<PartNumber>(\\d+)</PartNumber>");
+
+	private final HttpServer server;
+	private final String bucket;
+	private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+	private final Map<String, MultipartUpload> uploads = new ConcurrentHashMap<>();
+
+	FakeS3Server(String bucket) throws IOException {
+		this.bucket = bucket;
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", this::handle);
+		server.start();
+	}
+
+	String endpoint() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	StoredObject object(String key) {
+		return objects.get(key);
+	}
+
+	int objectCount() {
+		return objects.size();
+	}
+
+	int pendingUploadCount() {
+		return uploads.size();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+
+	record StoredObject(byte[] content, String contentType, String cacheControl, String etag) {
+	}
+
+	private record MultipartUpload(String key, String contentType, String cacheControl,
+			Map<Integer, byte[]> parts) {
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			String path = exchange.getRequestURI().getRawPath();
+			String prefix = "/" + bucket + "/";
+			if (!path.startsWith(prefix)) {
+				error(exchange, 404, "NoSuchBucket");
+				return;
+			}
+			String key = URLDecoder.decode(path.substring(prefix.length()), StandardCharsets.UTF_8);
+			Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+
+			switch (exchange.getRequestMethod()) {
+				case "HEAD" -> head(exchange, key);
+				case "GET" -> get(exchange, key, query);
+				case "DELETE" -> delete(exchange, key, query);
+				case "PUT" -> put(exchange, key, query);
+				case "POST" -> post(exchange, key, query);
+				default -> error(exchange, 405, "MethodNotAllowed");
+			}
+		}
+	}
+
+	private void head(HttpExchange exchange, String key) throws IOException {
+		StoredObject object = objects.get(key);
+		if (object == null) {
+			exchange.sendResponseHeaders(404, -1);
+			return;
+		}
+		objectHeaders(exchange, object);
+		exchange.sendResponseHeaders(200, -1);
+	}
+
+	private void get(HttpExchange exchange, String key, Map<String, String> query) throws IOException {
+		if (query.containsKey("uploadId")) {
+			listParts(exchange, key, query.get("uploadId"));
+			return;
+		}
+		StoredObject object = objects.get(key);
+		if (object == null) {
+			error(exchange, 404, "NoSuchKey");
+			return;
+		}
+		objectHeaders(exchange, object);
+		exchange.sendResponseHeaders(200, object.content.length);
+		exchange.getResponseBody().write(object.content);
+	}
+
+	private void listParts(HttpExchange exchange, String key, String uploadId) throws IOException {
+		MultipartUpload upload = uploads.get(uploadId);
+		if (upload == null) {
+			error(exchange, 404, "NoSuchUpload");
+			return;
+		}
+		StringBuilder parts = new StringBuilder();
+		new TreeMap<>(upload.parts).forEach((partNumber, content) -> parts.append("<Part><PartNumber>")
+				.append(partNumber)
+				.append("</PartNumber><ETag>")
+				.append(quoted(md5(content)))
+				.append("</ETag><Size>")
+				.append(content.length)
+				.append("</Size></Part>"));
+		xml(exchange, "<ListPartsResult><Bucket>" + bucket + "</Bucket><Key>" + key + "</Key><UploadId>" + uploadId
+				+ "</UploadId><IsTruncated>false</IsTruncated>" + parts + "</ListPartsResult>");
+	}
+
+	private void delete(HttpExchange exchange, String key, Map<String, String> query) throws IOException {
+		if (query.containsKey("uploadId")) {
+			uploads.remove(query.get("uploadId"));
+		} else {
+			objects.remove(key);
+		}
+		exchange.sendResponseHeaders(204, -1);
+	}
+
+	private void put(HttpExchange exchange, String key, Map<String, String> query) throws IOException {
+		byte[] content = body(exchange);
+
+		if (query.containsKey("partNumber")) {
+			MultipartUpload upload = uploads.get(query.get("uploadId"));
+			if (upload == null) {
+				error(exchange, 404, "NoSuchUpload");
+				return;
+			}
+			upload.parts.put(Integer.parseInt(query.get("partNumber")), content);
+			exchange.getResponseHeaders().set("ETag", quoted(md5(content)));
+			exchange.sendResponseHeaders(200, -1);
+			return;
+		}
+
+		String copySource = exchange.getRequestHeaders().getFirst("x-amz-copy-source");
+		if (copySource != null) {
+			String sourceKey = URLDecoder.decode(copySource, StandardCharsets.UTF_8)
+					.replaceFirst("^/?" + Pattern.quote(bucket) + "/", "");
+			StoredObject source = objects.get(sourceKey);
+			if (source == null) {
+				error(exchange, 404, "NoSuchKey");
+				return;
+			}
+			objects.put(key, source);
+			xml(exchange, "<CopyObjectResult><LastModified>2020-01-01T00:00:00.000Z</LastModified><ETag>"
+					+ source.etag + "</ETag></CopyObjectResult>");
+			return;
+		}
+
+		StoredObject object = new StoredObject(content, header(exchange, "Content-Type"),
+				header(exchange, "Cache-Control"), quoted(md5(content)));
+		objects.put(key, object);
+		exchange.getResponseHeaders().set("ETag", object.etag);
+		exchange.sendResponseHeaders(200, -1);
+	}
+
+	private void post(HttpExchange exchange, String key, Map<String, String> query) throws IOException {
+		byte[] body = body(exchange);
+
+		if (query.containsKey("uploads")) {
+			String uploadId = UUID.randomUUID().toString();
+			uploads.put(uploadId, new MultipartUpload(key, header(exchange, "Content-Type"),
+					header(exchange, "Cache-Control"), new ConcurrentHashMap<>()));
+			xml(exchange, "<InitiateMultipartUploadResult><Bucket>" + bucket + "</Bucket><Key>" + key
+					+ "</Key><UploadId>" + uploadId + "</UploadId></InitiateMultipartUploadResult>");
+			return;
+		}
+
+		MultipartUpload upload = uploads.remove(query.get("uploadId"));
+		if (upload == null) {
+			error(exchange, 404, "NoSuchUpload");
+			return;
+		}
+		Map<Integer, byte[]> parts = new TreeMap<>();
+		Matcher partNumbers = PART_NUMBER.matcher(new String(body, StandardCharsets.UTF_8));
+		while (partNumbers.find()) {
+			int partNumber = Integer.parseInt(partNumbers.group(1));
+			parts.put(partNumber, upload.parts.get(partNumber));
+		}
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		for (byte[] part : parts.values()) {
+			content.write(part);
+		}
+		// Multipart ETags carry a part count, which tells the SDK not to compare them with an MD5
+		String etag = quoted(md5(content.toByteArray()) + "-" + parts.size());
+		objects.put(upload.key, new StoredObject(content.toByteArray(), upload.contentType, upload.cacheControl,
+				etag));
+		xml(exchange, "<CompleteMultipartUploadResult><Location>" + endpoint() + "/" + bucket + "/" + key
+				+ "</Location><Bucket>" + bucket + "</Bucket><Key>" + key + "</Key><ETag>" + etag
+				+ "</ETag></CompleteMultipartUploadResult>");
+	}
+
+	private static void objectHeaders(HttpExchange exchange, StoredObject object) {
+		exchange.getResponseHeaders().set("ETag", object.etag);
+		exchange.getResponseHeaders().set("Last-Modified", "Wed, 01 Jan 2020 00:00:00 GMT");
+		if (object.contentType != null) {
+			exchange.getResponseHeaders().set("Content-Type", object.contentType);
+		}
+		if (object.cacheControl != null) {
+			exchange.getResponseHeaders().set("Cache-Control", object.cacheControl);
+		}
+	}
+
+	private static void xml(HttpExchange exchange, String body) throws IOException {
+		byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body).getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/xml");
+		exchange.sendResponseHeaders(200, bytes.length);
+		exchange.getResponseBody().write(bytes);
+	}
+
+	private static void error(HttpExchange exchange, int status, String code) throws IOException {
+		byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?><Error><Code>" + code + "</Code><Message>" + code
+				+ "</Message></Error>").getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/xml");
+		exchange.sendResponseHeaders(status, bytes.length);
+		exchange.getResponseBody().write(bytes);
+	}
+
+	/**
+	 * Reads the request body, undoing the aws-chunked encoding the SDK uses for
+	 * signed payloads over plain HTTP.
+	 */
+	private static byte[] body(HttpExchange exchange) throws IOException {
+		byte[] raw = exchange.getRequestBody().readAllBytes();
+		String contentSha = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+		if (contentSha == null || !contentSha.startsWith("STREAMING-")) {
+			return raw;
+		}
+
+		ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+		int position = 0;
+		while (position < raw.length) {
+			int lineEnd = indexOfCrlf(raw, position);
+			String header = new String(raw, position, lineEnd - position, StandardCharsets.US_ASCII);
+			int size = Integer.parseInt(header.split(";")[0], 16);
+			position = lineEnd + 2;
+			if (size == 0) {
+				break;
+			}
+			decoded.write(raw, position, size);
+			position += size + 2;
+		}
+		return decoded.toByteArray();
+	}
+
+	private static int indexOfCrlf(byte[] bytes, int from) {
+		for (int i = from; i < bytes.length - 1; i++) {
+			if (bytes[i] == '\r' && bytes[i + 1] == '\n') {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Malformed aws-chunked body");
+	}
+
+	private static Map<String, String> query(String rawQuery) {
+		Map<String, String> query = new HashMap<>();
+		if (rawQuery == null) {
+			return query;
+		}
+		for (String pair : rawQuery.split("&")) {
+			int equals = pair.indexOf('=');
+			String name = equals < 0 ? pair : pair.substring(0, equals);
+			String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+			query.put(name, value);
+		}
+		return query;
+	}
+
+	private static String header(HttpExchange exchange, String name) {
+		return exchange.getRequestHeaders().getFirst(name);
+	}
+
+	private static String quoted(String value) {
+		return "\"" + value + "\"";
+	}
+
+	private static String md5(byte[] content) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,214 @@
+package com.ecommerce.services.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.dto.StoredImage;
+import com.ecommerce.exceptions.InvalidCredentialsException;
+import com.ecommerce.exceptions.ServiceBusyException;
+
+/**
+ * Runs the streaming image upload against a LocalObjectStore in a temporary
+ * directory.
+ */
+class ImageStorageServiceImplTest {
+
+	private static final byte[] JPEG = image(0xFF, 0xD8, 0xFF, 0xE0);
+	private static final byte[] PNG = image(0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A);
+	private static final byte[] GIF = image('G', 'I', 'F', '8', '9', 'a');
+	private static final byte[] WEBP = image('R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P');
+
+	private static final long MAX_UPLOAD_BYTES = 1024;
+
+	@TempDir
+	Path tempDir;
+
+	private Path root;
+	private ImageStorageServiceImpl imageStorageService;
+
+	@BeforeEach
+	void setUp() {
+		root = tempDir.resolve("uploads");
+		LocalObjectStore objectStore = new LocalObjectStore();
+		ReflectionTestUtils.setField(objectStore, "directory", root.toString());
+		ReflectionTestUtils.setField(objectStore, "baseUrl", "/images/");
+		ReflectionTestUtils.invokeMethod(objectStore, "init");
+
+		imageStorageService = new ImageStorageServiceImpl(objectStore);
+		ReflectionTestUtils.setField(imageStorageService, "maxInFlightUploads", 1);
+		ReflectionTestUtils.setField(imageStorageService, "uploadTimeoutMs", 5000L);
+		ReflectionTestUtils.setField(imageStorageService, "maxUploadBytes", MAX_UPLOAD_BYTES);
+		ReflectionTestUtils.invokeMethod(imageStorageService, "init");
+	}
+
+	static Stream<Arguments> acceptedImages() {
+		return Stream.of(
+				Arguments.of("image/jpeg", JPEG, ".jpg"),
+				Arguments.of("image/png", PNG, ".png"),
+				Arguments.of("image/gif", GIF, ".gif"),
+				Arguments.of("IMAGE/WEBP; charset=binary", WEBP, ".webp"));
+	}
+
+	@ParameterizedTest
+	@MethodSource("acceptedImages")
+	void storesAnImageUnderItsContentKey(String contentType, byte[] content, String extension) throws Exception {
+		StoredImage stored = imageStorageService.saveImageStream(new ByteArrayInputStream(content), contentType);
+
+		String key = sha256(content) + extension;
+		assertThat(stored.key()).isEqualTo(key);
+		assertThat(stored.url()).isEqualTo("/images/" + key);
+		assertThat(stored.size()).isEqualTo(content.length);
+		assertThat(root.resolve(key)).hasBinaryContent(content);
+		assertThat(storedFiles()).containsExactly(key);
+	}
+
+	static Stream<Arguments> mismatchedImages() {
+		return Stream.of(
+				Arguments.of("image/jpeg", PNG),
+				Arguments.of("image/png", JPEG),
+				Arguments.of("image/gif", "GIF7".getBytes()),
+				Arguments.of("image/webp", image('R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'A', 'V', 'E')),
+				Arguments.of("image/png", new byte[] { (byte) 0x89, 'P' }),
+				Arguments.of("image/jpeg", new byte[0]));
+	}
+
+	@ParameterizedTest
+	@MethodSource("mismatchedImages")
+	void rejectsContentThatDoesNotMatchItsType(String contentType, byte[] content) throws IOException {
+		assertThatThrownBy(() -> imageStorageService.saveImageStream(new ByteArrayInputStream(content), contentType))
+				.isInstanceOf(InvalidCredentialsException.class)
+				.hasMessage("Image content does not match its type " + contentType);
+
+		assertThat(storedFiles()).isEmpty();
+	}
+
+	@Test
+	void rejectsUnsupportedTypes() throws IOException {
+		assertThatThrownBy(() -> imageStorageService.saveImageStream(new ByteArrayInputStream(JPEG), "image/svg+xml"))
+				.isInstanceOf(InvalidCredentialsException.class)
+				.hasMessage("Unsupported image type: image/svg+xml");
+		assertThatThrownBy(() -> imageStorageService.saveImageStream(new ByteArrayInputStream(JPEG), null))
+				.isInstanceOf(InvalidCredentialsException.class);
+
+		assertThat(storedFiles()).isEmpty();
+	}
+
+	@Test
+	void acceptsAnImageOfExactlyTheMaximumSize() throws IOException {
+		byte[] content = Arrays.copyOf(JPEG, (int) MAX_UPLOAD_BYTES);
+
+		StoredImage stored = imageStorageService.saveImageStream(new ByteArrayInputStream(content), "image/jpeg");
+
+		assertThat(stored.size()).isEqualTo(MAX_UPLOAD_BYTES);
+		assertThat(storedFiles()).containsExactly(stored.key());
+	}
+
+	@Test
+	void rejectsAnOversizedImageWithoutStoringIt() throws IOException {
+		byte[] content = Arrays.copyOf(JPEG, (int) MAX_UPLOAD_BYTES + 1);
+
+		assertThatThrownBy(() -> imageStorageService.saveImageStream(new ByteArrayInputStream(content), "image/jpeg"))
+				.isInstanceOf(InvalidCredentialsException.class)
+				.hasMessage("Image exceeds the maximum size of " + MAX_UPLOAD_BYTES + " bytes");
+
+		assertThat(storedFiles()).isEmpty();
+		assertThat(stagedFiles()).isEmpty();
+	}
+
+	@Test
+	void storingTheSameImageTwiceKeepsOneCopy() throws IOException {
+		StoredImage first = imageStorageService.saveImageStream(new ByteArrayInputStream(PNG), "image/png");
+		StoredImage second = imageStorageService.saveImageStream(new ByteArrayInputStream(PNG), "image/png");
+
+		assertThat(second).isEqualTo(first);
+		assertThat(storedFiles()).containsExactly(first.key());
+	}
+
+	@Test
+	void releasesTheUploadPermitAfterAFailure() throws IOException {
+		InputStream failing = new SequenceInputStream(new ByteArrayInputStream(JPEG), new InputStream() {
+			@Override
+			public int read() throws IOException {
+				throw new IOException("client went away");
+			}
+		});
+
+		assertThatThrownBy(() -> imageStorageService.saveImageStream(failing, "image/jpeg"))
+				.isInstanceOf(RuntimeException.class)
+				.hasMessage("Unable to upload image: client went away");
+
+		// A single permit is configured, so a leaked one would make this busy
+		assertThat(imageStorageService.saveImageStream(new ByteArrayInputStream(JPEG), "image/jpeg")).isNotNull();
+	}
+
+	@Test
+	void refusesUploadsBeyondTheInFlightLimit() {
+		ReflectionTestUtils.setField(imageStorageService, "maxInFlightUploads", 0);
+		ReflectionTestUtils.invokeMethod(imageStorageService, "init");
+
+		assertThatThrownBy(() -> imageStorageService.saveImageStream(new ByteArrayInputStream(JPEG), "image/jpeg"))
+				.isInstanceOf(ServiceBusyException.class);
+	}
+
+	@Test
+	void saveImageAsyncSkipsAnAlreadyStoredImage() throws IOException {
+		String first = imageStorageService.awaitUpload(imageStorageService.saveImageAsync(GIF, "gif", "image/gif"));
+		String second = imageStorageService.awaitUpload(imageStorageService.saveImageAsync(GIF, "gif", "image/gif"));
+
+		assertThat(first).isEqualTo("/images/" + sha256(GIF) + ".gif");
+		assertThat(second).isEqualTo(first);
+		assertThat(storedFiles()).containsExactly(sha256(GIF) + ".gif");
+	}
+
+	private List<String> storedFiles() throws IOException {
+		try (Stream<Path> files = Files.list(root)) {
+			return files.map(path -> path.getFileName().toString()).toList();
+		}
+	}
+
+	private List<Path> stagedFiles() throws IOException {
+		try (Stream<Path> files = Files.list(root.resolveSibling("uploads.staging"))) {
+			return files.toList();
+		}
+	}
+
+	/**
+	 * Builds a small image body: the given signature followed by filler bytes.
+	 */
+	private static byte[] image(int... signature) {
+		byte[] content = new byte[64];
+		for (int i = 0; i < signature.length; i++) {
+			content[i] = (byte) signature[i];
+		}
+		Arrays.fill(content, signature.length, content.length, (byte) signature.length);
+		return content;
+	}
+
+	private static String sha256(byte[] content) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
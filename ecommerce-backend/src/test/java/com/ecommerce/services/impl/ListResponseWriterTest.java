@@ -0,0 +1,119 @@
+package com.ecommerce.services.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ecommerce.dto.CategoryDto;
+import com.ecommerce.dto.ProductDto;
+import com.ecommerce.enums.ImageStatus;
+import com.ecommerce.enums.ResponseFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+class ListResponseWriterTest {
+
+	private final Map<ResponseFormat, ObjectMapper> mappers = new EnumMap<>(ResponseFormat.class);
+
+	private ListResponseWriter listResponseWriter;
+	private List<ProductDto> products;
+
+	@BeforeEach
+	void setUp() {
+		mappers.put(ResponseFormat.JSON, Jackson2ObjectMapperBuilder.json().build());
+		mappers.put(ResponseFormat.CBOR, Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+		mappers.put(ResponseFormat.SMILE, Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+
+		listResponseWriter = new ListResponseWriter(mappers.get(ResponseFormat.JSON),
+				new MappingJackson2CborHttpMessageConverter(mappers.get(ResponseFormat.CBOR)),
+				new MappingJackson2SmileHttpMessageConverter(mappers.get(ResponseFormat.SMILE)),
+				mock(PlatformTransactionManager.class));
+
+		products = new ArrayList<>();
+		for (long id = 1; id <= 1200; id++) {
+			ProductDto product = new ProductDto();
+			product.setId(id);
+			product.setName("Product " + id);
+			product.setDescription("A description long enough to look like a real product description " + id);
+			product.setPrice(BigDecimal.valueOf(1000 + id, 2));
+			product.setImageUrl("https://images.example.com/" + id + ".jpg");
+			product.setImageStatus(ImageStatus.READY);
+			product.setCategory(new CategoryDto(id % 10, "Category " + id % 10, null));
+			product.setReviewCount(id % 50);
+			product.setAverageRating(3.5);
+			product.setRatingHistogram(new int[] { 1, 0, 2, 5, 3 });
+			products.add(product);
+		}
+	}
+
+	@ParameterizedTest
+	@EnumSource(ResponseFormat.class)
+	void roundTripsEveryElementInTheResponseShape(ResponseFormat format) throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		long written = listResponseWriter.writeList(output, format, "productList", products::stream,
+				Function.identity());
+
+		ListDocument document = mappers.get(format).readValue(output.toByteArray(), ListDocument.class);
+		assertThat(written).isEqualTo(products.size());
+		assertThat(document.status).isEqualTo(200);
+		assertThat(document.timestamp).isNotNull();
+		assertThat(document.productList).isEqualTo(products);
+	}
+
+	@Test
+	void binaryFormatsAreSmallerThanJson() throws Exception {
+		Map<ResponseFormat, Integer> sizes = new EnumMap<>(ResponseFormat.class);
+		for (ResponseFormat format : ResponseFormat.values()) {
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			listResponseWriter.writeList(output, format, "productList", products::stream, Function.identity());
+			sizes.put(format, output.size());
+		}
+
+		assertThat(sizes.get(ResponseFormat.CBOR)).isLessThan(sizes.get(ResponseFormat.JSON));
+		// Smile back-references repeated property names and short strings
+		assertThat(sizes.get(ResponseFormat.SMILE)).isLessThan(sizes.get(ResponseFormat.CBOR));
+	}
+
+	@Test
+	void writesEmptyList() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		long written = listResponseWriter.writeList(output, ResponseFormat.JSON, "productList",
+				List.<ProductDto>of()::stream, Function.identity());
+
+		assertThat(written).isZero();
+		assertThat(mappers.get(ResponseFormat.JSON).readValue(output.toByteArray(), ListDocument.class).productList)
+				.isEmpty();
+	}
+
+	/**
+	 * The fields of a streamed product list response.
+	 */
+	static class ListDocument {
+
+		public int status;
+		public LocalDateTime timestamp;
+		public int totalPage;
+		public long totalElement;
+		public List<ProductDto> productList;
+	}
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.services.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class LocalObjectStoreTest {
+
+	@TempDir
+	Path tempDir;
+
+	private Path root;
+	private Path staging;
+	private LocalObjectStore store;
+
+	@BeforeEach
+	void setUp() {
+		root = tempDir.resolve("uploads");
+		staging = tempDir.resolve("uploads.staging");
+
+		store = new LocalObjectStore();
+		ReflectionTestUtils.setField(store, "directory", root.toString());
+		ReflectionTestUtils.setField(store, "baseUrl", "/images/");
+		ReflectionTestUtils.invokeMethod(store, "init");
+	}
+
+	@Test
+	void initCreatesTheStoreAndStagingDirectories() {
+		assertThat(root).isDirectory();
+		assertThat(staging).isDirectory();
+	}
+
+	@Test
+	void putStreamStoresTheContent() throws IOException {
+		store.putStream("a.jpg", new ByteArrayInputStream(new byte[] { 1, 2, 3 }), "image/jpeg");
+
+		assertThat(store.exists("a.jpg")).isTrue();
+		try (InputStream stored = store.open("a.jpg")) {
+			assertThat(stored.readAllBytes()).containsExactly(1, 2, 3);
+		}
+		assertThat(listing(staging)).isEmpty();
+	}
+
+	@Test
+	void putAsyncCopiesTheFile() throws Exception {
+		Path source = Files.write(tempDir.resolve("source"), new byte[] { 4, 5 });
+
+		store.putAsync("b.png", source, "image/png").get(5, TimeUnit.SECONDS);
+
+		assertThat(root.resolve("b.png")).hasBinaryContent(new byte[] { 4, 5 });
+		assertThat(source).exists();
+		assertThat(listing(staging)).isEmpty();
+	}
+
+	@Test
+	void failedPutAsyncLeavesNothingBehind() {
+		Path missing = tempDir.resolve("missing");
+
+		assertThat(store.putAsync("c.png", missing, "image/png")).isCompletedExceptionally();
+
+		assertThat(store.exists("c.png")).isFalse();
+		assertThat(listing(staging)).isEmpty();
+	}
+
+	@Test
+	void failedPutStreamLeavesNoPartialFile() {
+		InputStream failing = new SequenceInputStream(new ByteArrayInputStream(new byte[1024]), new InputStream() {
+			@Override
+			public int read() throws IOException {
+				throw new IOException("client went away");
+			}
+		});
+
+		assertThatThrownBy(() -> store.putStream("d.jpg", failing, "image/jpeg"))
+				.isInstanceOf(IOException.class)
+				.hasMessage("client went away");
+
+		assertThat(listing(root)).isEmpty();
+		assertThat(listing(staging)).isEmpty();
+	}
+
+	@Test
+	void renameAndDeleteMoveObjectsWithinTheStore() throws IOException {
+		store.putStream("upload.tmp", new ByteArrayInputStream(new byte[] { 9 }), "image/gif");
+
+		store.rename("upload.tmp", "e.gif");
+
+		assertThat(store.exists("upload.tmp")).isFalse();
+		assertThat(root.resolve("e.gif")).hasBinaryContent(new byte[] { 9 });
+
+		store.delete("e.gif");
+		store.delete("e.gif");
+
+		assertThat(store.exists("e.gif")).isFalse();
+	}
+
+	@Test
+	void keysOutsideTheStoreAreRejected() {
+		assertThatThrownBy(() -> store.exists("../uploads.staging/x")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> store.open("nested/x.jpg")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> store.putStream("../x.jpg", InputStream.nullInputStream(), "image/jpeg"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void urlOfPrefixesTheBaseUrl() {
+		assertThat(store.urlOf("f.webp")).isEqualTo("/images/f.webp");
+	}
+
+	private static List<Path> listing(Path directory) {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.toList();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
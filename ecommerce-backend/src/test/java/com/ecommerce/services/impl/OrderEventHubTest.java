@@ -0,0 +1,138 @@
+package com.ecommerce.services.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ecommerce.dto.OrderEventDto;
+import com.ecommerce.entities.OrderEvent;
+import com.ecommerce.mappers.EntityDtoMapper;
+import com.ecommerce.repositories.OrderEventRepository;
+
+/**
+ * Resumes a subscriber while events are published during its replay read.
+ * Events sent before the emitter is attached to a response are buffered by
+ * the emitter, which is where the test reads them back.
+ */
+class OrderEventHubTest {
+
+	private final OrderEventRepository orderEventRepo = mock(OrderEventRepository.class);
+	private final EntityDtoMapper entityDtoMapper = mock(EntityDtoMapper.class);
+
+	private OrderEventHub orderEventHub;
+
+	@BeforeEach
+	void setUp() {
+		when(orderEventRepo.findMaxId()).thenReturn(2L);
+		when(entityDtoMapper.mapOrderEventToDto(any(OrderEvent.class))).thenAnswer(invocation -> {
+			OrderEvent orderEvent = invocation.getArgument(0);
+			OrderEventDto orderEventDto = new OrderEventDto();
+			orderEventDto.setId(orderEvent.getId());
+			orderEventDto.setEventType("STATUS_CHANGED");
+			return orderEventDto;
+		});
+
+		orderEventHub = new OrderEventHub(orderEventRepo, entityDtoMapper);
+		ReflectionTestUtils.setField(orderEventHub, "emitterTimeoutMs", 60_000L);
+		ReflectionTestUtils.setField(orderEventHub, "fanOutThreads", 1);
+		ReflectionTestUtils.setField(orderEventHub, "subscriberQueueCapacity", 100);
+		ReflectionTestUtils.invokeMethod(orderEventHub, "init");
+	}
+
+	@AfterEach
+	void tearDown() {
+		ReflectionTestUtils.invokeMethod(orderEventHub, "shutdown");
+	}
+
+	@Test
+	void eventPublishedDuringTheReplayReadFollowsTheReplay() throws Exception {
+		CountDownLatch published = new CountDownLatch(1);
+		when(orderEventRepo.findByIdBetweenOrderByIdAsc(eq(2L), eq(2L), any(Pageable.class))).thenAnswer(invocation -> {
+			// The read must not hold the publish lock, or this publish would wait for it
+			Thread publisher = new Thread(() -> {
+				orderEventHub.publish(List.of(event(3)));
+				published.countDown();
+			});
+			publisher.start();
+			assertThat(published.await(5, TimeUnit.SECONDS)).isTrue();
+			return List.of(event(2));
+		});
+
+		SseEmitter emitter = orderEventHub.subscribe(1L);
+
+		assertThat(sentEventIds(emitter, 2)).containsExactly(2L, 3L);
+	}
+
+	@Test
+	void eventPublishedDuringTheReplayReadIsNotSentTwice() throws Exception {
+		when(orderEventRepo.findByIdBetweenOrderByIdAsc(eq(2L), eq(2L), any(Pageable.class))).thenAnswer(invocation -> {
+			orderEventHub.publish(List.of(event(3)));
+			// Committed before the read, so the read returns it too
+			return List.of(event(2), event(3));
+		});
+
+		SseEmitter emitter = orderEventHub.subscribe(1L);
+
+		assertThat(sentEventIds(emitter, 2)).containsExactly(2L, 3L);
+	}
+
+	@Test
+	void eventsPublishedAfterSubscribingAreSent() throws Exception {
+		when(orderEventRepo.findByIdBetweenOrderByIdAsc(eq(2L), eq(2L), any(Pageable.class)))
+				.thenReturn(List.of(event(2)));
+
+		SseEmitter emitter = orderEventHub.subscribe(1L);
+		orderEventHub.publish(List.of(event(3), event(4)));
+
+		assertThat(sentEventIds(emitter, 3)).containsExactly(2L, 3L, 4L);
+	}
+
+	private static OrderEvent event(long id) {
+		OrderEvent orderEvent = new OrderEvent();
+		orderEvent.setId(id);
+		return orderEvent;
+	}
+
+	/**
+	 * Waits for the fan-out pool to write the expected number of events, then
+	 * gives it a moment to write any unexpected extra one.
+	 */
+	private static List<Long> sentEventIds(SseEmitter emitter, int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (sentEventIdsNow(emitter).size() < expected && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		Thread.sleep(100);
+		return sentEventIdsNow(emitter);
+	}
+
+	private static List<Long> sentEventIdsNow(SseEmitter emitter) {
+		synchronized (emitter) {
+			Collection<?> earlySendAttempts = (Collection<?>) ReflectionTestUtils.getField(emitter,
+					ResponseBodyEmitter.class, "earlySendAttempts");
+			return new ArrayList<>(Objects.requireNonNull(earlySendAttempts))
+					.stream()
+					.map(attempt -> ((ResponseBodyEmitter.DataWithMediaType) attempt).getData())
+					.filter(OrderEventDto.class::isInstance)
+					.map(data -> ((OrderEventDto) data).getId())
+					.toList();
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package com.ecommerce.services.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.entities.Order;
+import com.ecommerce.entities.OrderItem;
+import com.ecommerce.entities.Payment;
+import com.ecommerce.enums.OrderStatus;
+import com.ecommerce.enums.PaymentStatus;
+import com.ecommerce.repositories.PaymentRepository;
+import com.ecommerce.services.OrderEventService;
+import com.ecommerce.services.PaymentGateway;
+
+class PaymentServiceImplTest {
+
+	private PaymentRepository paymentRepo;
+	private PaymentGateway paymentGateway;
+	private OrderEventService orderEventService;
+	private PaymentServiceImpl paymentService;
+
+	@BeforeEach
+	void setUp() {
+		paymentRepo = mock(PaymentRepository.class);
+		paymentGateway = mock(PaymentGateway.class);
+		orderEventService = mock(OrderEventService.class);
+		when(paymentRepo.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		paymentService = new PaymentServiceImpl(paymentRepo, paymentGateway, orderEventService,
+				mock(TransactionTemplate.class));
+		ReflectionTestUtils.setField(paymentService, "authorizationConcurrency", 1);
+		ReflectionTestUtils.setField(paymentService, "authorizationQueueCapacity", 10);
+		ReflectionTestUtils.invokeMethod(paymentService, "init");
+	}
+
+	@AfterEach
+	void tearDown() {
+		ReflectionTestUtils.invokeMethod(paymentService, "shutdown");
+	}
+
+	@Test
+	void aFullyDiscountedOrderIsConfirmedWithoutAuthorization() {
+		OrderItem orderItem = new OrderItem();
+		orderItem.setStatus(OrderStatus.PENDING);
+		Order order = new Order();
+		order.setTotalPrice(BigDecimal.ZERO.setScale(2));
+		order.setOrderItemList(List.of(orderItem));
+
+		Payment payment = paymentService.createPayment(order, null);
+
+		assertThat(payment.getStatus()).isEqualTo(PaymentStatus.CAPTURED);
+		assertThat(payment.getCapturedAt()).isNotNull();
+		assertThat(orderItem.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+		verify(orderEventService).recordOrderItemStatusChanged(orderItem);
+		verifyNoInteractions(paymentGateway);
+	}
+}
@@ -0,0 +1,198 @@
+package com.ecommerce.services.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.dto.ReviewDto;
+import com.ecommerce.entities.Product;
+import com.ecommerce.entities.Review;
+import com.ecommerce.entities.User;
+import com.ecommerce.enums.UserRole;
+import com.ecommerce.exceptions.NotFoundException;
+import com.ecommerce.mappers.EntityDtoMapperImpl;
+import com.ecommerce.repositories.ProductRepository;
+import com.ecommerce.repositories.ReviewRepository;
+import com.ecommerce.repositories.UserRepository;
+import com.ecommerce.security.PrincipalCache;
+import com.ecommerce.security.PrincipalCacheInvalidator;
+import com.ecommerce.services.UserService;
+
+/**
+ * Runs concurrent changes to the same review in separate transactions and
+ * checks that the product's rating aggregates still match its reviews.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ ReviewServiceImpl.class, EntityDtoMapperImpl.class, PrincipalCache.class,
+		PrincipalCacheInvalidator.class })
+class ReviewServiceImplTest {
+
+	private static final int THREADS = 4;
+
+	@Autowired
+	private ReviewServiceImpl reviewService;
+
+	@Autowired
+	private ReviewRepository reviewRepo;
+
+	@Autowired
+	private ProductRepository productRepo;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@MockitoBean
+	private UserService userService;
+
+	private Long productId;
+	private Long reviewId;
+
+	@BeforeEach
+	void setUp() {
+		User author = userRepo.save(user("author@example.com"));
+		User other = userRepo.save(user("other@example.com"));
+
+		Product product = new Product();
+		product.setName("Lamp");
+		product.setPrice(BigDecimal.TEN);
+		product.setReviewCount(2);
+		product.setRatingSum(4 + 6);
+		product.setAverageRating(5);
+		int[] histogram = product.getRatingHistogram();
+		histogram[4 - 1] = 1;
+		histogram[6 - 1] = 1;
+		productId = productRepo.save(product).getId();
+
+		reviewId = reviewRepo.save(review(product, author, 4)).getId();
+		reviewRepo.save(review(product, other, 6));
+
+		when(userService.getLoginUserId()).thenReturn(author.getId());
+		when(userService.getLoginUserRole()).thenReturn(UserRole.USER);
+	}
+
+	@AfterEach
+	void tearDown() {
+		reviewRepo.deleteAll();
+		productRepo.deleteAll();
+		userRepo.deleteAll();
+	}
+
+	@Test
+	void concurrentDeletesRemoveTheRatingOnce() throws Exception {
+		List<Object> outcomes = runConcurrently(() -> reviewService.deleteReview(reviewId));
+
+		assertThat(outcomes).filteredOn(NotFoundException.class::isInstance).hasSize(THREADS - 1);
+		assertAggregatesMatchReviews();
+	}
+
+	@Test
+	void concurrentEditsReplaceTheRatingOnceEach() throws Exception {
+		List<Integer> ratings = List.of(1, 7, 9, 10);
+		List<Callable<Object>> edits = new ArrayList<>();
+		for (int rating : ratings) {
+			ReviewDto reviewDto = new ReviewDto();
+			reviewDto.setRating(rating);
+			edits.add(() -> reviewService.updateReview(reviewId, reviewDto));
+		}
+
+		List<Object> outcomes = runConcurrently(edits);
+
+		assertThat(outcomes).noneMatch(Throwable.class::isInstance);
+		assertAggregatesMatchReviews();
+	}
+
+	private List<Object> runConcurrently(Callable<Object> task) throws Exception {
+		List<Callable<Object>> tasks = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			tasks.add(task);
+		}
+		return runConcurrently(tasks);
+	}
+
+	/**
+	 * Starts the tasks together, each in its own transaction, and returns their
+	 * results or the exceptions they threw.
+	 */
+	private List<Object> runConcurrently(List<Callable<Object>> tasks) throws Exception {
+		CyclicBarrier start = new CyclicBarrier(tasks.size());
+		ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+		try {
+			List<Future<Object>> futures = new ArrayList<>();
+			for (Callable<Object> task : tasks) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					try {
+						return task.call();
+					} catch (RuntimeException e) {
+						return e;
+					}
+				}));
+			}
+			List<Object> outcomes = new ArrayList<>();
+			for (Future<Object> future : futures) {
+				outcomes.add(future.get(30, TimeUnit.SECONDS));
+			}
+			return outcomes;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void assertAggregatesMatchReviews() {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			Product product = productRepo.findById(productId).orElseThrow();
+			List<Review> reviews = reviewRepo.findAll();
+
+			int[] histogram = new int[product.getRatingHistogram().length];
+			reviews.forEach(review -> histogram[review.getRating() - 1]++);
+
+			assertThat(product.getReviewCount()).isEqualTo(reviews.size());
+			assertThat(product.getRatingSum()).isEqualTo(reviews.stream().mapToLong(Review::getRating).sum());
+			assertThat(product.getRatingHistogram()).containsExactly(histogram);
+		});
+	}
+
+	private static User user(String email) {
+		return User.builder()
+				.name(email)
+				.email(email)
+				.password("hash")
+				.phoneNumber("555-0000")
+				.role(UserRole.USER)
+				.build();
+	}
+
+	private static Review review(Product product, User user, int rating) {
+		Review review = new Review();
+		review.setProduct(product);
+		review.setUser(user);
+		review.setRating(rating);
+		review.setContent("Rated " + rating);
+		return review;
+	}
+}
@@ -0,0 +1,190 @@
+package com.ecommerce.services.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.ecommerce.config.AwsS3Configuration;
+
+/**
+ * Runs S3ObjectStore, with the client and transfer manager built by
+ * AwsS3Configuration, against an in-process S3 stand-in. Part sizes are shrunk
+ * so the multipart paths are exercised with small payloads.
+ */
+class S3ObjectStoreTest {
+
+	private static final String BUCKET = "images";
+	private static final int PART_SIZE = 64 * 1024;
+	private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+	private FakeS3Server server;
+	private TransferManager transferManager;
+	private S3ObjectStore store;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = new FakeS3Server(BUCKET);
+
+		AwsS3Configuration configuration = new AwsS3Configuration();
+		ReflectionTestUtils.setField(configuration, "awsRegion", "us-east-1");
+		ReflectionTestUtils.setField(configuration, "endpoint", server.endpoint());
+		ReflectionTestUtils.setField(configuration, "awsS3AccessKey", "test");
+		ReflectionTestUtils.setField(configuration, "awsS3SecreteKey", "test");
+		ReflectionTestUtils.setField(configuration, "maxConnections", 8);
+		ReflectionTestUtils.setField(configuration, "connectionTimeoutMs", 5000);
+		ReflectionTestUtils.setField(configuration, "socketTimeoutMs", 5000);
+		ReflectionTestUtils.setField(configuration, "connectionTtlMs", 60000L);
+		ReflectionTestUtils.setField(configuration, "transferThreads", 4);
+		ReflectionTestUtils.setField(configuration, "multipartThreshold", 2L * PART_SIZE);
+		ReflectionTestUtils.setField(configuration, "partSize", (long) PART_SIZE);
+
+		AmazonS3 amazonS3 = ReflectionTestUtils.invokeMethod(configuration, "amazonS3");
+		transferManager = ReflectionTestUtils.invokeMethod(configuration, "transferManager", amazonS3);
+
+		store = new S3ObjectStore(amazonS3, transferManager);
+		ReflectionTestUtils.setField(store, "bucketName", BUCKET);
+		ReflectionTestUtils.setField(store, "awsRegion", "us-east-1");
+		ReflectionTestUtils.setField(store, "endpoint", server.endpoint() + "/");
+		ReflectionTestUtils.setField(store, "partSize", (long) PART_SIZE);
+		ReflectionTestUtils.setField(store, "maxInFlightUploads", 2);
+		ReflectionTestUtils.invokeMethod(store, "init");
+	}
+
+	@AfterEach
+	void tearDown() {
+		ReflectionTestUtils.invokeMethod(store, "shutdown");
+		transferManager.shutdownNow();
+		server.close();
+	}
+
+	@Test
+	void putStreamShorterThanOnePartIsAPlainPut() throws IOException {
+		byte[] content = randomBytes(1000);
+
+		store.putStream("small.jpg", new ByteArrayInputStream(content), "image/jpeg");
+
+		assertThat(store.exists("small.jpg")).isTrue();
+		assertThat(server.object("small.jpg").contentType()).isEqualTo("image/jpeg");
+		assertThat(server.object("small.jpg").cacheControl()).isEqualTo(IMMUTABLE_CACHE_CONTROL);
+		try (InputStream stored = store.open("small.jpg")) {
+			assertThat(stored.readAllBytes()).isEqualTo(content);
+		}
+	}
+
+	@Test
+	void putStreamLongerThanOnePartUploadsParts() throws IOException {
+		byte[] content = randomBytes(PART_SIZE * 3 + 123);
+
+		store.putStream("large.png", new ByteArrayInputStream(content), "image/png");
+
+		assertThat(server.object("large.png").etag()).endsWith("-4\"");
+		assertThat(server.object("large.png").contentType()).isEqualTo("image/png");
+		assertThat(server.object("large.png").cacheControl()).isEqualTo(IMMUTABLE_CACHE_CONTROL);
+		assertThat(server.pendingUploadCount()).isZero();
+		try (InputStream stored = store.open("large.png")) {
+			assertThat(stored.readAllBytes()).isEqualTo(content);
+		}
+	}
+
+	@Test
+	void putStreamOfExactlyOnePartCompletesTheUpload() throws IOException {
+		byte[] content = randomBytes(PART_SIZE);
+
+		store.putStream("exact.png", new ByteArrayInputStream(content), "image/png");
+
+		assertThat(server.object("exact.png").content()).isEqualTo(content);
+		assertThat(server.pendingUploadCount()).isZero();
+	}
+
+	@Test
+	void failedPutStreamAbortsTheMultipartUpload() {
+		InputStream failing = new SequenceInputStream(new ByteArrayInputStream(randomBytes(PART_SIZE * 2)),
+				new InputStream() {
+					@Override
+					public int read() throws IOException {
+						throw new IOException("client went away");
+					}
+				});
+
+		assertThatThrownBy(() -> store.putStream("broken.png", failing, "image/png"))
+				.isInstanceOf(IOException.class)
+				.hasMessage("client went away");
+
+		assertThat(store.exists("broken.png")).isFalse();
+		assertThat(server.pendingUploadCount()).isZero();
+	}
+
+	@Test
+	void putAsyncUploadsSmallAndMultipartFiles(@TempDir Path tempDir) throws Exception {
+		byte[] small = randomBytes(1000);
+		byte[] large = randomBytes(PART_SIZE * 5 + 7);
+		Path smallFile = Files.write(tempDir.resolve("small"), small);
+		Path largeFile = Files.write(tempDir.resolve("large"), large);
+
+		store.putAsync("small.webp", smallFile, "image/webp").get(30, TimeUnit.SECONDS);
+		store.putAsync("large.webp", largeFile, "image/webp").get(30, TimeUnit.SECONDS);
+
+		assertThat(server.object("small.webp").content()).isEqualTo(small);
+		assertThat(server.object("large.webp").content()).isEqualTo(large);
+		assertThat(server.object("large.webp").etag()).contains("-");
+		assertThat(server.object("large.webp").cacheControl()).isEqualTo(IMMUTABLE_CACHE_CONTROL);
+		assertThat(server.pendingUploadCount()).isZero();
+	}
+
+	@Test
+	void renameKeepsContentAndHeaders() throws IOException {
+		byte[] content = randomBytes(500);
+		store.putStream("upload.tmp", new ByteArrayInputStream(content), "image/gif");
+
+		store.rename("upload.tmp", "final.gif");
+
+		assertThat(store.exists("upload.tmp")).isFalse();
+		assertThat(server.object("final.gif").content()).isEqualTo(content);
+		assertThat(server.object("final.gif").contentType()).isEqualTo("image/gif");
+		assertThat(server.object("final.gif").cacheControl()).isEqualTo(IMMUTABLE_CACHE_CONTROL);
+	}
+
+	@Test
+	void deleteRemovesTheObject() throws IOException {
+		store.putStream("gone.jpg", new ByteArrayInputStream(randomBytes(10)), "image/jpeg");
+
+		store.delete("gone.jpg");
+
+		assertThat(store.exists("gone.jpg")).isFalse();
+		assertThat(server.objectCount()).isZero();
+	}
+
+	@Test
+	void urlOfUsesTheEndpointPathStyle() {
+		assertThat(store.urlOf("abc.jpg")).isEqualTo(server.endpoint() + "/" + BUCKET + "/abc.jpg");
+	}
+
+	@Test
+	void urlOfWithoutEndpointUsesTheRegionalBucketHost() {
+		ReflectionTestUtils.setField(store, "endpoint", "");
+
+		assertThat(store.urlOf("abc.jpg")).isEqualTo("https://images.s3.us-east-1.amazonaws.com/abc.jpg");
+	}
+
+	private static byte[] randomBytes(int length) {
+		byte[] bytes = new byte[length];
+		new Random(length).nextBytes(bytes);
+		return bytes;
+	}
+}
@@ -0,0 +1,125 @@
+package com.ecommerce.services.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ecommerce.dto.LoginRequest;
+import com.ecommerce.dto.Response;
+import com.ecommerce.dto.UserDto;
+import com.ecommerce.entities.User;
+import com.ecommerce.enums.UserRole;
+import com.ecommerce.mappers.EntityDtoMapper;
+import com.ecommerce.repositories.UserRepository;
+import com.ecommerce.security.JwtUtils;
+import com.ecommerce.security.PasswordHasher;
+import com.ecommerce.security.PrincipalCache;
+import com.ecommerce.security.TokenRevocationService;
+import com.ecommerce.services.OrderItemArchiveService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks that the work following a hash runs off the hashing pool, which is
+ * kept for BCrypt alone.
+ */
+class UserServiceImplTest {
+
+	private final UserRepository userRepo = mock(UserRepository.class);
+	private final JwtUtils jwtUtils = mock(JwtUtils.class);
+	private final EntityDtoMapper entityDtoMapper = mock(EntityDtoMapper.class);
+
+	private PasswordHasher passwordHasher;
+	private UserServiceImpl userService;
+
+	@BeforeEach
+	void setUp() {
+		passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(5), new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(passwordHasher, "threads", 1);
+		ReflectionTestUtils.setField(passwordHasher, "queueCapacity", 10);
+		ReflectionTestUtils.invokeMethod(passwordHasher, "init");
+
+		userService = new UserServiceImpl(userRepo, mock(OrderItemArchiveService.class), passwordHasher, jwtUtils,
+				mock(PrincipalCache.class), mock(TokenRevocationService.class), entityDtoMapper,
+				mock(ListResponseWriter.class));
+		ReflectionTestUtils.setField(userService, "completionThreads", 1);
+		ReflectionTestUtils.invokeMethod(userService, "init");
+	}
+
+	@AfterEach
+	void tearDown() {
+		ReflectionTestUtils.invokeMethod(userService, "shutdown");
+		ReflectionTestUtils.invokeMethod(passwordHasher, "shutdown");
+	}
+
+	@Test
+	void registrationSavesTheUserOffTheHashingPool() throws Exception {
+		AtomicReference<String> saveThread = new AtomicReference<>();
+		when(userRepo.save(any(User.class))).thenAnswer(invocation -> {
+			saveThread.set(Thread.currentThread().getName());
+			return invocation.getArgument(0);
+		});
+		when(entityDtoMapper.mapUserToDtoBasic(any(User.class))).thenReturn(new UserDto());
+
+		UserDto request = new UserDto();
+		request.setName("Ann");
+		request.setEmail("ann@example.com");
+		request.setPassword("secret");
+
+		Response response = userService.registerUser(request).get(10, TimeUnit.SECONDS);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(saveThread.get()).startsWith("password-completion-");
+	}
+
+	@Test
+	void loginAndRehashRunOffTheHashingPool() throws Exception {
+		User user = User
+				.builder()
+				.id(7L)
+				.email("bob@example.com")
+				.password(new BCryptPasswordEncoder(4).encode("secret"))
+				.role(UserRole.USER)
+				.build();
+		when(userRepo.findByEmail("bob@example.com")).thenReturn(Optional.of(user));
+
+		AtomicReference<String> tokenThread = new AtomicReference<>();
+		when(jwtUtils.generateToken(user)).thenAnswer(invocation -> {
+			tokenThread.set(Thread.currentThread().getName());
+			return "token";
+		});
+		AtomicReference<String> updateThread = new AtomicReference<>();
+		when(userRepo.updatePassword(eq(7L), anyString())).thenAnswer(invocation -> {
+			updateThread.set(Thread.currentThread().getName());
+			return 1;
+		});
+
+		LoginRequest request = new LoginRequest();
+		request.setEmail("bob@example.com");
+		request.setPassword("secret");
+
+		Response response = userService.loginUser(request).get(10, TimeUnit.SECONDS);
+
+		assertThat(response.getToken()).isEqualTo("token");
+		assertThat(tokenThread.get()).startsWith("password-completion-");
+
+		// The hash made with cost 4 is below the configured 5, so it is replaced
+		verify(userRepo, timeout(10_000)).updatePassword(eq(7L), anyString());
+		assertThat(updateThread.get()).startsWith("password-completion-");
+	}
+}
@@ -0,0 +1,90 @@
+package com.ecommerce.specification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.ecommerce.dto.CategoryDto;
+import com.ecommerce.dto.ProductDto;
+import com.ecommerce.exceptions.InvalidCredentialsException;
+import com.ecommerce.specification.SparseFieldset.Field;
+import com.ecommerce.specification.SparseFieldset.FieldSelection;
+
+import jakarta.persistence.Tuple;
+
+class SparseFieldsetTest {
+
+	private static final SparseFieldset<ProductDto> FIELDS = SparseFieldset.<ProductDto>builder(ProductDto::new)
+			.id("id", Long.class, ProductDto::setId)
+			.field("name", String.class, ProductDto::setName)
+			.field("price", BigDecimal.class, ProductDto::setPrice)
+			.field("category.name", String.class, (product, name) -> {
+				product.setCategory(new CategoryDto());
+				product.getCategory().setName(name);
+			})
+			.build();
+
+	@Test
+	void selectsNothingWithoutFieldsParameter() {
+		assertThat(FIELDS.select(null)).isNull();
+		assertThat(FIELDS.select("")).isNull();
+		assertThat(FIELDS.select("  ")).isNull();
+	}
+
+	@Test
+	void alwaysSelectsIdFirst() {
+		FieldSelection<ProductDto> selection = FIELDS.select("price, name");
+
+		assertThat(selection.getFields()).extracting(Field::name).containsExactly("id", "price", "name");
+	}
+
+	@Test
+	void ignoresDuplicatesAndEmptyEntries() {
+		FieldSelection<ProductDto> selection = FIELDS.select("name,,id, name ,");
+
+		assertThat(selection.getFields()).extracting(Field::name).containsExactly("id", "name");
+	}
+
+	@Test
+	void resolvesNestedPaths() {
+		FieldSelection<ProductDto> selection = FIELDS.select("category.name");
+
+		assertThat(selection.getFields()).extracting(Field::path).containsExactly("id", "category.name");
+	}
+
+	@Test
+	void rejectsUnknownField() {
+		assertThatThrownBy(() -> FIELDS.select("name,password"))
+				.isInstanceOf(InvalidCredentialsException.class)
+				.hasMessage("Unknown field: password");
+	}
+
+	@Test
+	void buildsDtoFromTupleSkippingNulls() {
+		Tuple tuple = mock(Tuple.class);
+		when(tuple.get("id")).thenReturn(7L);
+		when(tuple.get("name")).thenReturn("Lamp");
+		when(tuple.get("category.name")).thenReturn(null);
+
+		ProductDto product = FIELDS.select("name,category.name").toDto(tuple);
+
+		assertThat(product.getId()).isEqualTo(7L);
+		assertThat(product.getName()).isEqualTo("Lamp");
+		assertThat(product.getPrice()).isNull();
+		// A missing association is left out rather than rendered as an empty object
+		assertThat(product.getCategory()).isNull();
+	}
+
+	@Test
+	void requiresIdField() {
+		assertThatThrownBy(() -> SparseFieldset.<ProductDto>builder(ProductDto::new)
+				.field("name", String.class, ProductDto::setName)
+				.build())
+				.isInstanceOf(IllegalStateException.class);
+	}
+}
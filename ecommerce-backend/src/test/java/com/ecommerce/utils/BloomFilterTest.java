@@ -0,0 +1,80 @@
+package com.ecommerce.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+	@Test
+	void emptyFilterContainsNothing() {
+		BloomFilter filter = new BloomFilter(1000, 0.01);
+
+		assertThat(filter.mightContain("jti-1")).isFalse();
+		assertThat(filter.mightContain("")).isFalse();
+	}
+
+	@Test
+	void neverGivesFalseNegatives() {
+		BloomFilter filter = new BloomFilter(100_000, 0.001);
+		List<String> added = new ArrayList<>();
+		for (int i = 0; i < 100_000; i++) {
+			String value = UUID.randomUUID().toString();
+			filter.add(value);
+			added.add(value);
+		}
+
+		assertThat(added).allMatch(filter::mightContain);
+	}
+
+	@Test
+	void keepsFalsePositivesNearTargetRate() {
+		BloomFilter filter = new BloomFilter(50_000, 0.01);
+		for (int i = 0; i < 50_000; i++) {
+			filter.add("added-" + i);
+		}
+
+		int falsePositives = 0;
+		int probes = 200_000;
+		for (int i = 0; i < probes; i++) {
+			if (filter.mightContain("absent-" + i)) {
+				falsePositives++;
+			}
+		}
+
+		assertThat((double) falsePositives / probes).isLessThan(0.02);
+	}
+
+	@Test
+	void concurrentAddsAreAllVisible() throws Exception {
+		BloomFilter filter = new BloomFilter(80_000, 0.001);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> adds = new ArrayList<>();
+			for (int thread = 0; thread < 8; thread++) {
+				int offset = thread * 10_000;
+				adds.add(executor.submit(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						filter.add("token-" + (offset + i));
+					}
+				}));
+			}
+			for (Future<?> add : adds) {
+				add.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		for (int i = 0; i < 80_000; i++) {
+			assertThat(filter.mightContain("token-" + i)).isTrue();
+		}
+	}
+}
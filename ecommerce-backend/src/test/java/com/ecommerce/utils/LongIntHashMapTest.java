@@ -0,0 +1,89 @@
+package com.ecommerce.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongIntHashMapTest {
+
+	@Test
+	void addToInsertsAndAccumulates() {
+		LongIntHashMap map = new LongIntHashMap();
+
+		assertThat(map.addTo(7L, 3)).isEqualTo(3);
+		assertThat(map.addTo(7L, 2)).isEqualTo(5);
+		assertThat(map.addTo(-7L, 1)).isEqualTo(1);
+		assertThat(map.addTo(0L, 4)).isEqualTo(4);
+
+		assertThat(map.get(7L)).isEqualTo(5);
+		assertThat(map.get(-7L)).isEqualTo(1);
+		assertThat(map.get(0L)).isEqualTo(4);
+		assertThat(map.size()).isEqualTo(3);
+	}
+
+	@Test
+	void absentKeyReadsAsZero() {
+		LongIntHashMap map = new LongIntHashMap(0);
+
+		assertThat(map.get(42L)).isZero();
+		assertThat(map.size()).isZero();
+	}
+
+	@Test
+	void matchesHashMapAcrossResizes() {
+		LongIntHashMap map = new LongIntHashMap(4);
+		Map<Long, Integer> expected = new HashMap<>();
+		Random random = new Random(1);
+
+		for (int i = 0; i < 100_000; i++) {
+			// Narrow key range so many keys repeat, plus some large and negative ones
+			long key = i % 7 == 0 ? random.nextLong() : random.nextInt(20_000) - 10_000;
+			if (key == Long.MIN_VALUE) {
+				continue;
+			}
+			int delta = random.nextInt(10) + 1;
+			assertThat(map.addTo(key, delta)).isEqualTo(expected.merge(key, delta, Integer::sum));
+		}
+
+		assertThat(map.size()).isEqualTo(expected.size());
+		expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+	}
+
+	@Test
+	void forEachVisitsEveryEntryOnce() {
+		LongIntHashMap map = new LongIntHashMap();
+		for (long key = 1; key <= 1000; key++) {
+			map.addTo(key * 1_000_003L, (int) key);
+		}
+
+		Map<Long, Integer> visited = new HashMap<>();
+		map.forEach((key, value) -> assertThat(visited.put(key, value)).isNull());
+
+		assertThat(visited).hasSize(1000);
+		for (long key = 1; key <= 1000; key++) {
+			assertThat(visited.get(key * 1_000_003L)).isEqualTo((int) key);
+		}
+	}
+
+	@Test
+	void addAllSumsOverlappingKeys() {
+		LongIntHashMap map = new LongIntHashMap();
+		map.addTo(1L, 1);
+		map.addTo(2L, 2);
+		LongIntHashMap other = new LongIntHashMap();
+		other.addTo(2L, 10);
+		other.addTo(3L, 30);
+
+		map.addAll(other);
+
+		assertThat(map.size()).isEqualTo(3);
+		assertThat(map.get(1L)).isEqualTo(1);
+		assertThat(map.get(2L)).isEqualTo(12);
+		assertThat(map.get(3L)).isEqualTo(30);
+		assertThat(other.get(2L)).isEqualTo(10);
+	}
+}
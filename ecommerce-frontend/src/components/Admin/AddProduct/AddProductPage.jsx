@@ -26,12 +26,13 @@ export const AddProductPage = () => {
     const handleSubmit = async (e) => {
         e.preventDefault();
         try {
+            // The streaming endpoint reads parts in order: the fields must come before the image
             const formData = new FormData();
-            formData.append('image', image);
             formData.append('categoryId', categoryId);
             formData.append('name', name);
             formData.append('description', description);
             formData.append('price', price);
+            formData.append('image', image);
 
             const response = await ApiService.addProduct(formData);
             if (response.status === 200) {
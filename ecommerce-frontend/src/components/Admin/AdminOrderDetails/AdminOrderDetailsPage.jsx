@@ -75,7 +75,7 @@ const AdminOrderDetailsPage = () => {
                         </div>
                         <div>
                             <h2>Product Information</h2>
-                            <img src={orderItem.product.imageUrl} alt={orderItem.product.name} />
+                            <img src={orderItem.product.thumbnailUrl || orderItem.product.imageUrl} alt={orderItem.product.name} />
                             <p><strong>Name:</strong>{orderItem.product.name}</p>
                             <p><strong>Description:</strong>{orderItem.product.description}</p>
                             <p><strong>Price:</strong>{orderItem.product.price}</p>
@@ -33,7 +33,7 @@ export const ProductList = ({ products }) => {
                 return (
                     <div className="product-item" key={index}>
                         <Link to={`/product/${product.id}`}>
-                            <img src={product.imageUrl} alt={product.name} className="product-image" />
+                            <img src={product.cardUrl || product.imageUrl} alt={product.name} className="product-image" loading="lazy" />
                             <h3>{product.name}</h3>
                             <p>{product.description}</p>
                             <span>${product.price.toFixed(2)}</span>
@@ -84,7 +84,7 @@ export const CartPage = () => {
                     <ul>
                         {cart.map(item => (
                             <li key={item.id}>
-                                <img src={item.imageUrl} alt={item.name} />
+                                <img src={item.thumbnailUrl || item.imageUrl} alt={item.name} />
                                 <div>
                                     <h2>{item.name}</h2>
                                     <p>{item.description}</p>
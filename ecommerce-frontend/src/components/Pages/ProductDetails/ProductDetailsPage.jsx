@@ -58,7 +58,7 @@ export const ProductDetailsPage = () => {
 
     return (
         <div className="product-detail">
-            <img src={product?.imageUrl} alt={product?.name} />
+            <img src={product?.detailUrl || product?.imageUrl} alt={product?.name} />
             <h1>{product?.name}</h1>
             <p>{product?.description}</p>
             <span>${product.price.toFixed(2)}</span>
@@ -7,6 +7,8 @@ import '../../../styles/profile.css';
 export const ProfilePage = () => {
 
     const [userInfo, setUserInfo] = useState(null);
+    const [orderItemList, setOrderItemList] = useState([]);
+    const [totalPages, setTotalPages] = useState(0);
     const [error, setError] = useState(null);
     const [currentPage, setCurrentPage] = useState(1);
     const itemsPerPage = 5;
@@ -17,6 +19,11 @@ export const ProfilePage = () => {
 
         fetchUserInfo();
     }, []);
+
+    useEffect(() => {
+
+        fetchOrderHistory();
+    }, [currentPage]);
     const fetchUserInfo = async () => {
 
         try {
@@ -26,6 +33,16 @@ export const ProfilePage = () => {
             setError(error.response?.data?.message || error.message || 'Unable to fetch user info');
         }
     }
+    const fetchOrderHistory = async () => {
+
+        try {
+            const response = await ApiService.getOrderHistory(currentPage - 1, itemsPerPage);
+            setOrderItemList(response.orderItemList || []);
+            setTotalPages(response.totalPage || 0);
+        } catch (error) {
+            setError(error.response?.data?.message || error.message || 'Unable to fetch order history');
+        }
+    }
 
     if (!userInfo) {
         return <div>Loading...</div>
@@ -35,14 +52,6 @@ export const ProfilePage = () => {
         navigate(userInfo.address ? '/edit-address' : '/add-address');
     }
 
-    const orderItemList = userInfo.orderItemList || [];
-
-    const totalPages = Math.ceil(orderItemList.length / itemsPerPage);
-
-    const paginatedOrders = orderItemList.slice(
-        (currentPage - 1) * itemsPerPage,
-        currentPage * itemsPerPage
-    );
 
 
 
@@ -78,9 +87,9 @@ export const ProfilePage = () => {
                     </div>
                     <h3>Order History</h3>
                     <ul>
-                        {paginatedOrders.map(order => (
+                        {orderItemList.map(order => (
                             <li key={order.id}>
-                                <img src={order.product?.imageUrl} alt={order.product.name} />
+                                <img src={order.product?.thumbnailUrl || order.product?.imageUrl} alt={order.product.name} />
                                 <div>
                                     <p><strong>Name: </strong>{order.product.name}</p>
                                     <p><strong>Status: </strong>{order.status}</p>
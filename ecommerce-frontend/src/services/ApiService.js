@@ -35,11 +35,20 @@ class ApiService {
         return response.data;
     }
 
+    /** GET LOGGEDIN USER ORDER HISTORY (PAGED, NEWEST FIRST) */
+    static async getOrderHistory(page, size) {
+        const response = await axios.get(`${this.BASE_URL}/user/orderHistory`, {
+            headers: this.getHeader(),
+            params: { page, size }
+        });
+        return response.data;
+    }
+
     /** PRODUCT ENDPOINTS */
 
     /** CREATE PRODUCT */
     static async addProduct(formData) {
-        const response = await axios.post(`${this.BASE_URL}/product/createProduct`, formData, {
+        const response = await axios.post(`${this.BASE_URL}/product/createProduct/stream`, formData, {
             headers: {
                 ...this.getHeader(),
                 "Content-Type": "multipart/form-data"
@@ -137,6 +146,48 @@ class ApiService {
         return response.data;
     }
 
+    /** CART ENDPOINTS */
+
+    /** GET LOGGEDIN USER CART (PRICED) */
+    static async getCart() {
+        const response = await axios.get(`${this.BASE_URL}/cart`, {
+            headers: this.getHeader()
+        });
+        return response.data;
+    }
+
+    /** ADD PRODUCT TO CART */
+    static async addCartItem(productId, quantity) {
+        const response = await axios.post(`${this.BASE_URL}/cart/items`, { productId, quantity }, {
+            headers: this.getHeader()
+        });
+        return response.data;
+    }
+
+    /** UPDATE CART ITEM QUANTITY */
+    static async updateCartItem(productId, quantity) {
+        const response = await axios.put(`${this.BASE_URL}/cart/items/${productId}`, { quantity }, {
+            headers: this.getHeader()
+        });
+        return response.data;
+    }
+
+    /** REMOVE PRODUCT FROM CART */
+    static async removeCartItem(productId) {
+        const response = await axios.delete(`${this.BASE_URL}/cart/items/${productId}`, {
+            headers: this.getHeader()
+        });
+        return response.data;
+    }
+
+    /** CLEAR CART */
+    static async clearCart() {
+        const response = await axios.delete(`${this.BASE_URL}/cart`, {
+            headers: this.getHeader()
+        });
+        return response.data;
+    }
+
     /** ORDER ENDPOINTS */
 
     /** CREATE ORDER */
@@ -194,6 +245,12 @@ class ApiService {
 
     /** AUTHENTICATON CHECKER */
     static logout() {
+        if (this.isAuthenticated()) {
+            // Revoke the token server-side; the local session ends either way
+            axios.post(`${this.BASE_URL}/auth/logout`, null, {
+                headers: this.getHeader()
+            }).catch(() => { });
+        }
         localStorage.removeItem('token');
         localStorage.removeItem('role');
     }